@@ -0,0 +1,479 @@
+package dbConnect.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * <div>
+ * Annotation processor generating a {@code <Model>_Binder} class for every data model
+ * annotated with {@code @TableName} or {@code @CollectionName}.
+ * </div>
+ * <div>
+ * The generated binder implements {@code dbConnect.execution.ModelBinder} and contains:
+ * <ul>
+ *      <li>A SQL and a NoSQL mapper, used when the model's {@code getTableMap()} or {@code getCollectionMap()} returns {@code null}.</li>
+ *      <li>An accessor for every attribute that is not private.</li>
+ *      <li>The names of the attributes in declaration order, the order of the columns of the statements.</li>
+ *      <li>Constant insert, select, update and delete statements.</li>
+ * </ul>
+ * </div>
+ * A mapper is only generated when the model has a non-private empty constructor
+ * and every mapped attribute is not private nor final.
+ * <p>
+ * Private attributes are read and written directly by the library, like without the processor.
+ * With the {@code -AdbConnect.binder.accessorMethods=true} option, their getters and setters are used instead,
+ * so getters and setters must then not change the value they read or write.
+ * </p>
+ * Anything that cannot be generated is left to the reflection fallback of the library.
+ * <p>
+ * <b>Usage:</b>
+ * <pre>
+ * {@code
+ * dependencies {
+ *     annotationProcessor "io.github.baole444:DBConnector-processor:<version>"
+ * }
+ * }
+ * </pre>
+ * @since 2.2
+ */
+@SupportedAnnotationTypes({ModelBinderProcessor.TABLE_NAME, ModelBinderProcessor.COLLECTION_NAME})
+@SupportedOptions(ModelBinderProcessor.ACCESSOR_METHODS)
+public class ModelBinderProcessor extends AbstractProcessor {
+    static final String TABLE_NAME = "dbConnect.models.meta.TableName";
+    static final String COLLECTION_NAME = "dbConnect.models.meta.CollectionName";
+    static final String ACCESSOR_METHODS = "dbConnect.binder.accessorMethods";
+
+    private static final String PRIMARY_FIELD = "dbConnect.models.autogen.PrimaryField";
+    private static final String AUTOMATIC_FIELD = "dbConnect.models.autogen.AutomaticField";
+    private static final String MONGO_ONLY = "dbConnect.models.constrain.MongoOnly";
+    private static final String MYSQL_ONLY = "dbConnect.models.constrain.MySQLOnly";
+
+    private Elements elements;
+    private Types types;
+    private Filer filer;
+    private Messager messager;
+    private boolean accessorMethods;
+
+    /**
+     * Default constructor of ModelBinderProcessor, called by the compiler.
+     */
+    public ModelBinderProcessor() {}
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.filer = processingEnv.getFiler();
+        this.messager = processingEnv.getMessager();
+        this.accessorMethods = Boolean.parseBoolean(processingEnv.getOptions().get(ACCESSOR_METHODS));
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> models = new LinkedHashSet<>();
+
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.CLASS) {
+                    models.add((TypeElement) element);
+                }
+            }
+        }
+
+        for (TypeElement model : models) {
+            try {
+                generate(model);
+            } catch (IOException e) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "Failed to write binder: " + e.getMessage(), model);
+            }
+        }
+
+        // Annotations are left unclaimed for other processors.
+        return false;
+    }
+
+    private void generate(TypeElement model) throws IOException {
+        Set<Modifier> modifiers = model.getModifiers();
+        boolean nested = model.getNestingKind().isNested();
+
+        if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.ABSTRACT)
+                || (nested && !modifiers.contains(Modifier.STATIC)) || !model.getTypeParameters().isEmpty()) {
+            messager.printMessage(Diagnostic.Kind.NOTE, "Skipped binder, model must be a non-private, non-abstract, non-generic top level or static class.", model);
+            return;
+        }
+
+        PackageElement packageElement = elements.getPackageOf(model);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String modelName = model.getQualifiedName().toString();
+        String relativeName = packageName.isEmpty() ? modelName : modelName.substring(packageName.length() + 1);
+        String binderName = relativeName.replace('.', '_') + "_Binder";
+
+        String tableName = annotationValue(model, TABLE_NAME);
+        String collectionName = annotationValue(model, COLLECTION_NAME);
+        boolean constructible = hasEmptyConstructor(model);
+
+        List<ModelField> fields = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(model.getEnclosedElements())) {
+            if (field.getModifiers().contains(Modifier.STATIC)) continue;
+            fields.add(new ModelField(field));
+        }
+
+        ModelField primary = fields.stream().filter(field -> field.primary).findFirst().orElse(null);
+
+        StringBuilder source = new StringBuilder();
+
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+
+        source.append("/**\n")
+                .append(" * Generated binder of {@link ").append(modelName).append("}, do not edit.\n")
+                .append(" */\n")
+                .append("@javax.annotation.processing.Generated(\"").append(ModelBinderProcessor.class.getName()).append("\")\n")
+                .append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("public final class ").append(binderName)
+                .append(" implements dbConnect.execution.ModelBinder<").append(modelName).append("> {\n");
+
+        // Accessors
+        StringJoiner accessors = new StringJoiner(",\n", "", "");
+        for (ModelField field : fields) {
+            if (field.readExpression != null) {
+                accessors.add("            java.util.Map.entry(" + literal(field.name) + ", model -> ((" + modelName + ") model)." + field.readExpression + ")");
+            }
+        }
+
+        source.append("    private static final java.util.Map<String, dbConnect.execution.FieldAccessor> ACCESSORS = ");
+        if (accessors.length() == 0) {
+            source.append("java.util.Map.of();\n\n");
+        } else {
+            source.append("java.util.Map.ofEntries(\n").append(accessors).append(");\n\n");
+        }
+
+        // Attribute order, shared by the statements and the parameters of the parsers
+        StringJoiner fieldNames = new StringJoiner(", ");
+        for (ModelField field : fields) {
+            fieldNames.add(literal(field.name));
+        }
+
+        source.append("    private static final java.util.List<String> FIELD_NAMES = java.util.List.of(").append(fieldNames).append(");\n\n");
+
+        // Mappers
+        List<ModelField> sqlFields = fields.stream().filter(field -> !field.mongoOnly).toList();
+        List<ModelField> mongoFields = fields.stream().filter(field -> !field.mySQLOnly).toList();
+        boolean sqlMapper = tableName != null && constructible && sqlFields.stream().allMatch(field -> field.writePrefix != null);
+        boolean mongoMapper = collectionName != null && constructible && mongoFields.stream().allMatch(field -> field.writePrefix != null);
+
+        source.append("    private static final dbConnect.mapper.ResultSetInterface<").append(modelName).append("> TABLE_MAP = ");
+        if (sqlMapper) {
+            source.append("resultSet -> {\n")
+                    .append("        ").append(modelName).append(" model = new ").append(modelName).append("();\n");
+            for (ModelField field : sqlFields) {
+                source.append("        model.").append(field.writePrefix).append(sqlRead(field)).append(field.writeSuffix).append(";\n");
+            }
+            source.append("        return model;\n    };\n\n");
+        } else {
+            source.append("null;\n\n");
+        }
+
+        source.append("    private static final dbConnect.mapper.DocumentInterface<").append(modelName).append("> COLLECTION_MAP = ");
+        if (mongoMapper) {
+            source.append("document -> {\n")
+                    .append("        ").append(modelName).append(" model = new ").append(modelName).append("();\n");
+            for (ModelField field : mongoFields) {
+                source.append("        model.").append(field.writePrefix).append(mongoRead(field)).append(field.writeSuffix).append(";\n");
+            }
+            source.append("        return model;\n    };\n\n");
+        } else {
+            source.append("null;\n\n");
+        }
+
+        // Statements, built with the same rules as the parsers
+        String insertStatement = null;
+        String selectStatement = null;
+        String updateStatement = null;
+        String deleteStatement = null;
+
+        if (tableName != null) {
+            StringJoiner selectColumns = new StringJoiner(", ");
+            StringJoiner columns = new StringJoiner(", ");
+            StringJoiner placeholders = new StringJoiner(", ");
+            StringJoiner setTerm = new StringJoiner(", ");
+
+            for (ModelField field : fields) {
+                if (!field.mongoOnly) {
+                    selectColumns.add(field.name);
+                }
+
+                if (!field.automatic && !field.mongoOnly) {
+                    columns.add(field.name);
+                    placeholders.add("?");
+                }
+
+                if (!field.primary && !field.mongoOnly) {
+                    setTerm.add(field.name + " = ?");
+                }
+            }
+
+            insertStatement = "insert into " + tableName + " (" + columns + ") values (" + placeholders + ")";
+            selectStatement = "select " + (selectColumns.length() == 0 ? "*" : selectColumns) + " from " + tableName;
+
+            if (primary != null) {
+                if (setTerm.length() > 0) {
+                    updateStatement = "update " + tableName + " set " + setTerm + " where " + primary.name + " = ?";
+                }
+
+                deleteStatement = "delete from " + tableName + " where " + primary.name + " = ?";
+            }
+        }
+
+        appendMethod(source, "dbConnect.mapper.ResultSetInterface<" + modelName + ">", "getTableMap", "TABLE_MAP");
+        appendMethod(source, "dbConnect.mapper.DocumentInterface<" + modelName + ">", "getCollectionMap", "COLLECTION_MAP");
+
+        appendMethod(source, "java.util.List<String>", "getFieldNames", "FIELD_NAMES");
+
+        source.append("    @Override\n")
+                .append("    public dbConnect.execution.FieldAccessor getAccessor(String fieldName) {\n")
+                .append("        return ACCESSORS.get(fieldName);\n")
+                .append("    }\n\n");
+
+        appendMethod(source, "String", "getInsertStatement", literal(insertStatement));
+        appendMethod(source, "String", "getSelectStatement", literal(selectStatement));
+        appendMethod(source, "String", "getUpdateStatement", literal(updateStatement));
+        appendMethod(source, "String", "getDeleteStatement", literal(deleteStatement));
+
+        source.append("    private static Number number(Object value) {\n")
+                .append("        return value instanceof Number number ? number : 0;\n")
+                .append("    }\n\n")
+                .append("    private static char character(String value) {\n")
+                .append("        return value == null || value.isEmpty() ? '\\0' : value.charAt(0);\n")
+                .append("    }\n")
+                .append("}\n");
+
+        String qualifiedBinderName = packageName.isEmpty() ? binderName : packageName + "." + binderName;
+
+        try (Writer writer = filer.createSourceFile(qualifiedBinderName, model).openWriter()) {
+            writer.write(source.toString());
+        }
+    }
+
+    private static void appendMethod(StringBuilder source, String returnType, String name, String value) {
+        source.append("    @Override\n")
+                .append("    public ").append(returnType).append(' ').append(name).append("() {\n")
+                .append("        return ").append(value).append(";\n")
+                .append("    }\n\n");
+    }
+
+    private String literal(String value) {
+        return value == null ? "null" : elements.getConstantExpression(value);
+    }
+
+    private boolean hasEmptyConstructor(TypeElement model) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(model.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static String annotationValue(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (!mirror.getAnnotationType().toString().equals(annotationName)) continue;
+
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals("value")) {
+                    return String.valueOf(entry.getValue().getValue());
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private static boolean hasAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (mirror.getAnnotationType().toString().equals(annotationName)) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Build the expression reading a column, using the type specific getter of {@link java.sql.ResultSet}.
+     */
+    private String sqlRead(ModelField field) {
+        String column = literal(field.name);
+        TypeMirror type = field.type;
+
+        switch (type.getKind()) {
+            case BOOLEAN: return "resultSet.getBoolean(" + column + ")";
+            case BYTE: return "resultSet.getByte(" + column + ")";
+            case SHORT: return "resultSet.getShort(" + column + ")";
+            case INT: return "resultSet.getInt(" + column + ")";
+            case LONG: return "resultSet.getLong(" + column + ")";
+            case FLOAT: return "resultSet.getFloat(" + column + ")";
+            case DOUBLE: return "resultSet.getDouble(" + column + ")";
+            case CHAR: return "character(resultSet.getString(" + column + "))";
+            default: break;
+        }
+
+        String erasure = types.erasure(type).toString();
+
+        switch (erasure) {
+            case "java.lang.String": return "resultSet.getString(" + column + ")";
+            case "java.math.BigDecimal": return "resultSet.getBigDecimal(" + column + ")";
+            case "java.sql.Timestamp":
+            case "java.util.Date": return "resultSet.getTimestamp(" + column + ")";
+            case "java.sql.Date": return "resultSet.getDate(" + column + ")";
+            case "java.sql.Time": return "resultSet.getTime(" + column + ")";
+            case "byte[]": return "resultSet.getBytes(" + column + ")";
+            default:
+                String read = "resultSet.getObject(" + column + ", " + erasure + ".class)";
+                return erasure.equals(type.toString()) ? read : "(" + type + ") " + read;
+        }
+    }
+
+    /**
+     * Build the expression reading a key of a {@code Document}, widening numbers the way BSON stores them.
+     */
+    private String mongoRead(ModelField field) {
+        String key = literal(field.name);
+        String value = "document.get(" + key + ")";
+        TypeMirror type = field.type;
+
+        switch (type.getKind()) {
+            case BOOLEAN: return "Boolean.TRUE.equals(" + value + ")";
+            case BYTE: return "number(" + value + ").byteValue()";
+            case SHORT: return "number(" + value + ").shortValue()";
+            case INT: return "number(" + value + ").intValue()";
+            case LONG: return "number(" + value + ").longValue()";
+            case FLOAT: return "number(" + value + ").floatValue()";
+            case DOUBLE: return "number(" + value + ").doubleValue()";
+            case CHAR: return "character(document.getString(" + key + "))";
+            default: break;
+        }
+
+        String erasure = types.erasure(type).toString();
+
+        switch (erasure) {
+            case "java.lang.Byte": return "(" + value + " == null ? null : number(" + value + ").byteValue())";
+            case "java.lang.Short": return "(" + value + " == null ? null : number(" + value + ").shortValue())";
+            case "java.lang.Integer": return "(" + value + " == null ? null : number(" + value + ").intValue())";
+            case "java.lang.Long": return "(" + value + " == null ? null : number(" + value + ").longValue())";
+            case "java.lang.Float": return "(" + value + " == null ? null : number(" + value + ").floatValue())";
+            case "java.lang.Double": return "(" + value + " == null ? null : number(" + value + ").doubleValue())";
+            case "java.lang.String": return "document.getString(" + key + ")";
+            case "org.bson.types.ObjectId": return "document.getObjectId(" + key + ")";
+            default: return "(" + type + ") " + value;
+        }
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /**
+     * An attribute of the model, with the code used to read and write it.
+     */
+    private final class ModelField {
+        private final String name;
+        private final TypeMirror type;
+        private final boolean primary;
+        private final boolean automatic;
+        private final boolean mongoOnly;
+        private final boolean mySQLOnly;
+        private final String readExpression;
+        private final String writePrefix;
+        private final String writeSuffix;
+
+        private ModelField(VariableElement field) {
+            this.name = field.getSimpleName().toString();
+            this.type = field.asType();
+            this.primary = hasAnnotation(field, PRIMARY_FIELD);
+            this.automatic = hasAnnotation(field, AUTOMATIC_FIELD);
+            this.mongoOnly = hasAnnotation(field, MONGO_ONLY);
+            this.mySQLOnly = hasAnnotation(field, MYSQL_ONLY);
+
+            TypeElement owner = (TypeElement) field.getEnclosingElement();
+            boolean visible = !field.getModifiers().contains(Modifier.PRIVATE);
+
+            if (visible) {
+                this.readExpression = name;
+            } else if (!accessorMethods) {
+                this.readExpression = null;
+            } else {
+                ExecutableElement getter = findMethod(owner, "get" + capitalize(name), 0);
+                if (getter == null && type.getKind() == TypeKind.BOOLEAN) {
+                    getter = findMethod(owner, "is" + capitalize(name), 0);
+                }
+
+                this.readExpression = getter != null ? getter.getSimpleName() + "()" : null;
+            }
+
+            if (visible && !field.getModifiers().contains(Modifier.FINAL)) {
+                this.writePrefix = name + " = ";
+                this.writeSuffix = "";
+            } else if (!accessorMethods) {
+                this.writePrefix = null;
+                this.writeSuffix = null;
+            } else {
+                ExecutableElement setter = findMethod(owner, "set" + capitalize(name), 1);
+                this.writePrefix = setter != null ? setter.getSimpleName() + "(" : null;
+                this.writeSuffix = setter != null ? ")" : null;
+            }
+        }
+
+        /**
+         * Find a non-private instance method matching the attribute's type, as a getter or a setter.
+         */
+        private ExecutableElement findMethod(TypeElement owner, String methodName, int parameterCount) {
+            for (ExecutableElement method : ElementFilter.methodsIn(owner.getEnclosedElements())) {
+                if (!method.getSimpleName().contentEquals(methodName)) continue;
+                if (method.getModifiers().contains(Modifier.PRIVATE) || method.getModifiers().contains(Modifier.STATIC)) continue;
+                if (method.getParameters().size() != parameterCount) continue;
+
+                TypeMirror methodType = parameterCount == 0 ? method.getReturnType() : method.getParameters().get(0).asType();
+
+                if (types.isSameType(methodType, type)) return method;
+            }
+
+            return null;
+        }
+    }
+}
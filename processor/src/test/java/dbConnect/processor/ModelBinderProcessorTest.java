@@ -0,0 +1,166 @@
+package dbConnect.processor;
+
+import dbConnect.execution.FieldDescriptor;
+import dbConnect.execution.ModelBinder;
+import dbConnect.execution.ModelDescriptor;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModelBinderProcessorTest {
+    private static final String FIXTURE = """
+            package fixture;
+
+            import dbConnect.DataModel;
+            import dbConnect.mapper.DocumentInterface;
+            import dbConnect.mapper.ResultSetInterface;
+            import dbConnect.models.autogen.AutomaticField;
+            import dbConnect.models.autogen.PrimaryField;
+            import dbConnect.models.constrain.MongoOnly;
+            import dbConnect.models.constrain.MySQLOnly;
+            import dbConnect.models.meta.CollectionName;
+            import dbConnect.models.meta.TableName;
+
+            @TableName("accounts")
+            @CollectionName("accounts")
+            public class Account extends DataModel<Account> {
+                String userName;
+                @PrimaryField
+                @AutomaticField
+                int id;
+                @MongoOnly
+                String tag;
+                double balance;
+                @MySQLOnly
+                String note;
+                private long version;
+
+                public Account() {}
+
+                public long getVersion() {
+                    return version;
+                }
+
+                public void setVersion(long version) {
+                    this.version = version;
+                }
+
+                @Override
+                public ResultSetInterface<Account> getTableMap() {
+                    return null;
+                }
+
+                @Override
+                public DocumentInterface<Account> getCollectionMap() {
+                    return null;
+                }
+            }
+            """;
+
+    /**
+     * Compile the fixture with the processor and load its descriptor.
+     */
+    private static ModelDescriptor compile(String... options) throws IOException, ClassNotFoundException {
+        Path root = Files.createTempDirectory("binder");
+        Path source = root.resolve("src/fixture/Account.java");
+        Path classes = root.resolve("classes");
+        Files.createDirectories(source.getParent());
+        Files.createDirectories(classes);
+        Files.writeString(source, FIXTURE);
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+        List<String> arguments = new ArrayList<>(List.of(
+                "-classpath", System.getProperty("java.class.path"),
+                "-d", classes.toString(),
+                "-s", classes.toString()));
+        arguments.addAll(Arrays.asList(options));
+
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, arguments, null,
+                    fileManager.getJavaFileObjects(source));
+            task.setProcessors(List.of(new ModelBinderProcessor()));
+
+            boolean compiled = task.call();
+
+            for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+                assertNotEquals(Diagnostic.Kind.ERROR, diagnostic.getKind(), diagnostic.toString());
+            }
+
+            assertTrue(compiled);
+        }
+
+        assertTrue(Files.exists(classes.resolve("fixture/Account_Binder.java")));
+
+        ClassLoader loader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, ModelBinderProcessorTest.class.getClassLoader());
+        return ModelDescriptor.of(Class.forName("fixture.Account", true, loader));
+    }
+
+    private static List<String> names(List<FieldDescriptor> fields) {
+        return fields.stream().map(FieldDescriptor::getName).toList();
+    }
+
+    private static List<String> insertColumns(String statement) {
+        return List.of(statement.substring(statement.indexOf('(') + 1, statement.indexOf(')')).split(", "));
+    }
+
+    private static List<String> updateColumns(String statement) {
+        String setTerm = statement.substring(statement.indexOf(" set ") + 5, statement.indexOf(" where "));
+        return Arrays.stream(setTerm.split(", ")).map(term -> term.substring(0, term.indexOf(" = ?"))).toList();
+    }
+
+    private static void assertMatchesDescriptor(ModelDescriptor descriptor) {
+        ModelBinder<?> binder = descriptor.getBinder();
+        assertNotNull(binder);
+
+        assertEquals(binder.getFieldNames(), names(descriptor.getFields()));
+        assertEquals(List.of("userName", "id", "tag", "balance", "note", "version"), binder.getFieldNames());
+
+        assertEquals("insert into accounts (userName, balance, note, version) values (?, ?, ?, ?)", binder.getInsertStatement());
+        assertEquals(names(descriptor.getSqlInsertFields()), insertColumns(binder.getInsertStatement()));
+
+        assertEquals("update accounts set userName = ?, balance = ?, note = ?, version = ? where id = ?", binder.getUpdateStatement());
+        assertEquals(names(descriptor.getSqlUpdateFields()), updateColumns(binder.getUpdateStatement()));
+
+        assertEquals("delete from accounts where id = ?", binder.getDeleteStatement());
+    }
+
+    @Test
+    void generatesBinderMatchingDescriptor() throws Exception {
+        ModelDescriptor descriptor = compile();
+        ModelBinder<?> binder = descriptor.getBinder();
+
+        assertMatchesDescriptor(descriptor);
+        assertNotNull(binder.getAccessor("userName"));
+        assertNull(binder.getAccessor("version"));
+        // A private attribute without accessor methods leaves mapping to reflection
+        assertNull(binder.getTableMap());
+    }
+
+    @Test
+    void generatesBinderWithAccessorMethods() throws Exception {
+        ModelDescriptor descriptor = compile("-A" + ModelBinderProcessor.ACCESSOR_METHODS + "=true");
+        ModelBinder<?> binder = descriptor.getBinder();
+
+        assertMatchesDescriptor(descriptor);
+        assertNotNull(binder.getAccessor("version"));
+        assertNotNull(binder.getTableMap());
+        assertNotNull(binder.getCollectionMap());
+    }
+}
@@ -0,0 +1,268 @@
+package dbConnect.benchmark;
+
+import dbConnect.DataModel;
+import dbConnect.execution.FieldDescriptor;
+import dbConnect.execution.ModelDescriptor;
+import dbConnect.mapper.DocumentInterface;
+import dbConnect.mapper.ResultSetInterface;
+import dbConnect.models.autogen.AutomaticField;
+import dbConnect.models.autogen.PrimaryField;
+import dbConnect.models.constrain.MaxLength;
+import dbConnect.models.constrain.MongoOnly;
+import dbConnect.models.meta.TableName;
+import dbConnect.models.notnull.NotNullField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-row cost of building insert and update parameter arrays.
+ * Every variant applies the {@link NotNullField} and {@link MaxLength} checks of the parsers.
+ * <ul>
+ *      <li>{@code reflection*}: the pre 2.2 parser path, scanning fields and annotations and reading them with {@link Field#get(Object)}.</li>
+ *      <li>{@code cachedField*}: cached field list and constraints, still read with {@link Field#get(Object)}.</li>
+ *      <li>{@code staticHandle*}: cached constraints, read with {@code static final} method handles the JIT can constant fold.</li>
+ *      <li>{@code descriptor*}: {@link ModelDescriptor} with method handles held per {@link FieldDescriptor}, as used by the parsers.</li>
+ * </ul>
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FieldAccessBenchmark {
+    private static final MethodHandle[] INSERT_HANDLES = insertHandles();
+    private static final MethodHandle ITEM_NAME = INSERT_HANDLES[0];
+    private static final MethodHandle IMPORT_COST = INSERT_HANDLES[1];
+    private static final MethodHandle RETAIL_PRICE = INSERT_HANDLES[2];
+    private static final MethodHandle TAX_RATE = INSERT_HANDLES[3];
+    private static final MethodHandle CATEGORY_ID = INSERT_HANDLES[4];
+    private static final MethodHandle CREATED_AT = INSERT_HANDLES[5];
+
+    private BenchmarkModel model;
+    private Field[] insertFields;
+    private boolean[] notNull;
+    private int[] maxLength;
+    private ModelDescriptor descriptor;
+
+    @Setup
+    public void setup() {
+        model = new BenchmarkModel("0b5e8a4e-1d0c-4a55-9f57-1b9c6e0d2f11", "Benchmark item", 10.5f, 12.75f, 0.08f, 4, 1_700_000_000_000L);
+        descriptor = ModelDescriptor.of(BenchmarkModel.class);
+
+        List<Field> fields = new ArrayList<>();
+        for (Field field : BenchmarkModel.class.getDeclaredFields()) {
+            if (field.isAnnotationPresent(AutomaticField.class) || field.isAnnotationPresent(MongoOnly.class)) continue;
+            field.setAccessible(true);
+            fields.add(field);
+        }
+        insertFields = fields.toArray(new Field[0]);
+
+        notNull = new boolean[insertFields.length];
+        maxLength = new int[insertFields.length];
+        for (int i = 0; i < insertFields.length; i++) {
+            notNull[i] = insertFields[i].isAnnotationPresent(NotNullField.class);
+            MaxLength length = insertFields[i].getAnnotation(MaxLength.class);
+            maxLength[i] = length != null ? length.value() : -1;
+        }
+    }
+
+    private static MethodHandle[] insertHandles() {
+        String[] names = { "item_name", "import_cost", "retail_price", "tax_rate", "category_id", "created_at" };
+        MethodHandle[] handles = new MethodHandle[names.length];
+
+        try {
+            for (int i = 0; i < names.length; i++) {
+                Field field = BenchmarkModel.class.getDeclaredField(names[i]);
+                field.setAccessible(true);
+                handles[i] = MethodHandles.lookup().unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class));
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+
+        return handles;
+    }
+
+    /**
+     * The pre 2.2 {@code getFieldValue} of the parsers, looking the constraints up on every call.
+     */
+    private static Object checkedValue(Object model, Field field) throws IllegalAccessException {
+        Object fieldValue = field.get(model);
+
+        if (field.isAnnotationPresent(NotNullField.class) && fieldValue == null) {
+            throw new IllegalArgumentException("Missing value for field: " + field.getName() + " with not null annotation");
+        }
+
+        if (field.isAnnotationPresent(MaxLength.class)) {
+            if (fieldValue instanceof String stringValue) {
+                int maxLength = field.getAnnotation(MaxLength.class).value();
+
+                if (stringValue.length() > maxLength) {
+                    fieldValue = stringValue.substring(0, maxLength);
+                }
+            } else {
+                throw new IllegalArgumentException("Field: " + field.getName() + " with max length annotation is not a String!");
+            }
+        }
+
+        return fieldValue;
+    }
+
+    /**
+     * The checks of {@link FieldDescriptor#getValue(Object)}, with constraints read once.
+     */
+    private static Object checkedValue(Object fieldValue, String name, boolean notNull, int maxLength) {
+        if (notNull && fieldValue == null) {
+            throw new IllegalArgumentException("Missing value for field: " + name + " with not null annotation");
+        }
+
+        if (maxLength >= 0) {
+            if (fieldValue instanceof String stringValue) {
+                if (stringValue.length() > maxLength) {
+                    fieldValue = stringValue.substring(0, maxLength);
+                }
+            } else {
+                throw new IllegalArgumentException("Field: " + name + " with max length annotation is not a String!");
+            }
+        }
+
+        return fieldValue;
+    }
+
+    @Benchmark
+    public Object[] reflectionInsertParams() throws IllegalAccessException {
+        List<Object> val = new ArrayList<>();
+
+        for (Field field : model.getClass().getDeclaredFields()) {
+            field.setAccessible(true);
+
+            if (field.isAnnotationPresent(AutomaticField.class) || field.isAnnotationPresent(MongoOnly.class)) continue;
+
+            val.add(checkedValue(model, field));
+        }
+
+        return val.toArray();
+    }
+
+    @Benchmark
+    public Object[] cachedFieldInsertParams() throws IllegalAccessException {
+        Object[] val = new Object[insertFields.length];
+
+        for (int i = 0; i < insertFields.length; i++) {
+            val[i] = checkedValue(insertFields[i].get(model), insertFields[i].getName(), notNull[i], maxLength[i]);
+        }
+
+        return val;
+    }
+
+    @Benchmark
+    public Object[] staticHandleInsertParams() throws Throwable {
+        return new Object[] {
+                checkedValue((Object) ITEM_NAME.invokeExact((Object) model), "item_name", notNull[0], maxLength[0]),
+                checkedValue((Object) IMPORT_COST.invokeExact((Object) model), "import_cost", notNull[1], maxLength[1]),
+                checkedValue((Object) RETAIL_PRICE.invokeExact((Object) model), "retail_price", notNull[2], maxLength[2]),
+                checkedValue((Object) TAX_RATE.invokeExact((Object) model), "tax_rate", notNull[3], maxLength[3]),
+                checkedValue((Object) CATEGORY_ID.invokeExact((Object) model), "category_id", notNull[4], maxLength[4]),
+                checkedValue((Object) CREATED_AT.invokeExact((Object) model), "created_at", notNull[5], maxLength[5])
+        };
+    }
+
+    @Benchmark
+    public Object[] descriptorInsertParams() throws IllegalAccessException {
+        List<FieldDescriptor> fields = descriptor.getSqlInsertFields();
+        Object[] val = new Object[fields.size()];
+
+        for (int i = 0; i < val.length; i++) {
+            val[i] = fields.get(i).getValue(model);
+        }
+
+        return val;
+    }
+
+    @Benchmark
+    public Object[] reflectionUpdateParams() throws IllegalAccessException {
+        List<Object> val = new ArrayList<>();
+        Object primaryKeyValue = null;
+
+        for (Field field : model.getClass().getDeclaredFields()) {
+            field.setAccessible(true);
+
+            if (field.isAnnotationPresent(PrimaryField.class)) {
+                primaryKeyValue = field.get(model);
+                continue;
+            }
+
+            if (field.isAnnotationPresent(MongoOnly.class)) continue;
+
+            Object fieldValue = checkedValue(model, field);
+            if (fieldValue != null) val.add(fieldValue);
+        }
+
+        val.add(primaryKeyValue);
+        return val.toArray();
+    }
+
+    @Benchmark
+    public Object[] descriptorUpdateParams() throws IllegalAccessException {
+        List<Object> val = new ArrayList<>();
+
+        for (FieldDescriptor field : descriptor.getSqlUpdateFields()) {
+            Object fieldValue = field.getValue(model);
+            if (fieldValue != null) val.add(fieldValue);
+        }
+
+        val.add(descriptor.getPrimaryField().get(model));
+        return val.toArray();
+    }
+
+    /**
+     * A model with a typical mix of string and primitive attributes.
+     */
+    @TableName("benchmark_item")
+    public static class BenchmarkModel extends DataModel<BenchmarkModel> {
+        @AutomaticField @PrimaryField @MaxLength(36)
+        private String item_id;
+
+        @NotNullField @MaxLength(100)
+        private String item_name;
+        private float import_cost;
+        private float retail_price;
+        private float tax_rate;
+        private int category_id;
+        private long created_at;
+
+        public BenchmarkModel() {}
+
+        public BenchmarkModel(String itemId, String itemName, float importCost, float retailPrice, float taxRate, int categoryId, long createdAt) {
+            this.item_id = itemId;
+            this.item_name = itemName;
+            this.import_cost = importCost;
+            this.retail_price = retailPrice;
+            this.tax_rate = taxRate;
+            this.category_id = categoryId;
+            this.created_at = createdAt;
+        }
+
+        @Override
+        public ResultSetInterface<BenchmarkModel> getTableMap() {
+            return null;
+        }
+
+        @Override
+        public DocumentInterface<BenchmarkModel> getCollectionMap() {
+            return null;
+        }
+    }
+}
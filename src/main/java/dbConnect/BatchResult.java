@@ -0,0 +1,52 @@
+package dbConnect;
+
+import java.util.Arrays;
+
+/**
+ * Result of a batched write, such as {@link DBConnect#insertAll(java.util.Collection)}.<br>
+ * Batches are counted in the order they were sent, grouped by data model class.
+ * @since 2.2
+ */
+public class BatchResult {
+    private final int[] batchCounts;
+
+    /**
+     * Constructor of {@link BatchResult}.
+     * @param batchCounts number of entries written by each batch.
+     */
+    public BatchResult(int[] batchCounts) {
+        this.batchCounts = batchCounts.clone();
+    }
+
+    /**
+     * Get the result of a write that sent no batch.
+     * @return a result without batches.
+     */
+    public static BatchResult empty() {
+        return new BatchResult(new int[0]);
+    }
+
+    /**
+     * Get the number of entries written by each batch.
+     * @return a copy of the counts, in the order the batches were sent.
+     */
+    public int[] getBatchCounts() {
+        return batchCounts.clone();
+    }
+
+    /**
+     * Get the number of batches sent.
+     * @return count of batches.
+     */
+    public int getBatchCount() {
+        return batchCounts.length;
+    }
+
+    /**
+     * Get the number of entries written by every batch.
+     * @return total count of written entries.
+     */
+    public long getTotal() {
+        return Arrays.stream(batchCounts).asLongStream().sum();
+    }
+}
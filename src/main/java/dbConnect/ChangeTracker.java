@@ -0,0 +1,165 @@
+package dbConnect;
+
+import dbConnect.execution.FieldDescriptor;
+import dbConnect.execution.ModelDescriptor;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * <div>
+ * Change tracking of data models, so an update by key only sends the attributes that changed.
+ * </div>
+ * <div>
+ * This class contains:
+ * <ul>
+ *      <li>{@link #snapshot(Object)} remember the current values of a model.</li>
+ *      <li>{@link #clear(Object)} stop tracking a model, its next update sends every attribute.</li>
+ *      <li>{@link #isTracked(Object)} and {@link #isDirty(Object)} check the state of a model.</li>
+ *      <li>{@link #getChangedFields(Object)} get the attributes changed since the snapshot.</li>
+ * </ul>
+ * </div>
+ * With {@link DBConnect#enableChangeTracking(Class)}, every retrieved entry of a model gets a snapshot.
+ * {@link DBConnect#update(Object)} then sets only the attributes that differ from it, and skips the query
+ * entirely when none does. Like any update, attributes set to {@code null} are not written.
+ * A mutable value changed in place, such as a list, is only seen as changed when it is replaced.
+ * Only models extending {@link DataModel} can be tracked.
+ * @since 2.2
+ */
+public final class ChangeTracker {
+    private ChangeTracker() {}
+
+    /**
+     * Remember the current values of a model, later updates by key only send the attributes changed since.
+     * @param model an instance of a data model extending {@link DataModel}.
+     * @throws IllegalAccessException when an attribute can not be read.
+     * @throws IllegalArgumentException when the model does not extend {@link DataModel}.
+     */
+    public static void snapshot(Object model) throws IllegalAccessException {
+        if (!(model instanceof DataModel<?> dataModel)) {
+            throw new IllegalArgumentException("Only models extending DataModel can track their changes!");
+        }
+
+        dataModel.changeSnapshot = take(model);
+    }
+
+    /**
+     * Take a new snapshot of a tracked model once its changes are written, used by the update parsers.
+     * Within a transaction, the snapshot of the written values is only kept once the transaction commits,
+     * so a rolled back update is sent again by the next one.
+     * @param model an instance of a data model, nothing is done when it is not tracked.
+     * @throws IllegalAccessException when an attribute can not be read.
+     */
+    public static void refresh(Object model) throws IllegalAccessException {
+        if (!isTracked(model)) return;
+
+        Transaction transaction = Transaction.current();
+
+        if (transaction != null) {
+            transaction.written(model, take(model));
+        } else {
+            ((DataModel<?>) model).changeSnapshot = take(model);
+        }
+    }
+
+    /**
+     * Replace the snapshot of a model by one taken earlier.
+     * @param model an instance of a data model.
+     * @param snapshot values of the model's attributes.
+     */
+    static void restore(Object model, Map<String, Object> snapshot) {
+        if (model instanceof DataModel<?> dataModel) {
+            dataModel.changeSnapshot = snapshot;
+        }
+    }
+
+    private static Map<String, Object> take(Object model) throws IllegalAccessException {
+        Map<String, Object> snapshot = new HashMap<>();
+
+        for (FieldDescriptor field : ModelDescriptor.of(model.getClass()).getFields()) {
+            snapshot.put(field.getName(), copy(field.get(model)));
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Stop tracking a model, its next update sends every attribute that has a value.
+     * @param model an instance of a data model.
+     */
+    public static void clear(Object model) {
+        if (model instanceof DataModel<?> dataModel) {
+            dataModel.changeSnapshot = null;
+        }
+    }
+
+    /**
+     * Check if a model has a snapshot.
+     * @param model an instance of a data model.
+     * @return {@code true} when updates of the model only send its changes.
+     */
+    public static boolean isTracked(Object model) {
+        return model instanceof DataModel<?> dataModel && dataModel.changeSnapshot != null;
+    }
+
+    /**
+     * Check if a value of an attribute differs from the model's snapshot.
+     * @param model an instance of a data model.
+     * @param field name of the attribute.
+     * @param value the current value of the attribute.
+     * @return {@code true} when the value changed or the model is not tracked.
+     */
+    public static boolean isChanged(Object model, String field, Object value) {
+        if (!(model instanceof DataModel<?> dataModel) || dataModel.changeSnapshot == null) {
+            return true;
+        }
+
+        Map<String, Object> snapshot = dataModel.changeSnapshot;
+        return !snapshot.containsKey(field) || !Objects.deepEquals(snapshot.get(field), value);
+    }
+
+    /**
+     * Check if any attribute of a model differs from its snapshot.
+     * @param model an instance of a data model.
+     * @return {@code true} when an attribute changed or the model is not tracked.
+     * @throws IllegalAccessException when an attribute can not be read.
+     */
+    public static boolean isDirty(Object model) throws IllegalAccessException {
+        return !isTracked(model) || !getChangedFields(model).isEmpty();
+    }
+
+    /**
+     * Get the attributes of a model that differ from its snapshot.
+     * @param model an instance of a data model.
+     * @return names of the changed attributes, every attribute when the model is not tracked.
+     * @throws IllegalAccessException when an attribute can not be read.
+     */
+    public static Set<String> getChangedFields(Object model) throws IllegalAccessException {
+        Set<String> changed = new LinkedHashSet<>();
+
+        for (FieldDescriptor field : ModelDescriptor.of(model.getClass()).getFields()) {
+            if (isChanged(model, field.getName(), field.get(model))) {
+                changed.add(field.getName());
+            }
+        }
+
+        return changed;
+    }
+
+    // Dates and arrays are copied, so changing them in place is still seen as a change
+    private static Object copy(Object value) {
+        if (value instanceof Date date) {
+            return date.clone();
+        } else if (value instanceof byte[] bytes) {
+            return bytes.clone();
+        } else if (value instanceof Object[] array) {
+            return array.clone();
+        } else {
+            return value;
+        }
+    }
+}
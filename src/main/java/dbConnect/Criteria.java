@@ -0,0 +1,333 @@
+package dbConnect;
+
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <div>
+ * An immutable condition on the attributes of a data model, rendered to SQL or to a BSON filter.
+ * </div>
+ * <div>
+ * This class contains:
+ * <ul>
+ *      <li>Comparisons: {@link #eq(String, Object)}, {@link #ne(String, Object)}, {@link #gt(String, Object)},
+ *      {@link #gte(String, Object)}, {@link #lt(String, Object)} and {@link #lte(String, Object)}.</li>
+ *      <li>Sets and ranges: {@link #in(String, Collection)} and {@link #between(String, Object, Object)}.</li>
+ *      <li>Missing values: {@link #isNull(String)} and {@link #isNotNull(String)}.</li>
+ *      <li>Combinations: {@link #and(Criteria...)} and {@link #or(Criteria...)}.</li>
+ * </ul>
+ * </div>
+ * Attribute names are checked against the model when the {@link Query} runs, and values are always bound as parameters.
+ * @since 2.2
+ */
+public final class Criteria {
+    private enum Type {
+        EQ("=", null), NE("<>", "$ne"), GT(">", "$gt"), GTE(">=", "$gte"), LT("<", "$lt"), LTE("<=", "$lte"),
+        IN(null, "$in"), BETWEEN(null, null), IS_NULL(null, null), IS_NOT_NULL(null, null), AND(null, "$and"), OR(null, "$or");
+
+        private final String sqlOperator;
+        private final String mongoOperator;
+
+        Type(String sqlOperator, String mongoOperator) {
+            this.sqlOperator = sqlOperator;
+            this.mongoOperator = mongoOperator;
+        }
+    }
+
+    private final Type type;
+    private final String field;
+    private final List<Object> values;
+    private final List<Criteria> children;
+
+    private Criteria(Type type, String field, List<Object> values, List<Criteria> children) {
+        this.type = type;
+        this.field = field;
+        this.values = values;
+        this.children = children;
+    }
+
+    private static Criteria compare(Type type, String field, Object value) {
+        if (field == null || field.isBlank()) {
+            throw new IllegalArgumentException("Criteria is missing its attribute name!");
+        }
+
+        if (value == null) {
+            throw new IllegalArgumentException("Value of attribute: " + field + " must not be null, use isNull instead!");
+        }
+
+        return new Criteria(type, field, List.of(value), List.of());
+    }
+
+    private static Criteria combine(Type type, Criteria... criteria) {
+        if (criteria.length == 0) {
+            throw new IllegalArgumentException("Combining criteria needs at least one criteria!");
+        }
+
+        List<Criteria> children = new ArrayList<>();
+
+        for (Criteria child : criteria) {
+            // Flatten nested combinations of the same type
+            if (child.type == type) {
+                children.addAll(child.children);
+            } else {
+                children.add(child);
+            }
+        }
+
+        return children.size() == 1 ? children.get(0) : new Criteria(type, null, List.of(), List.copyOf(children));
+    }
+
+    /**
+     * Match entries whose attribute equals a value, {@code null} matches missing values.
+     * @param field name of the attribute.
+     * @param value the value to match.
+     * @return a new Criteria.
+     */
+    public static Criteria eq(String field, Object value) {
+        return value == null ? isNull(field) : compare(Type.EQ, field, value);
+    }
+
+    /**
+     * Match entries whose attribute does not equal a value.
+     * @param field name of the attribute.
+     * @param value the value to exclude.
+     * @return a new Criteria.
+     */
+    public static Criteria ne(String field, Object value) {
+        return value == null ? isNotNull(field) : compare(Type.NE, field, value);
+    }
+
+    /**
+     * Match entries whose attribute is greater than a value.
+     * @param field name of the attribute.
+     * @param value the exclusive lower bound.
+     * @return a new Criteria.
+     */
+    public static Criteria gt(String field, Object value) {
+        return compare(Type.GT, field, value);
+    }
+
+    /**
+     * Match entries whose attribute is greater than or equal to a value.
+     * @param field name of the attribute.
+     * @param value the inclusive lower bound.
+     * @return a new Criteria.
+     */
+    public static Criteria gte(String field, Object value) {
+        return compare(Type.GTE, field, value);
+    }
+
+    /**
+     * Match entries whose attribute is less than a value.
+     * @param field name of the attribute.
+     * @param value the exclusive upper bound.
+     * @return a new Criteria.
+     */
+    public static Criteria lt(String field, Object value) {
+        return compare(Type.LT, field, value);
+    }
+
+    /**
+     * Match entries whose attribute is less than or equal to a value.
+     * @param field name of the attribute.
+     * @param value the inclusive upper bound.
+     * @return a new Criteria.
+     */
+    public static Criteria lte(String field, Object value) {
+        return compare(Type.LTE, field, value);
+    }
+
+    /**
+     * Match entries whose attribute is one of the values.
+     * @param field name of the attribute.
+     * @param values the values to match, none of them {@code null}. Without values nothing matches.
+     * @return a new Criteria.
+     */
+    public static Criteria in(String field, Collection<?> values) {
+        if (field == null || field.isBlank()) {
+            throw new IllegalArgumentException("Criteria is missing its attribute name!");
+        }
+
+        return new Criteria(Type.IN, field, List.copyOf(values), List.of());
+    }
+
+    /**
+     * Match entries whose attribute is one of the values.
+     * @param field name of the attribute.
+     * @param values the values to match, none of them {@code null}. Without values nothing matches.
+     * @return a new Criteria.
+     */
+    public static Criteria in(String field, Object... values) {
+        return in(field, Arrays.asList(values));
+    }
+
+    /**
+     * Match entries whose attribute is within a range.
+     * @param field name of the attribute.
+     * @param low the inclusive lower bound.
+     * @param high the inclusive upper bound.
+     * @return a new Criteria.
+     */
+    public static Criteria between(String field, Object low, Object high) {
+        if (field == null || field.isBlank()) {
+            throw new IllegalArgumentException("Criteria is missing its attribute name!");
+        }
+
+        if (low == null || high == null) {
+            throw new IllegalArgumentException("Range of attribute: " + field + " must not have null bounds!");
+        }
+
+        return new Criteria(Type.BETWEEN, field, List.of(low, high), List.of());
+    }
+
+    /**
+     * Match entries whose attribute has no value.
+     * @param field name of the attribute.
+     * @return a new Criteria.
+     */
+    public static Criteria isNull(String field) {
+        if (field == null || field.isBlank()) {
+            throw new IllegalArgumentException("Criteria is missing its attribute name!");
+        }
+
+        return new Criteria(Type.IS_NULL, field, List.of(), List.of());
+    }
+
+    /**
+     * Match entries whose attribute has a value.
+     * @param field name of the attribute.
+     * @return a new Criteria.
+     */
+    public static Criteria isNotNull(String field) {
+        if (field == null || field.isBlank()) {
+            throw new IllegalArgumentException("Criteria is missing its attribute name!");
+        }
+
+        return new Criteria(Type.IS_NOT_NULL, field, List.of(), List.of());
+    }
+
+    /**
+     * Match entries meeting every criteria.
+     * @param criteria the criteria to combine.
+     * @return a new Criteria.
+     */
+    public static Criteria and(Criteria... criteria) {
+        return combine(Type.AND, criteria);
+    }
+
+    /**
+     * Match entries meeting any of the criteria.
+     * @param criteria the criteria to combine.
+     * @return a new Criteria.
+     */
+    public static Criteria or(Criteria... criteria) {
+        return combine(Type.OR, criteria);
+    }
+
+    /**
+     * Match entries meeting this and another criteria.
+     * @param other the other criteria.
+     * @return a new Criteria.
+     */
+    public Criteria and(Criteria other) {
+        return combine(Type.AND, this, other);
+    }
+
+    /**
+     * Match entries meeting this or another criteria.
+     * @param other the other criteria.
+     * @return a new Criteria.
+     */
+    public Criteria or(Criteria other) {
+        return combine(Type.OR, this, other);
+    }
+
+    /**
+     * Render the criteria as an SQL condition.
+     * @param sql the condition being built, {@code ?} are used for values.
+     * @param params receives the values in order.
+     */
+    void appendSql(StringBuilder sql, List<Object> params) {
+        switch (type) {
+            case AND, OR -> {
+                for (int i = 0; i < children.size(); i++) {
+                    Criteria child = children.get(i);
+                    boolean nested = child.type == Type.AND || child.type == Type.OR;
+
+                    if (i > 0) sql.append(type == Type.AND ? " and " : " or ");
+                    if (nested) sql.append('(');
+                    child.appendSql(sql, params);
+                    if (nested) sql.append(')');
+                }
+            }
+            case IN -> {
+                if (values.isEmpty()) {
+                    sql.append("1 = 0");
+                    return;
+                }
+
+                sql.append(field).append(" in (");
+
+                for (int i = 0; i < values.size(); i++) {
+                    sql.append(i > 0 ? ", ?" : "?");
+                }
+
+                sql.append(')');
+                params.addAll(values);
+            }
+            case BETWEEN -> {
+                sql.append(field).append(" between ? and ?");
+                params.addAll(values);
+            }
+            case IS_NULL -> sql.append(field).append(" is null");
+            case IS_NOT_NULL -> sql.append(field).append(" is not null");
+            default -> {
+                sql.append(field).append(' ').append(type.sqlOperator).append(" ?");
+                params.add(values.get(0));
+            }
+        }
+    }
+
+    /**
+     * Render the criteria as a MongoDB filter.
+     * @return a new filter document.
+     */
+    Document toFilter() {
+        return switch (type) {
+            case AND, OR -> {
+                List<Document> filters = new ArrayList<>(children.size());
+
+                for (Criteria child : children) {
+                    filters.add(child.toFilter());
+                }
+
+                yield new Document(type.mongoOperator, filters);
+            }
+            case EQ -> new Document(field, values.get(0));
+            case BETWEEN -> new Document(field, new Document("$gte", values.get(0)).append("$lte", values.get(1)));
+            case IS_NULL -> new Document(field, null);
+            case IS_NOT_NULL -> new Document(field, new Document("$ne", null));
+            case IN -> new Document(field, new Document("$in", values));
+            default -> new Document(field, new Document(type.mongoOperator, values.get(0)));
+        };
+    }
+
+    /**
+     * Collect the names of every attribute used by the criteria.
+     * @param fields receives the attribute names.
+     */
+    void collectFields(Set<String> fields) {
+        if (field != null) {
+            fields.add(field);
+        }
+
+        for (Criteria child : children) {
+            child.collectFields(fields);
+        }
+    }
+}
@@ -1,15 +1,36 @@
 package dbConnect;
 
+import dbConnect.cache.CacheConfig;
+import dbConnect.cache.EntityCache;
+import dbConnect.cache.ResultCache;
 import dbConnect.execution.DeleteParser;
+import dbConnect.execution.FieldDescriptor;
 import dbConnect.execution.InsertParser;
+import dbConnect.execution.ModelDescriptor;
+import dbConnect.execution.QueryPublisher;
 import dbConnect.execution.RetrieveParser;
+import dbConnect.execution.ScanParser;
 import dbConnect.execution.UpdateParser;
+import dbConnect.execution.UpsertParser;
+import dbConnect.mapper.DocumentInterface;
+import dbConnect.mapper.ResultSetInterface;
+import dbConnect.query.ConnectionPool;
 import dbConnect.query.ConnectorString;
 import dbConnect.query.MongoDBQuery;
+import dbConnect.query.PoolConfig;
 import dbConnect.query.SqlDBQuery;
 
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * <div>
@@ -21,12 +42,44 @@ import java.util.List;
  *      <li>{@link #initializeSQL(String)} initialize DBConnect for a local database server.</li>
  *      <li>{@link #initializeSQL(String, int, String, String)} overload local connection with custom details.</li>
  *      <li>{@link #initializeSQL(String, String, int, String, String)} initialize DBConnect with fully customizable details.</li>
+ *      <li>{@link #initializeSQL(String, String, int, String, String, PoolConfig)} initialize DBConnect with custom connection pool settings.</li>
+ *      <li>{@link #initializeSQL(ConnectorString)} initialize DBConnect from a {@link ConnectorString}.</li>
+ *      <li>{@link #getConnectionPool()} get the MySQL connection pool for monitoring.</li>
+ *      <li>{@link #enableIndexAdvice()} and {@link #disableIndexAdvice()} report MongoDB queries an index could cover.</li>
+ *      <li>{@link #close()} close the current database connection.</li>
+ *      <li>{@link #registerTableMap(Class, ResultSetInterface)} register the SQL mapper of a model.</li>
+ *      <li>{@link #registerCollectionMap(Class, DocumentInterface)} register the NoSQL mapper of a model.</li>
+ *      <li>{@link #enableCache(Class, CacheConfig)} cache retrieve results of a model until it is written to.</li>
+ *      <li>{@link #disableCache(Class)} stop caching retrieve results of a model.</li>
+ *      <li>{@link #getResultCache(Class)} get the result cache of a model for monitoring.</li>
+ *      <li>{@link #enableEntityCache(Class, CacheConfig)} cache entries of a model found by their key.</li>
+ *      <li>{@link #disableEntityCache(Class)} stop caching entries of a model.</li>
+ *      <li>{@link #getEntityCache(Class)} get the entity cache of a model for monitoring.</li>
+ *      <li>{@link #enableChangeTracking(Class)} only update the attributes of retrieved entries that changed.</li>
+ *      <li>{@link #disableChangeTracking(Class)} stop tracking changes of a model.</li>
  *      <li>{@link #initCheck()} check if {@link DBConnect} is initialized yet.</li>
  *      <li>{@link #retrieve(Class, String, Object...)} get certain data from a table.</li>
  *      <li>{@link #retrieveAll(Class)} get all data from a certain table.</li>
+ *      <li>{@link #retrieve(Class, Query)}, {@link #update(Object, Query)} and {@link #delete(Object, Query)}
+ *      run a {@link Query} built from {@link Criteria} on either database.</li>
+ *      <li>{@link #findById(Class, Object)} get one entry of a table by its key.</li>
+ *      <li>{@link #count(Class, String, Object...)} count data of a table without fetching it.</li>
+ *      <li>{@link #exists(Class, String, Object...)} check if any data of a table matches.</li>
+ *      <li>{@link #stream(Class, String, Object...)} lazily get data from a table with constant memory.</li>
+ *      <li>{@link #publish(Class, String, Object...)} get data from a table as a reactive {@link Flow.Publisher}.</li>
+ *      <li>{@link #page(Class, PageRequest)} get one page of data from a table with keyset pagination.</li>
+ *      <li>{@link #parallelScan(Class, String, int, Consumer, Object...)} scan a whole table in parallel key ranges.</li>
  *      <li>{@link #insert(Object)} insert data to a certain table.</li>
+ *      <li>{@link #insertAll(Collection, int, boolean)} insert many data in batches.</li>
  *      <li>{@link #update(Object)} update data to a certain row in a table.</li>
+ *      <li>{@link #updateAll(Collection, int)} update many data by their key in batches.</li>
  *      <li>{@link #delete(Object)} delete data from a certain row in a table.</li>
+ *      <li>{@link #deleteAll(Collection, int)} delete many data by their key in batches.</li>
+ *      <li>{@link #upsert(Object)} insert data, or update it when data with the same key exists.</li>
+ *      <li>{@link #upsertAll(Collection, int)} upsert many data by their key in batches.</li>
+ *      <li>{@link #inTransaction(Transaction.Work)} run many operations on one connection and commit them once.</li>
+ *      <li>{@link #retrieveAsync(Class, String, Object...)}, {@link #insertAsync(Object)}, {@link #updateAsync(Object)}
+ *      and {@link #deleteAsync(Object)} run the same operations on a virtual thread.</li>
  * </ul>
  * </div>
  */
@@ -34,13 +87,19 @@ import java.util.List;
 public class DBConnect {
     /**
      * A static instance of {@link SqlDBQuery}.
+     * Volatile, since queries may run on other threads, see {@link #retrieveAsync(Class, String, Object...)}.
      */
-    private static SqlDBQuery SQLdBQuery;
+    private static volatile SqlDBQuery SQLdBQuery;
 
     /**
      * A static instance of {@link MongoDBQuery}.
      */
-    private static MongoDBQuery MongoDBQuery;
+    private static volatile MongoDBQuery MongoDBQuery;
+
+    /**
+     * Executor of the asynchronous methods, running every query on its own virtual thread.
+     */
+    private static final ExecutorService ASYNC_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
 
     /**
      * Initialization of MySQL Database connection.<br>
@@ -61,8 +120,7 @@ public class DBConnect {
      */
     public static void initializeSQL(String databaseName) {
         ConnectorString connectorString = ConnectorString.setDefaultLocalSQLConnection(databaseName);
-        SQLdBQuery = new SqlDBQuery(connectorString.getSQLConnectionString(), connectorString.getUser(), connectorString.getPassword());
-        MongoDBQuery = null;
+        initializeSQL(connectorString);
     }
 
     /**
@@ -82,8 +140,8 @@ public class DBConnect {
      */
     public static void initializeMongo(String databaseName) {
         ConnectorString connectorString = ConnectorString.setDefaultLocalMongoConnection(databaseName);
+        close();
         MongoDBQuery = new MongoDBQuery(connectorString.getMongoConnectionString(), connectorString.getDatabaseName());
-        SQLdBQuery = null;
     }
 
     /**
@@ -105,8 +163,7 @@ public class DBConnect {
      */
     public static void initializeSQL(String databaseName, int portNumber, String user, String password) {
         ConnectorString connectorString = ConnectorString.setCustomLocalSQLConnection(databaseName, portNumber, user, password);
-        SQLdBQuery = new SqlDBQuery(connectorString.getSQLConnectionString(), connectorString.getUser(), connectorString.getPassword());
-        MongoDBQuery = null;
+        initializeSQL(connectorString);
     }
 
     /**
@@ -122,11 +179,340 @@ public class DBConnect {
      *
      */
     public static void initializeSQL(String host, String databaseName, int portNumber, String user, String password) {
-        ConnectorString connectorString = ConnectorString.setSQLConnection(host, databaseName, portNumber, user, password);
-        SQLdBQuery = new SqlDBQuery(connectorString.getSQLConnectionString(), user, password);
+        initializeSQL(ConnectorString.setSQLConnection(host, databaseName, portNumber, user, password));
+    }
+
+    /**
+     * Initialization of MySQL Database connection. <br>
+     * This overload creates a connection to a database at a certain host with custom connection pool settings.<br>
+     * <i><strong>Initialize method should be call before all database queries task.</strong></i>
+     *
+     * @param host the {@code address} of the database's host machine.
+     * @param databaseName the {@code Name} of the database.
+     * @param portNumber the {@code Port} of the database.
+     * @param user the {@code Username} of database account.
+     * @param password the {@code Password} of database account.
+     * @param poolConfig the settings of the connection pool.
+     *
+     * @since 2.2
+     */
+    public static void initializeSQL(String host, String databaseName, int portNumber, String user, String password, PoolConfig poolConfig) {
+        initializeSQL(ConnectorString.setSQLConnection(host, databaseName, portNumber, user, password, poolConfig));
+    }
+
+    /**
+     * Initialization of MySQL Database connection. <br>
+     * This overload uses a prepared {@link ConnectorString}, including its connection pool settings.<br>
+     * <i><strong>Initialize method should be call before all database queries task.</strong></i>
+     *
+     * @param connectorString the connection details of the database.
+     *
+     * @since 2.2
+     */
+    public static void initializeSQL(ConnectorString connectorString) {
+        PoolConfig poolConfig = connectorString.getPoolConfig() != null ? connectorString.getPoolConfig() : new PoolConfig();
+
+        close();
+        SQLdBQuery = new SqlDBQuery(connectorString.getSQLConnectionString(), connectorString.getUser(), connectorString.getPassword(), poolConfig);
+    }
+
+    /**
+     * Get the connection pool of the current MySQL connection.
+     * Its gauges and counters can be used for monitoring.
+     * @return the {@link ConnectionPool} in use, {@code null} when DBConnect is not initialized for MySQL.
+     *
+     * @since 2.2
+     */
+    public static ConnectionPool getConnectionPool() {
+        SqlDBQuery sqlDBQuery = SQLdBQuery;
+        return sqlDBQuery != null ? sqlDBQuery.getConnectionPool() : null;
+    }
+
+    /**
+     * Report MongoDB queries that an existing index of their collection could cover, once per query shape.<br>
+     * Every first query of a collection then lists its indexes, so it is meant for development.
+     * The setting applies to the current MongoDB connection.
+     *
+     * @throws IllegalStateException when DBConnect is not initialized for MongoDB.
+     *
+     * @since 2.2
+     */
+    public static void enableIndexAdvice() {
+        setIndexAdvice(true);
+    }
+
+    /**
+     * Stop reporting MongoDB queries that an index could cover, the default.
+     *
+     * @throws IllegalStateException when DBConnect is not initialized for MongoDB.
+     *
+     * @since 2.2
+     */
+    public static void disableIndexAdvice() {
+        setIndexAdvice(false);
+    }
+
+    private static void setIndexAdvice(boolean enabled) {
+        MongoDBQuery mongoDBQuery = MongoDBQuery;
+
+        if (mongoDBQuery == null) {
+            throw new IllegalStateException("DBConnect is not initialized for MongoDB!");
+        }
+
+        mongoDBQuery.setIndexAdvice(enabled);
+    }
+
+    /**
+     * Close the current database connection.<br>
+     * Every pooled MySQL connection or the MongoDB client is closed. DBConnect has to be initialized again before further queries.
+     *
+     * @since 2.2
+     */
+    public static void close() {
+        if (SQLdBQuery != null) {
+            SQLdBQuery.close();
+        }
+
+        if (MongoDBQuery != null) {
+            MongoDBQuery.close();
+        }
+
+        SQLdBQuery = null;
         MongoDBQuery = null;
     }
 
+    /**
+     * Register the SQL mapper of a model.<br>
+     * Without registration, the mapper is resolved once from the model's {@code getTableMap()} on its first retrieve.
+     * The mapper is shared by every retrieve and must not keep state between rows.
+     *
+     * @param modelClass a data model class extending {@link DataModel}.
+     * @param mapper the mapper used for every retrieve of the model.
+     * @param <T> type of the data model.
+     *
+     * @since 2.2
+     */
+    public static <T> void registerTableMap(Class<T> modelClass, ResultSetInterface<T> mapper) {
+        ModelDescriptor.of(modelClass).setTableMap(mapper);
+    }
+
+    /**
+     * Register the NoSQL mapper of a model.<br>
+     * Without registration, the mapper is resolved once from the model's {@code getCollectionMap()} on its first retrieve.
+     * The mapper is shared by every retrieve and must not keep state between documents.
+     *
+     * @param modelClass a data model class extending {@link DataModel}.
+     * @param mapper the mapper used for every retrieve of the model.
+     * @param <T> type of the data model.
+     *
+     * @since 2.2
+     */
+    public static <T> void registerCollectionMap(Class<T> modelClass, DocumentInterface<T> mapper) {
+        ModelDescriptor.of(modelClass).setCollectionMap(mapper);
+    }
+
+    /**
+     * Cache retrieve results of a model.<br>
+     * Results of {@link #retrieve(Class, String, Object...)} are keyed by their conditions and parameters,
+     * and every cached result of the model is dropped on each {@link #insert(Object)}, update or delete of the model.
+     * Only writes made through DBConnect invalidate the cache, other writers are only seen once results expire.
+     * Cached entries are shared between callers and must not be modified.
+     *
+     * @param modelClass a data model class extending {@link DataModel}.
+     * @param cacheConfig bounds and time to live of the cache.
+     * @param <T> type of the data model.
+     *
+     * @since 2.2
+     */
+    public static <T> void enableCache(Class<T> modelClass, CacheConfig cacheConfig) {
+        ModelDescriptor.of(modelClass).setResultCache(new ResultCache<T>(cacheConfig));
+    }
+
+    /**
+     * Stop caching retrieve results of a model and drop its cached results.
+     *
+     * @param modelClass a data model class extending {@link DataModel}.
+     * @param <T> type of the data model.
+     *
+     * @since 2.2
+     */
+    public static <T> void disableCache(Class<T> modelClass) {
+        ModelDescriptor.of(modelClass).setResultCache(null);
+    }
+
+    /**
+     * Get the result cache of a model.<br>
+     * Its hit, miss and eviction counters can be used for monitoring.
+     *
+     * @param modelClass a data model class extending {@link DataModel}.
+     * @param <T> type of the data model.
+     * @return the {@link ResultCache} of the model, {@code null} when caching is disabled for it.
+     *
+     * @since 2.2
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ResultCache<T> getResultCache(Class<T> modelClass) {
+        return (ResultCache<T>) ModelDescriptor.of(modelClass).getResultCache();
+    }
+
+    /**
+     * Cache entries of a model found by {@link #findById(Class, Object)}.<br>
+     * An entry is dropped when the model is updated or deleted by its key,
+     * and every entry is dropped on updates and deletes by condition.
+     * Only writes made through DBConnect keep the cache coherent, other writers are only seen once entries expire.
+     * Cached entries are shared between callers and must not be modified.
+     *
+     * @param modelClass a data model class extending {@link DataModel}.
+     * @param cacheConfig bounds and time to live of the cache.
+     * @param <T> type of the data model.
+     *
+     * @since 2.2
+     */
+    public static <T> void enableEntityCache(Class<T> modelClass, CacheConfig cacheConfig) {
+        ModelDescriptor.of(modelClass).setEntityCache(new EntityCache<T>(cacheConfig));
+    }
+
+    /**
+     * Stop caching entries of a model and drop its cached entries.
+     *
+     * @param modelClass a data model class extending {@link DataModel}.
+     * @param <T> type of the data model.
+     *
+     * @since 2.2
+     */
+    public static <T> void disableEntityCache(Class<T> modelClass) {
+        ModelDescriptor.of(modelClass).setEntityCache(null);
+    }
+
+    /**
+     * Get the entity cache of a model.<br>
+     * Its hit, miss and eviction counters can be used for monitoring.
+     *
+     * @param modelClass a data model class extending {@link DataModel}.
+     * @param <T> type of the data model.
+     * @return the {@link EntityCache} of the model, {@code null} when caching is disabled for it.
+     *
+     * @since 2.2
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> EntityCache<T> getEntityCache(Class<T> modelClass) {
+        return (EntityCache<T>) ModelDescriptor.of(modelClass).getEntityCache();
+    }
+
+    /**
+     * Track the changes of every retrieved entry of a model.<br>
+     * Entries returned by {@link #retrieve(Class, String, Object...)}, {@link #retrieve(Class, Query)} and
+     * {@link #findById(Class, Object)} get a snapshot, then {@link #update(Object)} only sets their attributes
+     * that changed, and skips the query when none did. See {@link ChangeTracker}.
+     *
+     * @param modelClass a data model class extending {@link DataModel}.
+     * @param <T> type of the data model.
+     * @throws IllegalArgumentException when the class does not extend {@link DataModel}.
+     *
+     * @since 2.2
+     */
+    public static <T> void enableChangeTracking(Class<T> modelClass) {
+        if (!DataModel.class.isAssignableFrom(modelClass)) {
+            throw new IllegalArgumentException("Only models extending DataModel can track their changes!");
+        }
+
+        ModelDescriptor.of(modelClass).setChangeTracking(true);
+    }
+
+    /**
+     * Stop tracking the changes of retrieved entries of a model.
+     * Entries retrieved before keep their snapshot until {@link ChangeTracker#clear(Object)}.
+     *
+     * @param modelClass a data model class extending {@link DataModel}.
+     * @param <T> type of the data model.
+     *
+     * @since 2.2
+     */
+    public static <T> void disableChangeTracking(Class<T> modelClass) {
+        ModelDescriptor.of(modelClass).setChangeTracking(false);
+    }
+
+    /**
+     * Drop the cached results and entries of a written model.
+     * @param model the written data model object.
+     * @param byKey whether the write targeted the model's own key instead of a condition.
+     */
+    private static void invalidateCache(Object model, boolean byKey) {
+        if (model == null) return;
+
+        Transaction transaction = Transaction.current();
+        if (transaction != null) transaction.written(model, byKey);
+
+        ModelDescriptor descriptor = ModelDescriptor.of(model.getClass());
+        ResultCache<?> resultCache = descriptor.getResultCache();
+        EntityCache<?> entityCache = descriptor.getEntityCache();
+
+        if (resultCache != null) {
+            resultCache.invalidate();
+        }
+
+        if (entityCache != null) {
+            if (byKey) {
+                invalidateEntity(descriptor, entityCache, model);
+            } else {
+                entityCache.invalidateAll();
+            }
+        }
+    }
+
+    /**
+     * Drop the cached results of every written model class and the cached entries of every written model.
+     * @param models the written data model objects.
+     */
+    private static void invalidateCaches(Collection<?> models) {
+        Set<Class<?>> written = new HashSet<>();
+
+        Transaction transaction = Transaction.current();
+        if (transaction != null) transaction.written(models);
+
+        for (Object model : models) {
+            if (model == null) continue;
+
+            if (written.add(model.getClass())) {
+                invalidateCache(model, true);
+            } else {
+                ModelDescriptor descriptor = ModelDescriptor.of(model.getClass());
+                EntityCache<?> entityCache = descriptor.getEntityCache();
+
+                if (entityCache != null) {
+                    invalidateEntity(descriptor, entityCache, model);
+                }
+            }
+        }
+    }
+
+    /**
+     * Mark the transaction of the current thread as rollback only, after one of its operations failed.
+     * Nothing is done outside a transaction.
+     */
+    private static void markRollbackOnly() {
+        Transaction transaction = Transaction.current();
+        if (transaction != null) transaction.setRollbackOnly();
+    }
+
+    /**
+     * Drop the cached entry of a model written by its key.
+     * @param descriptor descriptor of the model.
+     * @param entityCache entity cache of the model.
+     * @param model the written data model object.
+     */
+    private static void invalidateEntity(ModelDescriptor descriptor, EntityCache<?> entityCache, Object model) {
+        FieldDescriptor keyField = MongoDBQuery != null ? descriptor.getIdField() : descriptor.getPrimaryField();
+
+        try {
+            // Without a key nothing cached was written
+            Object key = keyField != null ? keyField.get(model) : null;
+            if (key != null) entityCache.invalidate(key);
+        } catch (IllegalAccessException e) {
+            entityCache.invalidateAll();
+        }
+    }
+
     /**
      * Initialization check of Database connection.
      * @throws IllegalStateException when a user forgot to call initialization method.
@@ -161,9 +547,23 @@ public class DBConnect {
 
         try {
             assert retrieveParser != null;
-            return retrieveParser.retrieve(modelClass, conditions, params);
+            // Uncommitted data of a transaction must not be cached
+            ResultCache<T> resultCache = Transaction.current() == null ? getResultCache(modelClass) : null;
+
+            if (resultCache == null) {
+                return retrieveParser.retrieve(modelClass, conditions, params);
+            }
+
+            List<T> cached = resultCache.get(conditions, params);
+            if (cached != null) {
+                return cached;
+            }
+
+            long generation = resultCache.getGeneration();
+            return resultCache.put(generation, retrieveParser.retrieve(modelClass, conditions, params), conditions, params);
         } catch (Exception e) {
             System.out.println("Failure during data selection: " + e.getMessage());
+            markRollbackOnly();
             return List.of();
         }
     }
@@ -178,116 +578,593 @@ public class DBConnect {
      * @return List of the desired object. If no data is found, an empty list is returned.
      */
     public static <T> List<T> retrieveAll(Class<T> modelClass) {
-        return retrieve(modelClass, null);
+        return retrieve(modelClass, (String) null);
     }
 
     /**
-     * A method to insert data to the database.
-     * It uses the input class to determine what table to push to.
+     * A method to get data from the database with a {@link Query}.<br>
+     * The same query runs on MySQL and MongoDB, and its attributes are checked against the model.
      *
-     * @param dataModelObject a user desired a data model object extending {@link DataModel}, carrying data that need to be inserted.
-     * @param <T> type of the data model to insert.
-     * @return {@code true} if insert successfully.<br>
-     *          {@code false} if insert failed. <br>
-     *          Insert successful state is determined by the inserted row count.
+     * @param modelClass a user desired data model class extending {@link DataModel}.<br>
+     *                   Call ({@code DataModel.class}).
+     * @param query criteria, order and limit of the data, {@code null} for every entry.
+     * @param <T> type of the data model to retrieve.
+     * @return List of the desired object. If no data is found, an empty list is returned.
+     *
+     * @since 2.2
      */
-    public static <T> boolean insert(T dataModelObject) {
+    public static <T> List<T> retrieve(Class<T> modelClass, Query query) {
         initCheck();
-        InsertParser insertParser = null;
+        RetrieveParser retrieveParser = null;
 
         if (MongoDBQuery == null && SQLdBQuery != null) {
-            insertParser = new InsertParser(SQLdBQuery);
+            retrieveParser = new RetrieveParser(SQLdBQuery);
         }
         else if (MongoDBQuery != null && SQLdBQuery == null) {
-            insertParser = new InsertParser(MongoDBQuery);
+            retrieveParser = new RetrieveParser(MongoDBQuery);
         }
 
         try {
-            assert insertParser != null;
-            int successRow = insertParser.insert(dataModelObject);
-            return successRow > 0;
-        } catch (SQLException | IllegalAccessException e) {
-            System.out.println("Failure during insertion: " + e.getMessage());
-            return false;
+            assert retrieveParser != null;
+            ResultCache<T> resultCache = Transaction.current() == null ? getResultCache(modelClass) : null;
+
+            if (resultCache == null || query == null) {
+                return retrieveParser.retrieve(modelClass, query);
+            }
+
+            List<T> cached = resultCache.get(query.getKey(), query.getParams());
+            if (cached != null) {
+                return cached;
+            }
+
+            long generation = resultCache.getGeneration();
+            return resultCache.put(generation, retrieveParser.retrieve(modelClass, query), query.getKey(), query.getParams());
+        } catch (Exception e) {
+            System.out.println("Failure during data selection: " + e.getMessage());
+            markRollbackOnly();
+            return List.of();
         }
     }
 
     /**
-     * A method to update data to the database.
-     * It uses the input class to determine what row in a table to update.
+     * A method to get one entry from the database by its key.<br>
+     * MySQL searches by the model's {@link dbConnect.models.autogen.PrimaryField} and MongoDB by {@code _id}.
+     * With {@link #enableEntityCache(Class, CacheConfig)}, repeated lookups of a key are served from memory.
      *
-     * @param model a user desired {@code dataModel} object, carrying data that need to be updated.
-     * @param <T> type of the data model to update.
-     * @return {@code true} if update successfully.<br>
-     *          {@code false} if update failed. <br>
-     *          Update successful state is determined by the updated row count.
+     * @param modelClass a user desired data model class extending {@link DataModel}.<br>
+     *                   Call ({@code DataModel.class}).
+     * @param key value of the primary key or {@code _id}, of the same type as the key attribute.
+     * @param <T> type of the data model to retrieve.
+     * @return the entry with the key, {@code null} if none is found or the query failed.
+     *
+     * @since 2.2
      */
-    public static <T> boolean update(T model) {
+    public static <T> T findById(Class<T> modelClass, Object key) {
         initCheck();
-        UpdateParser updateParser = null;
+        RetrieveParser retrieveParser = null;
 
         if (MongoDBQuery == null && SQLdBQuery != null) {
-            updateParser = new UpdateParser(SQLdBQuery);
+            retrieveParser = new RetrieveParser(SQLdBQuery);
         }
         else if (MongoDBQuery != null && SQLdBQuery == null) {
-            updateParser = new UpdateParser(MongoDBQuery);
+            retrieveParser = new RetrieveParser(MongoDBQuery);
         }
 
         try {
-            assert updateParser != null;
-            int successUpdate = updateParser.update(model, null);
-            return  successUpdate > 0;
-        } catch (SQLException | IllegalAccessException e) {
-            System.out.println("Failure during update: " + e.getMessage());
-            return false;
+            assert retrieveParser != null;
+            EntityCache<T> entityCache = Transaction.current() == null ? getEntityCache(modelClass) : null;
+
+            if (entityCache == null) {
+                return retrieveParser.findById(modelClass, key);
+            }
+
+            T cached = entityCache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+
+            long generation = entityCache.getGeneration();
+            T entity = retrieveParser.findById(modelClass, key);
+
+            if (entity != null) {
+                entityCache.put(generation, key, entity);
+            }
+
+            return entity;
+        } catch (Exception e) {
+            System.out.println("Failure during data selection: " + e.getMessage());
+            markRollbackOnly();
+            return null;
         }
     }
 
     /**
-     * A method to update data to the database.
-     * It uses the input class to determine what row in a table to update.
+     * A method to count data in the database without fetching it.
      *
-     * @param model a user desired {@code dataModel} object, carrying data that need to be updated.
-     * @param conditions a string of conditions to perform update on.
-     * @param params value of each condition in order.
-     * @param <T> type of the data model to update.
-     * @return {@code true} if update successfully.<br>
-     *          {@code false} if update failed. <br>
-     *          Update successful state is determined by the updated row count.
+     * @param modelClass a user desired data model class extending {@link DataModel}.<br>
+     *                   Call ({@code DataModel.class}).
+     * @param conditions conditions on how to search, using {@code ?} as placeholders, {@code null} to count every entry.
+     * @param params value of mentioned conditions in order.
+     * @param <T> type of the data model to count.
+     * @return count of matching entries, {@code -1} if the query failed.
+     *
+     * @since 2.2
      */
-    public static <T> boolean update(T model, String conditions, Object... params) {
+    public static <T> long count(Class<T> modelClass, String conditions, Object... params) {
         initCheck();
-        UpdateParser updateParser = null;
+        RetrieveParser retrieveParser = null;
 
         if (MongoDBQuery == null && SQLdBQuery != null) {
-            updateParser = new UpdateParser(SQLdBQuery);
+            retrieveParser = new RetrieveParser(SQLdBQuery);
         }
         else if (MongoDBQuery != null && SQLdBQuery == null) {
-            updateParser = new UpdateParser(MongoDBQuery);
+            retrieveParser = new RetrieveParser(MongoDBQuery);
         }
 
         try {
-            assert updateParser != null;
-            int successUpdate = updateParser.update(model, conditions, params);
-            return  successUpdate > 0;
-        } catch (SQLException | IllegalAccessException e) {
-            System.out.println("Failure during update: " + e.getMessage());
-            return false;
+            assert retrieveParser != null;
+            return retrieveParser.count(modelClass, conditions, params);
+        } catch (Exception e) {
+            System.out.println("Failure during data counting: " + e.getMessage());
+            markRollbackOnly();
+            return -1;
         }
     }
 
     /**
-     * A method to delete data to the database.
-     * It uses the input class to determine what row in a table to delete.
+     * A method to check if any data in the database matches, without fetching more than one entry.
      *
-     * @param model a user desired {@code dataModel} object, must contain at least the primary key field initiated.
-     * @param <T> type of the data model to delete.
-     * @return {@code true} if delete successfully.<br>
-     *          {@code false} if delete failed. <br>
-     *          delete successful state is determined by the deleted row count.
-     */
-    public static <T> boolean delete(T model) {
-        initCheck();
+     * @param modelClass a user desired data model class extending {@link DataModel}.<br>
+     *                   Call ({@code DataModel.class}).
+     * @param conditions conditions on how to search, using {@code ?} as placeholders.
+     * @param params value of mentioned conditions in order.
+     * @param <T> type of the data model to search.
+     * @return {@code true} if an entry matches, {@code false} if none does or the query failed.
+     *
+     * @since 2.2
+     */
+    public static <T> boolean exists(Class<T> modelClass, String conditions, Object... params) {
+        initCheck();
+        RetrieveParser retrieveParser = null;
+
+        if (MongoDBQuery == null && SQLdBQuery != null) {
+            retrieveParser = new RetrieveParser(SQLdBQuery);
+        }
+        else if (MongoDBQuery != null && SQLdBQuery == null) {
+            retrieveParser = new RetrieveParser(MongoDBQuery);
+        }
+
+        try {
+            assert retrieveParser != null;
+            return retrieveParser.exists(modelClass, conditions, params);
+        } catch (Exception e) {
+            System.out.println("Failure during data search: " + e.getMessage());
+            markRollbackOnly();
+            return false;
+        }
+    }
+
+    /**
+     * A method to lazily get data from the database.<br>
+     * Entries are fetched through a database cursor and mapped one at a time while the stream is consumed,
+     * so large tables can be processed with constant memory.
+     * The stream holds a connection until it is exhausted or closed, use it in a try-with-resources block:
+     * <pre>
+     * {@code
+     * try (Stream<Example> examples = DBConnect.stream(Example.class, "balance > ?", 100)) {
+     *     examples.forEach(System.out::println);
+     * }
+     * }
+     * </pre>
+     *
+     * @param modelClass a user desired data model class extending {@link DataModel}.<br>
+     *                   Call ({@code DataModel.class}).
+     * @param conditions conditions on how to search, using {@code ?} as placeholders.
+     * @param params value of mentioned conditions in order.
+     * @param <T> type of the data model to retrieve.
+     * @return a lazy Stream of the desired object. If the query failed, an empty stream is returned.
+     *
+     * @since 2.2
+     */
+    public static <T> Stream<T> stream(Class<T> modelClass, String conditions, Object... params) {
+        return stream(modelClass, 0, conditions, params);
+    }
+
+    /**
+     * A method to lazily get data from the database, with a custom fetch size.
+     * See {@link #stream(Class, String, Object...)}.
+     *
+     * @param modelClass a user desired data model class extending {@link DataModel}.<br>
+     *                   Call ({@code DataModel.class}).
+     * @param batchSize number of entries fetched per round trip, {@code 0} for the default.<br>
+     *                  MySQL only uses it when {@link PoolConfig#setUseCursorFetch(boolean)} is enabled,
+     *                  otherwise rows are streamed one at a time.
+     * @param conditions conditions on how to search, using {@code ?} as placeholders.
+     * @param params value of mentioned conditions in order.
+     * @param <T> type of the data model to retrieve.
+     * @return a lazy Stream of the desired object. If the query failed, an empty stream is returned.
+     *
+     * @since 2.2
+     */
+    public static <T> Stream<T> stream(Class<T> modelClass, int batchSize, String conditions, Object... params) {
+        initCheck();
+        RetrieveParser retrieveParser = null;
+
+        if (MongoDBQuery == null && SQLdBQuery != null) {
+            retrieveParser = new RetrieveParser(SQLdBQuery);
+        }
+        else if (MongoDBQuery != null && SQLdBQuery == null) {
+            retrieveParser = new RetrieveParser(MongoDBQuery);
+        }
+
+        try {
+            assert retrieveParser != null;
+            return retrieveParser.stream(modelClass, batchSize, conditions, params);
+        } catch (Exception e) {
+            System.out.println("Failure during data streaming: " + e.getMessage());
+            markRollbackOnly();
+            return Stream.empty();
+        }
+    }
+
+    /**
+     * A method to get data from the database as a {@link Flow.Publisher}.<br>
+     * Each subscription runs the query on a virtual thread and reads entries from the cursor only as the subscriber requests them,
+     * so a slow subscriber never forces the whole result into memory.
+     * The cursor, and its connection on MySQL, is held until the subscription completes or is cancelled.
+     *
+     * @param modelClass a user desired data model class extending {@link DataModel}.<br>
+     *                   Call ({@code DataModel.class}).
+     * @param conditions conditions on how to search, using {@code ?} as placeholders.
+     * @param params value of mentioned conditions in order.
+     * @param <T> type of the data model to retrieve.
+     * @return a cold publisher of the desired object. Query failures are signaled with {@code onError}.
+     *
+     * @since 2.2
+     */
+    public static <T> Flow.Publisher<T> publish(Class<T> modelClass, String conditions, Object... params) {
+        initCheck();
+        RetrieveParser retrieveParser = null;
+
+        if (MongoDBQuery == null && SQLdBQuery != null) {
+            retrieveParser = new RetrieveParser(SQLdBQuery);
+        }
+        else if (MongoDBQuery != null && SQLdBQuery == null) {
+            retrieveParser = new RetrieveParser(MongoDBQuery);
+        }
+
+        assert retrieveParser != null;
+        RetrieveParser parser = retrieveParser;
+
+        return new QueryPublisher<>(() -> parser.stream(modelClass, 0, conditions, params), ASYNC_EXECUTOR);
+    }
+
+    /**
+     * A method to get one page of data from the database with keyset pagination.<br>
+     * Pages are ordered by the model's {@link dbConnect.models.autogen.PrimaryField} on MySQL
+     * and by {@code _id} on MongoDB, unless {@link PageRequest#orderBy(String)} is used.
+     * Each page continues after the last key of the previous one, so deep pages are as cheap as the first.
+     *
+     * @param modelClass a user desired data model class extending {@link DataModel}.<br>
+     *                   Call ({@code DataModel.class}).
+     * @param request size, filter and continuation token of the page.
+     * @param <T> type of the data model to retrieve.
+     * @return the page of desired objects. If the query failed, an empty last page is returned.
+     *
+     * @since 2.2
+     */
+    public static <T> Page<T> page(Class<T> modelClass, PageRequest request) {
+        initCheck();
+        RetrieveParser retrieveParser = null;
+
+        if (MongoDBQuery == null && SQLdBQuery != null) {
+            retrieveParser = new RetrieveParser(SQLdBQuery);
+        }
+        else if (MongoDBQuery != null && SQLdBQuery == null) {
+            retrieveParser = new RetrieveParser(MongoDBQuery);
+        }
+
+        try {
+            assert retrieveParser != null;
+            return retrieveParser.page(modelClass, request);
+        } catch (Exception e) {
+            System.out.println("Failure during page selection: " + e.getMessage());
+            markRollbackOnly();
+            return Page.empty();
+        }
+    }
+
+    /**
+     * A method to scan a whole table in parallel.<br>
+     * The key space of the model's {@link dbConnect.models.autogen.PrimaryField} (MySQL) or {@code _id} (MongoDB)
+     * is split into ranges, each streamed on its own connection or cursor by a bounded executor.
+     * On MySQL, at most as many partitions as the pool's maximum size run at the same time.
+     *
+     * @param modelClass a user desired data model class extending {@link DataModel}.<br>
+     *                   Call ({@code DataModel.class}).
+     * @param conditions conditions on how to search, using {@code ?} as placeholders, {@code null} to scan every entry.
+     * @param partitions number of key ranges scanned in parallel.
+     * @param consumer receiver of every entry. It is called concurrently from several threads and must be thread safe.
+     * @param params value of mentioned conditions in order.
+     * @param <T> type of the data model to scan.
+     * @return count of scanned entries, {@code -1} if the scan failed.
+     *
+     * @since 2.2
+     */
+    public static <T> long parallelScan(Class<T> modelClass, String conditions, int partitions, Consumer<? super T> consumer, Object... params) {
+        initCheck();
+        ScanParser scanParser = null;
+
+        if (MongoDBQuery == null && SQLdBQuery != null) {
+            scanParser = new ScanParser(SQLdBQuery);
+        }
+        else if (MongoDBQuery != null && SQLdBQuery == null) {
+            scanParser = new ScanParser(MongoDBQuery);
+        }
+
+        try {
+            assert scanParser != null;
+            return scanParser.parallelScan(modelClass, conditions, partitions, consumer, params);
+        } catch (Exception e) {
+            System.out.println("Failure during parallel scan: " + e.getMessage());
+            markRollbackOnly();
+            return -1;
+        }
+    }
+
+    /**
+     * A method to insert data to the database.
+     * It uses the input class to determine what table to push to.
+     *
+     * @param dataModelObject a user desired a data model object extending {@link DataModel}, carrying data that need to be inserted.
+     * @param <T> type of the data model to insert.
+     * @return {@code true} if insert successfully.<br>
+     *          {@code false} if insert failed. <br>
+     *          Insert successful state is determined by the inserted row count.
+     */
+    public static <T> boolean insert(T dataModelObject) {
+        initCheck();
+        InsertParser insertParser = null;
+
+        if (MongoDBQuery == null && SQLdBQuery != null) {
+            insertParser = new InsertParser(SQLdBQuery);
+        }
+        else if (MongoDBQuery != null && SQLdBQuery == null) {
+            insertParser = new InsertParser(MongoDBQuery);
+        }
+
+        try {
+            assert insertParser != null;
+            int successRow = insertParser.insert(dataModelObject);
+            return successRow > 0;
+        } catch (SQLException | IllegalAccessException e) {
+            System.out.println("Failure during insertion: " + e.getMessage());
+            markRollbackOnly();
+            return false;
+        } finally {
+            invalidateCache(dataModelObject, true);
+        }
+    }
+
+    /**
+     * A method to insert many data to the database in batches of {@code 1000} entries.
+     *
+     * @param dataModelObjects data model objects to insert, of one or several classes.
+     * @param <T> type of the data models to insert.
+     * @return number of entries inserted by each batch, see {@link #insertAll(Collection, int, boolean)}.
+     *
+     * @since 2.2
+     */
+    public static <T> BatchResult insertAll(Collection<T> dataModelObjects) {
+        return insertAll(dataModelObjects, 1000, true);
+    }
+
+    /**
+     * A method to insert many data to the database in batches.<br>
+     * Data is grouped by model class and every batch takes one round trip,
+     * using JDBC batching on MySQL and {@code insertMany} on MongoDB.
+     *
+     * @param dataModelObjects data model objects to insert, of one or several classes.
+     * @param batchSize number of entries sent per batch.
+     * @param ordered for MongoDB, {@code true} to stop a batch at its first failed entry, {@code false} to insert every other entry.
+     * @param <T> type of the data models to insert.
+     * @return number of entries inserted by each batch.<br>
+     *          An empty result if the insert failed, batches sent before the failure stay inserted.
+     *
+     * @since 2.2
+     */
+    public static <T> BatchResult insertAll(Collection<T> dataModelObjects, int batchSize, boolean ordered) {
+        initCheck();
+        InsertParser insertParser = null;
+
+        if (MongoDBQuery == null && SQLdBQuery != null) {
+            insertParser = new InsertParser(SQLdBQuery);
+        }
+        else if (MongoDBQuery != null && SQLdBQuery == null) {
+            insertParser = new InsertParser(MongoDBQuery);
+        }
+
+        try {
+            assert insertParser != null;
+            return insertParser.insertAll(dataModelObjects, batchSize, ordered);
+        } catch (Exception e) {
+            System.out.println("Failure during insertion: " + e.getMessage());
+            markRollbackOnly();
+            return BatchResult.empty();
+        } finally {
+            invalidateCaches(dataModelObjects);
+        }
+    }
+
+    /**
+     * A method to update data to the database.
+     * It uses the input class to determine what row in a table to update.
+     *
+     * @param model a user desired {@code dataModel} object, carrying data that need to be updated.
+     * @param <T> type of the data model to update.
+     * @return {@code true} if update successfully.<br>
+     *          {@code false} if update failed. <br>
+     *          Update successful state is determined by the updated row count,
+     *          a tracked model without changes is not sent and counts as updated, see {@link ChangeTracker}.
+     */
+    public static <T> boolean update(T model) {
+        initCheck();
+        UpdateParser updateParser = null;
+
+        if (MongoDBQuery == null && SQLdBQuery != null) {
+            updateParser = new UpdateParser(SQLdBQuery);
+        }
+        else if (MongoDBQuery != null && SQLdBQuery == null) {
+            updateParser = new UpdateParser(MongoDBQuery);
+        }
+
+        try {
+            assert updateParser != null;
+            int successUpdate = updateParser.update(model, (String) null);
+            return  successUpdate > 0;
+        } catch (SQLException | IllegalAccessException e) {
+            System.out.println("Failure during update: " + e.getMessage());
+            markRollbackOnly();
+            return false;
+        } finally {
+            invalidateCache(model, true);
+        }
+    }
+
+    /**
+     * A method to update data to the database.
+     * It uses the input class to determine what row in a table to update.
+     *
+     * @param model a user desired {@code dataModel} object, carrying data that need to be updated.
+     * @param conditions a string of conditions to perform update on.
+     * @param params value of each condition in order.
+     * @param <T> type of the data model to update.
+     * @return {@code true} if update successfully.<br>
+     *          {@code false} if update failed. <br>
+     *          Update successful state is determined by the updated row count.
+     */
+    public static <T> boolean update(T model, String conditions, Object... params) {
+        initCheck();
+        UpdateParser updateParser = null;
+
+        if (MongoDBQuery == null && SQLdBQuery != null) {
+            updateParser = new UpdateParser(SQLdBQuery);
+        }
+        else if (MongoDBQuery != null && SQLdBQuery == null) {
+            updateParser = new UpdateParser(MongoDBQuery);
+        }
+
+        try {
+            assert updateParser != null;
+            int successUpdate = updateParser.update(model, conditions, params);
+            return  successUpdate > 0;
+        } catch (SQLException | IllegalAccessException e) {
+            System.out.println("Failure during update: " + e.getMessage());
+            markRollbackOnly();
+            return false;
+        } finally {
+            invalidateCache(model, false);
+        }
+    }
+
+    /**
+     * A method to update the data matching a {@link Query} with the attributes of the model that have a value.
+     *
+     * @param model a user desired {@code dataModel} object, carrying data that need to be updated.
+     * @param query criteria of the data to update, its order and limit are not used.
+     * @param <T> type of the data model to update.
+     * @return {@code true} if update successfully.<br>
+     *          {@code false} if update failed. <br>
+     *          Update successful state is determined by the updated row count.
+     *
+     * @since 2.2
+     */
+    public static <T> boolean update(T model, Query query) {
+        initCheck();
+        UpdateParser updateParser = null;
+
+        if (MongoDBQuery == null && SQLdBQuery != null) {
+            updateParser = new UpdateParser(SQLdBQuery);
+        }
+        else if (MongoDBQuery != null && SQLdBQuery == null) {
+            updateParser = new UpdateParser(MongoDBQuery);
+        }
+
+        try {
+            assert updateParser != null;
+            int successUpdate = updateParser.update(model, query);
+            return successUpdate > 0;
+        } catch (SQLException | IllegalAccessException | IllegalArgumentException e) {
+            System.out.println("Failure during update: " + e.getMessage());
+            markRollbackOnly();
+            return false;
+        } finally {
+            invalidateCache(model, query == null);
+        }
+    }
+
+    /**
+     * A method to update many data by their key in batches of {@code 1000} entries.
+     *
+     * @param models data model objects to update, of one or several classes.
+     * @param <T> type of the data models to update.
+     * @return number of entries updated by each batch, see {@link #updateAll(Collection, int)}.
+     *
+     * @since 2.2
+     */
+    public static <T> BatchResult updateAll(Collection<T> models) {
+        return updateAll(models, 1000);
+    }
+
+    /**
+     * A method to update many data by their key in batches.<br>
+     * Every model sets its attributes that have a value, like {@link #update(Object)}.
+     * Data is grouped by model class and every batch takes one round trip,
+     * using JDBC batching on MySQL and {@code bulkWrite} on MongoDB.
+     *
+     * @param models data model objects to update, of one or several classes.
+     * @param batchSize number of entries sent per batch.
+     * @param <T> type of the data models to update.
+     * @return number of entries updated by each batch.<br>
+     *          An empty result if the update failed, batches sent before the failure stay updated.
+     *
+     * @since 2.2
+     */
+    public static <T> BatchResult updateAll(Collection<T> models, int batchSize) {
+        initCheck();
+        UpdateParser updateParser = null;
+
+        if (MongoDBQuery == null && SQLdBQuery != null) {
+            updateParser = new UpdateParser(SQLdBQuery);
+        }
+        else if (MongoDBQuery != null && SQLdBQuery == null) {
+            updateParser = new UpdateParser(MongoDBQuery);
+        }
+
+        try {
+            assert updateParser != null;
+            return updateParser.updateAll(models, batchSize);
+        } catch (Exception e) {
+            System.out.println("Failure during update: " + e.getMessage());
+            markRollbackOnly();
+            return BatchResult.empty();
+        } finally {
+            invalidateCaches(models);
+        }
+    }
+
+    /**
+     * A method to delete data to the database.
+     * It uses the input class to determine what row in a table to delete.
+     *
+     * @param model a user desired {@code dataModel} object, must contain at least the primary key field initiated.
+     * @param <T> type of the data model to delete.
+     * @return {@code true} if delete successfully.<br>
+     *          {@code false} if delete failed. <br>
+     *          delete successful state is determined by the deleted row count.
+     */
+    public static <T> boolean delete(T model) {
+        initCheck();
         DeleteParser deleteParser = null;
 
         if (MongoDBQuery == null && SQLdBQuery != null) {
@@ -299,11 +1176,14 @@ public class DBConnect {
 
         try {
             assert deleteParser != null;
-            int successRow = deleteParser.delete(model, null);
+            int successRow = deleteParser.delete(model, (String) null);
             return successRow > 0;
         } catch (SQLException | IllegalAccessException e) {
             System.out.println("Failure during deletion: " + e.getMessage());
+            markRollbackOnly();
             return false;
+        } finally {
+            invalidateCache(model, true);
         }
     }
 
@@ -335,8 +1215,352 @@ public class DBConnect {
             return successRow > 0;
         } catch (SQLException | IllegalAccessException e) {
             System.out.println("Failure during deletion: " + e.getMessage());
+            markRollbackOnly();
             return false;
+        } finally {
+            invalidateCache(model, false);
         }
     }
-}
 
+    /**
+     * A method to delete the data matching a {@link Query}.
+     *
+     * @param model a user desired {@code dataModel} object.
+     * @param query criteria of the data to delete, its order and limit are not used.
+     * @param <T> type of the data model to delete.
+     * @return {@code true} if delete successfully.<br>
+     *          {@code false} if delete failed. <br>
+     *          delete successful state is determined by the deleted row count.
+     *
+     * @since 2.2
+     */
+    public static <T> boolean delete(T model, Query query) {
+        initCheck();
+        DeleteParser deleteParser = null;
+
+        if (MongoDBQuery == null && SQLdBQuery != null) {
+            deleteParser = new DeleteParser(SQLdBQuery);
+        }
+        else if (MongoDBQuery != null && SQLdBQuery == null) {
+            deleteParser = new DeleteParser(MongoDBQuery);
+        }
+
+        try {
+            assert deleteParser != null;
+            int successRow = deleteParser.delete(model, query);
+            return successRow > 0;
+        } catch (SQLException | IllegalAccessException | IllegalArgumentException e) {
+            System.out.println("Failure during deletion: " + e.getMessage());
+            markRollbackOnly();
+            return false;
+        } finally {
+            invalidateCache(model, query == null);
+        }
+    }
+
+    /**
+     * A method to delete many data by their key in batches of {@code 1000} entries.
+     *
+     * @param models data model objects to delete, each with its key initiated.
+     * @param <T> type of the data models to delete.
+     * @return number of entries deleted by each batch, see {@link #deleteAll(Collection, int)}.
+     *
+     * @since 2.2
+     */
+    public static <T> BatchResult deleteAll(Collection<T> models) {
+        return deleteAll(models, 1000);
+    }
+
+    /**
+     * A method to delete many data by their key in batches.<br>
+     * Data is grouped by model class and every batch takes one round trip,
+     * using {@code delete ... where <primary key> in (...)} on MySQL and {@code bulkWrite} on MongoDB.
+     *
+     * @param models data model objects to delete, each with its key initiated.
+     * @param batchSize number of entries deleted per batch.
+     * @param <T> type of the data models to delete.
+     * @return number of entries deleted by each batch.<br>
+     *          An empty result if the delete failed, batches sent before the failure stay deleted.
+     *
+     * @since 2.2
+     */
+    public static <T> BatchResult deleteAll(Collection<T> models, int batchSize) {
+        initCheck();
+        DeleteParser deleteParser = null;
+
+        if (MongoDBQuery == null && SQLdBQuery != null) {
+            deleteParser = new DeleteParser(SQLdBQuery);
+        }
+        else if (MongoDBQuery != null && SQLdBQuery == null) {
+            deleteParser = new DeleteParser(MongoDBQuery);
+        }
+
+        try {
+            assert deleteParser != null;
+            return deleteParser.deleteAll(models, batchSize);
+        } catch (Exception e) {
+            System.out.println("Failure during deletion: " + e.getMessage());
+            markRollbackOnly();
+            return BatchResult.empty();
+        } finally {
+            invalidateCaches(models);
+        }
+    }
+
+    /**
+     * A method to insert data to the database, or update it when data with the same key exists.<br>
+     * It takes one round trip, using {@code insert ... on duplicate key update} on MySQL
+     * and {@code updateOne} with {@code upsert} on MongoDB.
+     *
+     * @param model a user desired {@code dataModel} object, must contain at least the key field initiated.
+     * @param <T> type of the data model to upsert.
+     * @return {@code true} if upsert successfully.<br>
+     *          {@code false} if upsert failed. <br>
+     *          Data already holding the same values counts as a success.
+     *
+     * @since 2.2
+     */
+    public static <T> boolean upsert(T model) {
+        initCheck();
+        UpsertParser upsertParser = null;
+
+        if (MongoDBQuery == null && SQLdBQuery != null) {
+            upsertParser = new UpsertParser(SQLdBQuery);
+        }
+        else if (MongoDBQuery != null && SQLdBQuery == null) {
+            upsertParser = new UpsertParser(MongoDBQuery);
+        }
+
+        try {
+            assert upsertParser != null;
+            upsertParser.upsert(model);
+            return true;
+        } catch (SQLException | IllegalAccessException | IllegalArgumentException e) {
+            System.out.println("Failure during upsert: " + e.getMessage());
+            markRollbackOnly();
+            return false;
+        } finally {
+            invalidateCache(model, true);
+        }
+    }
+
+    /**
+     * A method to upsert many data by their key in batches of {@code 1000} entries.
+     *
+     * @param models data model objects to upsert, of one or several classes.
+     * @param <T> type of the data models to upsert.
+     * @return number of entries affected by each batch, see {@link #upsertAll(Collection, int)}.
+     *
+     * @since 2.2
+     */
+    public static <T> BatchResult upsertAll(Collection<T> models) {
+        return upsertAll(models, 1000);
+    }
+
+    /**
+     * A method to upsert many data by their key in batches, like {@link #upsert(Object)}.<br>
+     * Data is grouped by model class and every batch takes one round trip,
+     * using JDBC batching on MySQL and {@code bulkWrite} on MongoDB.
+     *
+     * @param models data model objects to upsert, each with its key initiated.
+     * @param batchSize number of entries sent per batch.
+     * @param <T> type of the data models to upsert.
+     * @return number of entries affected by each batch, MySQL counts an updated entry twice.<br>
+     *          An empty result if the upsert failed, batches sent before the failure stay written.
+     *
+     * @since 2.2
+     */
+    public static <T> BatchResult upsertAll(Collection<T> models, int batchSize) {
+        initCheck();
+        UpsertParser upsertParser = null;
+
+        if (MongoDBQuery == null && SQLdBQuery != null) {
+            upsertParser = new UpsertParser(SQLdBQuery);
+        }
+        else if (MongoDBQuery != null && SQLdBQuery == null) {
+            upsertParser = new UpsertParser(MongoDBQuery);
+        }
+
+        try {
+            assert upsertParser != null;
+            return upsertParser.upsertAll(models, batchSize);
+        } catch (Exception e) {
+            System.out.println("Failure during upsert: " + e.getMessage());
+            markRollbackOnly();
+            return BatchResult.empty();
+        } finally {
+            invalidateCaches(models);
+        }
+    }
+
+    /**
+     * A method to run many operations as one transaction.<br>
+     * One connection, or one MongoDB {@code ClientSession}, is pinned to the current thread for the whole body,
+     * so its writes are committed once instead of once per operation, and are rolled back together on failure.
+     * Calls of {@link DBConnect} from the body's thread join the transaction and report their failures
+     * by their return value, a failed call also marks the transaction as rollback only.
+     * A nested call joins the outer one.
+     *
+     * @param work the body of the transaction, running its operations with the given {@link Transaction}.
+     * @return {@code true} if the transaction was committed.<br>
+     *          {@code false} if the body threw, the transaction was marked as rollback only or the commit failed,
+     *          the transaction is then rolled back.
+     *
+     * @since 2.2
+     */
+    public static boolean inTransaction(Transaction.Work work) {
+        initCheck();
+        Transaction current = Transaction.current();
+
+        if (current != null) {
+            try {
+                work.run(current);
+                return true;
+            } catch (Exception e) {
+                System.out.println("Failure during transaction: " + e.getMessage());
+                current.setRollbackOnly();
+                return false;
+            }
+        }
+
+        Transaction transaction = null;
+
+        if (MongoDBQuery == null && SQLdBQuery != null) {
+            transaction = new Transaction(SQLdBQuery);
+        }
+        else if (MongoDBQuery != null && SQLdBQuery == null) {
+            transaction = new Transaction(MongoDBQuery);
+        }
+
+        try {
+            assert transaction != null;
+            transaction.begin();
+        } catch (Exception e) {
+            System.out.println("Failure during transaction: " + e.getMessage());
+            return false;
+        }
+
+        try {
+            work.run(transaction);
+            return transaction.commit();
+        } catch (Exception e) {
+            System.out.println("Failure during transaction: " + e.getMessage());
+            return false;
+        } finally {
+            // Roll back whatever a failed body or commit left open
+            try {
+                transaction.rollback();
+            } catch (Exception e) {
+                System.out.println("Failure during rollback: " + e.getMessage());
+            }
+
+            // Results read by other threads before the commit may be cached again, so drop them once it is done
+            invalidateCaches(transaction.getKeyWrites());
+
+            for (Object model : transaction.getConditionWrites()) {
+                invalidateCache(model, false);
+            }
+        }
+    }
+
+    /**
+     * Asynchronous version of {@link #retrieve(Class, String, Object...)}.<br>
+     * The query runs on its own virtual thread, so thousands of concurrent queries do not need as many platform threads.
+     * The number of queries actually sent at once is still bounded by the connection pool.
+     *
+     * @param modelClass a user desired data model class extending {@link DataModel}.<br>
+     *                   Call ({@code DataModel.class}).
+     * @param conditions conditions on how to search, using {@code ?} as placeholders.
+     * @param params value of mentioned conditions in order.
+     * @param <T> type of the data model to retrieve.
+     * @return a future of the List of the desired object, completed exceptionally when DBConnect is not initialized.
+     *
+     * @since 2.2
+     */
+    public static <T> CompletableFuture<List<T>> retrieveAsync(Class<T> modelClass, String conditions, Object... params) {
+        return CompletableFuture.supplyAsync(() -> retrieve(modelClass, conditions, params), ASYNC_EXECUTOR);
+    }
+
+    /**
+     * Asynchronous version of {@link #retrieveAll(Class)}.
+     *
+     * @param modelClass a user desired data model class extending {@link DataModel}.<br>
+     *                   Call ({@code DataModel.class}).
+     * @param <T> type of the data model to retrieve.
+     * @return a future of the List of the desired object, completed exceptionally when DBConnect is not initialized.
+     *
+     * @since 2.2
+     */
+    public static <T> CompletableFuture<List<T>> retrieveAllAsync(Class<T> modelClass) {
+        return CompletableFuture.supplyAsync(() -> retrieveAll(modelClass), ASYNC_EXECUTOR);
+    }
+
+    /**
+     * Asynchronous version of {@link #insert(Object)}.
+     *
+     * @param dataModelObject a user desired a data model object extending {@link DataModel}, carrying data that need to be inserted.
+     * @param <T> type of the data model to insert.
+     * @return a future of the insert result, completed exceptionally when DBConnect is not initialized.
+     *
+     * @since 2.2
+     */
+    public static <T> CompletableFuture<Boolean> insertAsync(T dataModelObject) {
+        return CompletableFuture.supplyAsync(() -> insert(dataModelObject), ASYNC_EXECUTOR);
+    }
+
+    /**
+     * Asynchronous version of {@link #update(Object)}.
+     *
+     * @param model a user desired {@code dataModel} object, carrying data that need to be updated.
+     * @param <T> type of the data model to update.
+     * @return a future of the update result, completed exceptionally when DBConnect is not initialized.
+     *
+     * @since 2.2
+     */
+    public static <T> CompletableFuture<Boolean> updateAsync(T model) {
+        return CompletableFuture.supplyAsync(() -> update(model), ASYNC_EXECUTOR);
+    }
+
+    /**
+     * Asynchronous version of {@link #update(Object, String, Object...)}.
+     *
+     * @param model a user desired {@code dataModel} object, carrying data that need to be updated.
+     * @param conditions conditions on which rows to update, using {@code ?} as placeholders.
+     * @param params value of mentioned conditions in order.
+     * @param <T> type of the data model to update.
+     * @return a future of the update result, completed exceptionally when DBConnect is not initialized.
+     *
+     * @since 2.2
+     */
+    public static <T> CompletableFuture<Boolean> updateAsync(T model, String conditions, Object... params) {
+        return CompletableFuture.supplyAsync(() -> update(model, conditions, params), ASYNC_EXECUTOR);
+    }
+
+    /**
+     * Asynchronous version of {@link #delete(Object)}.
+     *
+     * @param model a user desired {@code dataModel} object to delete.
+     * @param <T> type of the data model to delete.
+     * @return a future of the delete result, completed exceptionally when DBConnect is not initialized.
+     *
+     * @since 2.2
+     */
+    public static <T> CompletableFuture<Boolean> deleteAsync(T model) {
+        return CompletableFuture.supplyAsync(() -> delete(model), ASYNC_EXECUTOR);
+    }
+
+    /**
+     * Asynchronous version of {@link #delete(Object, String, Object...)}.
+     *
+     * @param model a user desired {@code dataModel} object to delete.
+     * @param conditions conditions on which rows to delete, using {@code ?} as placeholders.
+     * @param params value of mentioned conditions in order.
+     * @param <T> type of the data model to delete.
+     * @return a future of the delete result, completed exceptionally when DBConnect is not initialized.
+     *
+     * @since 2.2
+     */
+    public static <T> CompletableFuture<Boolean> deleteAsync(T model, String conditions, Object... params) {
+        return CompletableFuture.supplyAsync(() -> delete(model, conditions, params), ASYNC_EXECUTOR);
+    }
+}
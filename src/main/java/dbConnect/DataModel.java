@@ -1,6 +1,7 @@
 package dbConnect;
 
 
+import dbConnect.execution.ModelDescriptor;
 import dbConnect.mapper.DocumentInterface;
 import dbConnect.mapper.ResultSetInterface;
 import dbConnect.models.enums.Collection;
@@ -8,6 +9,8 @@ import dbConnect.models.enums.Table;
 import dbConnect.models.meta.TableName;
 import dbConnect.models.meta.CollectionName;
 
+import java.util.Map;
+
 /**
  * An abstraction to provide standard for data models.
  * <p>
@@ -27,46 +30,34 @@ import dbConnect.models.meta.CollectionName;
  * @param <T> The class (data model) to be extended to.
  */
 public abstract class DataModel<T> {
+    /**
+     * Attribute values at the time the model was loaded or last updated, see {@link ChangeTracker}.
+     * {@code null} while the model's changes are not tracked.
+     */
+    transient Map<String, Object> changeSnapshot;
+
     /**
      * Get the table's name for the model.
      * This required at least annotation for the Class using {@link TableName} or fallback to old {@code getTable()} method.
+     * The name is resolved once per class and cached.
      * @return Name of the table that match the Database declared table.
      *
      * @since 2.1
      */
     public final String getTableName() {
-        Class<?> c = this.getClass();
-        TableName annotation = c.getAnnotation(TableName.class);
-        if (annotation != null) {
-            return annotation.value();
-        }
-
-        try {
-            return getTable().getName();
-        } catch (Exception e) {
-            throw new IllegalStateException("Model is required to have at least TableName annotation or getTable method");
-        }
+        return ModelDescriptor.of(this.getClass()).getTableName();
     }
 
     /**
      * Get the collection's name for the model.
      * This required at least annotation for the Class using {@link CollectionName} or fallback to old {@code getCollection()} method.
+     * The name is resolved once per class and cached.
      * @return Name of the table that match the Database declared table.
      *
      * @since 2.1
      */
     public final String getCollectionName() {
-        Class<?> c = this.getClass();
-        CollectionName annotation = c.getAnnotation(CollectionName.class);
-        if (annotation != null) {
-            return annotation.value();
-        }
-
-        try {
-            return getCollection().getName();
-        } catch (Exception e) {
-            throw new IllegalStateException("Model is required to have at least CollectionName annotation or getCollection method");
-        }
+        return ModelDescriptor.of(this.getClass()).getCollectionName();
     }
 
     /**
@@ -0,0 +1,56 @@
+package dbConnect;
+
+import java.util.List;
+
+/**
+ * One page of entries returned by {@link DBConnect#page(Class, PageRequest)}.
+ * @param <T> type of the data model.
+ * @since 2.2
+ */
+public class Page<T> {
+    private final List<T> items;
+    private final String nextToken;
+
+    /**
+     * Constructor of {@link Page}.
+     * @param items entries of the page.
+     * @param nextToken token continuing after the last entry, {@code null} when this is the last page.
+     */
+    public Page(List<T> items, String nextToken) {
+        this.items = List.copyOf(items);
+        this.nextToken = nextToken;
+    }
+
+    /**
+     * Get an empty last page.
+     * @return a page without entries or continuation.
+     * @param <T> type of the data model.
+     */
+    public static <T> Page<T> empty() {
+        return new Page<>(List.of(), null);
+    }
+
+    /**
+     * Get the entries of the page, ordered by the page key.
+     * @return unmodifiable list of entries.
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Get the opaque token of the next page, to pass to {@link PageRequest#after(String)}.
+     * @return the token, {@code null} when this is the last page.
+     */
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    /**
+     * Check if there are entries after this page.
+     * @return {@code true} if {@link #getNextToken()} can be used to request the next page.
+     */
+    public boolean hasNext() {
+        return nextToken != null;
+    }
+}
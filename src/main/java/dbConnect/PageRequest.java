@@ -0,0 +1,128 @@
+package dbConnect;
+
+/**
+ * <div>
+ * Request of one page for keyset (seek) pagination, see {@link DBConnect#page(Class, PageRequest)}.<br>
+ * Instead of skipping rows with an offset, a page starts right after the key of the previous page's last entry,
+ * so every page costs the same no matter how deep it is.
+ * </div>
+ * <div>
+ * This class contains:
+ * <ul>
+ *      <li>{@link #of(int)} request the first page.</li>
+ *      <li>{@link #after(String)} continue from the token of a previous {@link Page}.</li>
+ *      <li>{@link #where(String, Object...)} filter the entries with a condition.</li>
+ *      <li>{@link #orderBy(String)} use another attribute than the primary key as the page key.</li>
+ * </ul>
+ * </div>
+ * Example:
+ * <pre>
+ * {@code
+ * Page<Example> page = DBConnect.page(Example.class, PageRequest.of(500));
+ *
+ * while (page.hasNext()) {
+ *     page = DBConnect.page(Example.class, PageRequest.of(500).after(page.getNextToken()));
+ * }
+ * }
+ * </pre>
+ * @since 2.2
+ */
+public class PageRequest {
+    private final int size;
+    private String token;
+    private String key;
+    private String condition;
+    private Object[] params = new Object[0];
+
+    private PageRequest(int size) {
+        this.size = size;
+    }
+
+    /**
+     * Request the first page.
+     * @param size maximum number of entries in the page.
+     * @return a new instance of PageRequest.
+     * @throws IllegalArgumentException when the size is not positive.
+     */
+    public static PageRequest of(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive!");
+        }
+
+        return new PageRequest(size);
+    }
+
+    /**
+     * Continue after the last entry of a previous page.
+     * @param token the continuation token from {@link Page#getNextToken()}, {@code null} for the first page.
+     * @return the current instance of PageRequest.
+     */
+    public PageRequest after(String token) {
+        this.token = token;
+        return this;
+    }
+
+    /**
+     * Filter the entries of every page, using the same syntax as {@link DBConnect#retrieve(Class, String, Object...)}.
+     * The condition must stay the same between pages.
+     * @param condition conditions on how to search, using {@code ?} as placeholders.
+     * @param params value of mentioned conditions in order.
+     * @return the current instance of PageRequest.
+     */
+    public PageRequest where(String condition, Object... params) {
+        this.condition = condition;
+        this.params = params;
+        return this;
+    }
+
+    /**
+     * Order the pages by another attribute than the {@link dbConnect.models.autogen.PrimaryField} or {@code _id}.
+     * The attribute must have unique, non-null values, otherwise entries sharing a key between pages are skipped.
+     * @param key name of the attribute.
+     * @return the current instance of PageRequest.
+     */
+    public PageRequest orderBy(String key) {
+        this.key = key;
+        return this;
+    }
+
+    /**
+     * Get the maximum number of entries in the page.
+     * @return size of the page.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Get the continuation token.
+     * @return the token, {@code null} for the first page.
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * Get the attribute ordering the pages.
+     * @return name of the attribute, {@code null} for the model's primary key.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Get the condition filtering the entries.
+     * @return the condition, {@code null} when not filtered.
+     */
+    public String getCondition() {
+        return condition;
+    }
+
+    /**
+     * Get the values of the condition.
+     * @return value of the conditions in order.
+     */
+    public Object[] getParams() {
+        return params;
+    }
+}
@@ -0,0 +1,222 @@
+package dbConnect;
+
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <div>
+ * A query over the attributes of a data model, running the same definition on MySQL and MongoDB.
+ * </div>
+ * <div>
+ * This class contains:
+ * <ul>
+ *      <li>{@link #where(Criteria)} query the entries meeting a {@link Criteria}.</li>
+ *      <li>{@link #all()} query every entry.</li>
+ *      <li>{@link #orderBy(String, boolean)} order the entries.</li>
+ *      <li>{@link #limit(int)} return at most a number of entries.</li>
+ *      <li>{@link #getKey()} the parameterised form of the query, shared by every query of the same shape.</li>
+ * </ul>
+ * </div>
+ * Example:
+ * <pre>
+ * {@code
+ * Query query = Query.where(Criteria.eq("user_name", "Ben").and(Criteria.gt("balance", 1000)))
+ *         .orderBy("balance", false)
+ *         .limit(10);
+ *
+ * List<Example> examples = DBConnect.retrieve(Example.class, query);
+ * }
+ * </pre>
+ * Attribute names are checked against the model when the query runs.
+ * @since 2.2
+ */
+public class Query {
+    private final Criteria criteria;
+    private final List<String> orders = new ArrayList<>();
+    private int limit = 0;
+
+    // Rendered SQL of the criteria, built once
+    private String where;
+    private Object[] params;
+
+    private Query(Criteria criteria) {
+        this.criteria = criteria;
+    }
+
+    /**
+     * Query the entries meeting a criteria.
+     * @param criteria the condition of the query.
+     * @return a new instance of Query.
+     */
+    public static Query where(Criteria criteria) {
+        if (criteria == null) {
+            throw new IllegalArgumentException("Criteria must not be null, use Query.all() instead!");
+        }
+
+        return new Query(criteria);
+    }
+
+    /**
+     * Query every entry.
+     * @return a new instance of Query.
+     */
+    public static Query all() {
+        return new Query(null);
+    }
+
+    /**
+     * Order the entries by an attribute in ascending order, after any previous order.
+     * @param field name of the attribute.
+     * @return the current instance of Query.
+     */
+    public Query orderBy(String field) {
+        return orderBy(field, true);
+    }
+
+    /**
+     * Order the entries by an attribute, after any previous order.
+     * @param field name of the attribute.
+     * @param ascending {@code true} for ascending order, {@code false} for descending order.
+     * @return the current instance of Query.
+     */
+    public Query orderBy(String field, boolean ascending) {
+        if (field == null || field.isBlank()) {
+            throw new IllegalArgumentException("Order is missing its attribute name!");
+        }
+
+        orders.add(field + (ascending ? " asc" : " desc"));
+        return this;
+    }
+
+    /**
+     * Return at most a number of entries.
+     * Order and limit only apply to retrieves.
+     * @param limit maximum number of entries, {@code 0} for no limit.
+     * @return the current instance of Query.
+     */
+    public Query limit(int limit) {
+        if (limit < 0) throw new IllegalArgumentException("Limit must not be negative!");
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Get the criteria of the query.
+     * @return the criteria, {@code null} when the query matches every entry.
+     */
+    public Criteria getCriteria() {
+        return criteria;
+    }
+
+    /**
+     * Get the SQL condition of the query.
+     * @return the condition using {@code ?} for values, {@code null} when the query matches every entry.
+     */
+    public String getWhere() {
+        render();
+        return where;
+    }
+
+    /**
+     * Get the values of the SQL condition.
+     * @return the values of {@link #getWhere()} in order.
+     */
+    public Object[] getParams() {
+        render();
+        return params.clone();
+    }
+
+    /**
+     * Get the SQL order of the query.
+     * @return the attributes joined as {@code attribute asc|desc}, {@code null} when unordered.
+     */
+    public String getOrderBy() {
+        return orders.isEmpty() ? null : String.join(", ", orders);
+    }
+
+    /**
+     * Get the maximum number of entries.
+     * @return the limit, {@code 0} for no limit.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Get the parameterised form of the query, without its values.<br>
+     * Queries of the same shape share their key, so it can be used to key statement and result caches
+     * together with {@link #getParams()}.
+     * @return the key of the query.
+     */
+    public String getKey() {
+        StringBuilder key = new StringBuilder();
+        String condition = getWhere();
+
+        if (condition != null) key.append("where ").append(condition);
+        if (!orders.isEmpty()) key.append(key.isEmpty() ? "" : " ").append("order by ").append(getOrderBy());
+        if (limit > 0) key.append(key.isEmpty() ? "" : " ").append("limit ").append(limit);
+
+        return key.toString();
+    }
+
+    /**
+     * Get the MongoDB filter of the query.
+     * @return a new filter document, empty when the query matches every entry.
+     */
+    public Document toFilter() {
+        return criteria != null ? criteria.toFilter() : new Document();
+    }
+
+    /**
+     * Get the MongoDB sort of the query.
+     * @return a new sort document, empty when unordered.
+     */
+    public Document toSort() {
+        Document sort = new Document();
+
+        for (String order : orders) {
+            int space = order.lastIndexOf(' ');
+            sort.append(order.substring(0, space), order.endsWith(" asc") ? 1 : -1);
+        }
+
+        return sort;
+    }
+
+    /**
+     * Get the names of every attribute used by the query, to check them against the model.
+     * @return the attribute names.
+     */
+    public Set<String> getFields() {
+        Set<String> fields = new LinkedHashSet<>();
+
+        if (criteria != null) {
+            criteria.collectFields(fields);
+        }
+
+        for (String order : orders) {
+            fields.add(order.substring(0, order.lastIndexOf(' ')));
+        }
+
+        return fields;
+    }
+
+    private void render() {
+        if (params != null) return;
+
+        if (criteria == null) {
+            params = new Object[0];
+            return;
+        }
+
+        StringBuilder sql = new StringBuilder();
+        List<Object> values = new ArrayList<>();
+        criteria.appendSql(sql, values);
+
+        where = sql.toString();
+        params = values.toArray();
+    }
+}
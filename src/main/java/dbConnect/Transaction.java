@@ -0,0 +1,435 @@
+package dbConnect;
+
+import dbConnect.execution.DeleteParser;
+import dbConnect.execution.InsertParser;
+import dbConnect.execution.RetrieveParser;
+import dbConnect.execution.UpdateParser;
+import dbConnect.execution.UpsertParser;
+import dbConnect.query.DBInterface;
+import dbConnect.query.MongoDBQuery;
+import dbConnect.query.SqlDBQuery;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <div>
+ * A unit of work running every operation on one connection, or one MongoDB {@code ClientSession}, and committing them once.
+ * </div>
+ * <div>
+ * This class contains:
+ * <ul>
+ *      <li>{@link #retrieve(Class, String, Object...)}, {@link #retrieve(Class, Query)}, {@link #findById(Class, Object)}
+ *      and {@link #count(Class, String, Object...)} read data, including the uncommitted writes of the transaction.</li>
+ *      <li>{@link #insert(Object)}, {@link #update(Object)}, {@link #upsert(Object)}, {@link #delete(Object)}
+ *      and their overloads write data.</li>
+ *      <li>{@link #insertAll(Collection)}, {@link #updateAll(Collection)}, {@link #upsertAll(Collection)}
+ *      and {@link #deleteAll(Collection)} write many data in batches.</li>
+ *      <li>{@link #setRollbackOnly()} roll back the transaction instead of committing it.</li>
+ * </ul>
+ * </div>
+ * Unlike {@link DBConnect}, every operation throws on failure, which rolls back the whole transaction.
+ * Example:
+ * <pre>
+ * {@code
+ * boolean committed = DBConnect.inTransaction(tx -> {
+ *     Example from = tx.findById(Example.class, fromId);
+ *     Example to = tx.findById(Example.class, toId);
+ *
+ *     from.setBalance(from.getBalance() - 100);
+ *     to.setBalance(to.getBalance() + 100);
+ *
+ *     tx.updateAll(List.of(from, to));
+ * });
+ * }
+ * </pre>
+ * A transaction belongs to the thread running {@link DBConnect#inTransaction(Work)}, calls of {@link DBConnect}
+ * on that thread join it, while asynchronous and parallel operations run outside of it.
+ * @since 2.2
+ */
+public class Transaction {
+    /**
+     * Body of a transaction.
+     */
+    @FunctionalInterface
+    public interface Work {
+        /**
+         * Run the operations of the transaction.
+         * @param tx the transaction to run the operations with.
+         * @throws Exception any failure, which rolls back the transaction.
+         */
+        void run(Transaction tx) throws Exception;
+    }
+
+    private static final ThreadLocal<Transaction> CURRENT = new ThreadLocal<>();
+
+    private final DBInterface dbQuery;
+    private final RetrieveParser retrieveParser;
+    private final InsertParser insertParser;
+    private final UpdateParser updateParser;
+    private final UpsertParser upsertParser;
+    private final DeleteParser deleteParser;
+
+    // Written models, to drop their cached data once the transaction ends
+    private final List<Object> keyWrites = new ArrayList<>();
+    private final List<Object> conditionWrites = new ArrayList<>();
+
+    // Snapshots of tracked models written by the transaction, only kept once it commits
+    private final Map<Object, Map<String, Object>> snapshots = new IdentityHashMap<>();
+    private boolean rollbackOnly = false;
+
+    /**
+     * Constructor of a MySQL {@link Transaction}.
+     * @param sqlDBQuery the connection to run the transaction on.
+     */
+    Transaction(SqlDBQuery sqlDBQuery) {
+        this.dbQuery = sqlDBQuery;
+        this.retrieveParser = new RetrieveParser(sqlDBQuery);
+        this.insertParser = new InsertParser(sqlDBQuery);
+        this.updateParser = new UpdateParser(sqlDBQuery);
+        this.upsertParser = new UpsertParser(sqlDBQuery);
+        this.deleteParser = new DeleteParser(sqlDBQuery);
+    }
+
+    /**
+     * Constructor of a MongoDB {@link Transaction}.
+     * @param mongoDBQuery the client to run the transaction on.
+     */
+    Transaction(MongoDBQuery mongoDBQuery) {
+        this.dbQuery = mongoDBQuery;
+        this.retrieveParser = new RetrieveParser(mongoDBQuery);
+        this.insertParser = new InsertParser(mongoDBQuery);
+        this.updateParser = new UpdateParser(mongoDBQuery);
+        this.upsertParser = new UpsertParser(mongoDBQuery);
+        this.deleteParser = new DeleteParser(mongoDBQuery);
+    }
+
+    /**
+     * Get the transaction of the current thread.
+     * @return the active transaction, {@code null} when the thread has none.
+     */
+    static Transaction current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Start the transaction on the current thread.
+     * @throws SQLException when the transaction could not be started.
+     */
+    void begin() throws SQLException {
+        dbQuery.beginTransaction();
+        CURRENT.set(this);
+    }
+
+    /**
+     * Commit the transaction, or roll it back when it is marked as rollback only.
+     * @return {@code true} if the transaction was committed.
+     * @throws SQLException when the commit failed.
+     */
+    boolean commit() throws SQLException {
+        CURRENT.remove();
+
+        if (rollbackOnly) {
+            dbQuery.rollbackTransaction();
+            forgetChanges();
+            return false;
+        }
+
+        try {
+            dbQuery.commitTransaction();
+        } catch (SQLException | RuntimeException e) {
+            forgetChanges();
+            throw e;
+        }
+
+        for (Map.Entry<Object, Map<String, Object>> snapshot : snapshots.entrySet()) {
+            ChangeTracker.restore(snapshot.getKey(), snapshot.getValue());
+        }
+
+        return true;
+    }
+
+    /**
+     * Roll back the transaction, if it is still active on the current thread.
+     * @throws SQLException when the rollback failed.
+     */
+    void rollback() throws SQLException {
+        CURRENT.remove();
+
+        if (dbQuery.inTransaction()) {
+            dbQuery.rollbackTransaction();
+            forgetChanges();
+        }
+    }
+
+    // The database may not hold the written values, so the next update of these models sends every attribute
+    private void forgetChanges() {
+        snapshots.clear();
+
+        for (Object model : keyWrites) {
+            ChangeTracker.clear(model);
+        }
+    }
+
+    /**
+     * Record a model written by the transaction.
+     * @param model the written data model object.
+     * @param byKey whether the write targeted the model's own key instead of a condition.
+     */
+    void written(Object model, boolean byKey) {
+        (byKey ? keyWrites : conditionWrites).add(model);
+    }
+
+    /**
+     * Record the snapshot of a tracked model written by the transaction, kept once the transaction commits.
+     * @param model the written data model object.
+     * @param snapshot values of the model's attributes when it was written.
+     */
+    void written(Object model, Map<String, Object> snapshot) {
+        snapshots.put(model, snapshot);
+    }
+
+    /**
+     * Record models written by their key.
+     * @param models the written data model objects.
+     */
+    void written(Collection<?> models) {
+        keyWrites.addAll(models);
+    }
+
+    /**
+     * Get the models written by their key.
+     * @return the written data model objects.
+     */
+    List<Object> getKeyWrites() {
+        return keyWrites;
+    }
+
+    /**
+     * Get the models written by a condition.
+     * @return the written data model objects.
+     */
+    List<Object> getConditionWrites() {
+        return conditionWrites;
+    }
+
+    /**
+     * Mark the transaction to be rolled back once its body completes, instead of being committed.
+     */
+    public void setRollbackOnly() {
+        this.rollbackOnly = true;
+    }
+
+    /**
+     * Check if the transaction will be rolled back.
+     * @return {@code true} if the transaction is marked as rollback only.
+     */
+    public boolean isRollbackOnly() {
+        return rollbackOnly;
+    }
+
+    /**
+     * Get data within the transaction, see {@link DBConnect#retrieve(Class, String, Object...)}.
+     * @param modelClass a user desired data model class extending {@link DataModel}.
+     * @param conditions conditions on how to search, using {@code ?} as placeholders.
+     * @param params value of mentioned conditions in order.
+     * @param <T> type of the data model to retrieve.
+     * @return List of the desired object.
+     * @throws Exception when the query failed.
+     */
+    public <T> List<T> retrieve(Class<T> modelClass, String conditions, Object... params) throws Exception {
+        return retrieveParser.retrieve(modelClass, conditions, params);
+    }
+
+    /**
+     * Get data within the transaction, see {@link DBConnect#retrieve(Class, Query)}.
+     * @param modelClass a user desired data model class extending {@link DataModel}.
+     * @param query criteria, order and limit of the data, {@code null} for every entry.
+     * @param <T> type of the data model to retrieve.
+     * @return List of the desired object.
+     * @throws Exception when the query failed.
+     */
+    public <T> List<T> retrieve(Class<T> modelClass, Query query) throws Exception {
+        return retrieveParser.retrieve(modelClass, query);
+    }
+
+    /**
+     * Get one entry by its key within the transaction, see {@link DBConnect#findById(Class, Object)}.
+     * The entity cache is not used, so uncommitted writes of the transaction are seen.
+     * @param modelClass a user desired data model class extending {@link DataModel}.
+     * @param key value of the primary key or {@code _id}.
+     * @param <T> type of the data model to retrieve.
+     * @return the entry with the key, {@code null} if none is found.
+     * @throws Exception when the query failed.
+     */
+    public <T> T findById(Class<T> modelClass, Object key) throws Exception {
+        return retrieveParser.findById(modelClass, key);
+    }
+
+    /**
+     * Count data within the transaction, see {@link DBConnect#count(Class, String, Object...)}.
+     * @param modelClass a user desired data model class extending {@link DataModel}.
+     * @param conditions conditions on how to search, {@code null} to count every entry.
+     * @param params value of mentioned conditions in order.
+     * @param <T> type of the data model to count.
+     * @return count of matching entries.
+     * @throws Exception when the query failed.
+     */
+    public <T> long count(Class<T> modelClass, String conditions, Object... params) throws Exception {
+        return retrieveParser.count(modelClass, conditions, params);
+    }
+
+    /**
+     * Insert data within the transaction, see {@link DBConnect#insert(Object)}.
+     * @param model a data model object to insert.
+     * @param <T> type of the data model to insert.
+     * @return the count of inserted entries.
+     * @throws Exception when the insert failed.
+     */
+    public <T> int insert(T model) throws Exception {
+        written(model, true);
+        return insertParser.insert(model);
+    }
+
+    /**
+     * Update data by its key within the transaction, see {@link DBConnect#update(Object)}.
+     * @param model a data model object carrying data that need to be updated.
+     * @param <T> type of the data model to update.
+     * @return the count of updated entries.
+     * @throws Exception when the update failed.
+     */
+    public <T> int update(T model) throws Exception {
+        written(model, true);
+        return updateParser.update(model, (String) null);
+    }
+
+    /**
+     * Update data matching conditions within the transaction, see {@link DBConnect#update(Object, String, Object...)}.
+     * @param model a data model object carrying data that need to be updated.
+     * @param conditions a string of conditions to perform update on.
+     * @param params value of each condition in order.
+     * @param <T> type of the data model to update.
+     * @return the count of updated entries.
+     * @throws Exception when the update failed.
+     */
+    public <T> int update(T model, String conditions, Object... params) throws Exception {
+        written(model, false);
+        return updateParser.update(model, conditions, params);
+    }
+
+    /**
+     * Update data matching a query within the transaction, see {@link DBConnect#update(Object, Query)}.
+     * @param model a data model object carrying data that need to be updated.
+     * @param query criteria of the data to update.
+     * @param <T> type of the data model to update.
+     * @return the count of updated entries.
+     * @throws Exception when the update failed.
+     */
+    public <T> int update(T model, Query query) throws Exception {
+        written(model, query == null);
+        return updateParser.update(model, query);
+    }
+
+    /**
+     * Insert or update data by its key within the transaction, see {@link DBConnect#upsert(Object)}.
+     * @param model a data model object with its key initiated.
+     * @param <T> type of the data model to upsert.
+     * @return the count of affected entries.
+     * @throws Exception when the upsert failed.
+     */
+    public <T> int upsert(T model) throws Exception {
+        written(model, true);
+        return upsertParser.upsert(model);
+    }
+
+    /**
+     * Delete data by its key within the transaction, see {@link DBConnect#delete(Object)}.
+     * @param model a data model object with its key initiated.
+     * @param <T> type of the data model to delete.
+     * @return the count of deleted entries.
+     * @throws Exception when the delete failed.
+     */
+    public <T> int delete(T model) throws Exception {
+        written(model, true);
+        return deleteParser.delete(model, (String) null);
+    }
+
+    /**
+     * Delete data matching conditions within the transaction, see {@link DBConnect#delete(Object, String, Object...)}.
+     * @param model a data model object of the table to delete from.
+     * @param conditions a string of conditions to perform delete on.
+     * @param params value of each condition in order.
+     * @param <T> type of the data model to delete.
+     * @return the count of deleted entries.
+     * @throws Exception when the delete failed.
+     */
+    public <T> int delete(T model, String conditions, Object... params) throws Exception {
+        written(model, false);
+        return deleteParser.delete(model, conditions, params);
+    }
+
+    /**
+     * Delete data matching a query within the transaction, see {@link DBConnect#delete(Object, Query)}.
+     * @param model a data model object of the table to delete from.
+     * @param query criteria of the data to delete.
+     * @param <T> type of the data model to delete.
+     * @return the count of deleted entries.
+     * @throws Exception when the delete failed.
+     */
+    public <T> int delete(T model, Query query) throws Exception {
+        written(model, query == null);
+        return deleteParser.delete(model, query);
+    }
+
+    /**
+     * Insert many data in batches of {@code 1000} entries within the transaction, see {@link DBConnect#insertAll(Collection)}.
+     * @param models data model objects to insert, of one or several classes.
+     * @param <T> type of the data models to insert.
+     * @return number of entries inserted by each batch.
+     * @throws Exception when the insert failed.
+     */
+    public <T> BatchResult insertAll(Collection<T> models) throws Exception {
+        written(models);
+        return insertParser.insertAll(models, 1000, true);
+    }
+
+    /**
+     * Update many data by their key in batches of {@code 1000} entries within the transaction, see {@link DBConnect#updateAll(Collection)}.
+     * @param models data model objects to update, of one or several classes.
+     * @param <T> type of the data models to update.
+     * @return number of entries updated by each batch.
+     * @throws Exception when the update failed.
+     */
+    public <T> BatchResult updateAll(Collection<T> models) throws Exception {
+        written(models);
+        return updateParser.updateAll(models, 1000);
+    }
+
+    /**
+     * Upsert many data by their key in batches of {@code 1000} entries within the transaction, see {@link DBConnect#upsertAll(Collection)}.
+     * @param models data model objects to upsert, of one or several classes.
+     * @param <T> type of the data models to upsert.
+     * @return number of entries affected by each batch.
+     * @throws Exception when the upsert failed.
+     */
+    public <T> BatchResult upsertAll(Collection<T> models) throws Exception {
+        written(models);
+        return upsertParser.upsertAll(models, 1000);
+    }
+
+    /**
+     * Delete many data by their key in batches of {@code 1000} entries within the transaction, see {@link DBConnect#deleteAll(Collection)}.
+     * @param models data model objects to delete, each with its key initiated.
+     * @param <T> type of the data models to delete.
+     * @return number of entries deleted by each batch.
+     * @throws Exception when the delete failed.
+     */
+    public <T> BatchResult deleteAll(Collection<T> models) throws Exception {
+        written(models);
+        return deleteParser.deleteAll(models, 1000);
+    }
+}
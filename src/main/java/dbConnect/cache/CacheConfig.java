@@ -0,0 +1,91 @@
+package dbConnect.cache;
+
+/**
+ * Settings of the {@link ResultCache} of one data model.
+ * <p>
+ * Every setter returns the current instance, so a configuration can be written in one chain:
+ * <pre>
+ * {@code
+ * CacheConfig cacheConfig = new CacheConfig()
+ *         .setMaxEntries(500)
+ *         .setTtlMillis(30_000);
+ * }
+ * </pre>
+ * @since 2.2
+ */
+public class CacheConfig {
+    private int maxEntries = 1_000;
+    private long maxRows = 100_000;
+    private long ttlMillis = 60_000;
+
+    /**
+     * Default constructor of CacheConfig.
+     * <div>
+     * Default values:
+     * <ul>
+     *      <li>maximum entries: {@code 1000} results</li>
+     *      <li>maximum rows: {@code 100000} rows across all results</li>
+     *      <li>time to live: {@code 60} seconds</li>
+     * </ul>
+     * </div>
+     */
+    public CacheConfig() {}
+
+    /**
+     * Get the number of results kept before the least recently used one is evicted.
+     * @return maximum number of cached results.
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Set the number of results kept before the least recently used one is evicted.
+     * @param maxEntries maximum number of cached results, must be at least 1.
+     * @return the current instance of CacheConfig.
+     */
+    public CacheConfig setMaxEntries(int maxEntries) {
+        if (maxEntries < 1) throw new IllegalArgumentException("Maximum cache entries must be at least 1!");
+        this.maxEntries = maxEntries;
+        return this;
+    }
+
+    /**
+     * Get the number of rows kept across all results, bounding the memory of the cache.
+     * @return maximum number of cached rows.
+     */
+    public long getMaxRows() {
+        return maxRows;
+    }
+
+    /**
+     * Set the number of rows kept across all results, bounding the memory of the cache.
+     * A single result larger than this is never cached.
+     * @param maxRows maximum number of cached rows, must be at least 1.
+     * @return the current instance of CacheConfig.
+     */
+    public CacheConfig setMaxRows(long maxRows) {
+        if (maxRows < 1) throw new IllegalArgumentException("Maximum cache rows must be at least 1!");
+        this.maxRows = maxRows;
+        return this;
+    }
+
+    /**
+     * Get how long a result is served from the cache after it was fetched.
+     * @return time to live in milliseconds, {@code 0} means results only expire on writes and eviction.
+     */
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+
+    /**
+     * Set how long a result is served from the cache after it was fetched.
+     * @param ttlMillis time to live in milliseconds, {@code 0} to only expire on writes and eviction.
+     * @return the current instance of CacheConfig.
+     */
+    public CacheConfig setTtlMillis(long ttlMillis) {
+        if (ttlMillis < 0) throw new IllegalArgumentException("Cache time to live must not be negative!");
+        this.ttlMillis = ttlMillis;
+        return this;
+    }
+}
@@ -0,0 +1,125 @@
+package dbConnect.cache;
+
+/**
+ * <div>
+ * Cache of entries of one data model, keyed by their primary key or MongoDB {@code _id}.
+ * </div>
+ * <div>
+ * This class contains:
+ * <ul>
+ *      <li>Least recently used eviction, bounded by the maximum entries of {@link CacheConfig}.</li>
+ *      <li>Expiry of entries older than the time to live.</li>
+ *      <li>{@link #invalidate(Object)} dropping one entry, called when it is written by its key.</li>
+ *      <li>{@link #invalidateAll()} dropping every entry, called on writes by condition.</li>
+ *      <li>Hit, miss and eviction statistics, see {@link #getHitRate()}.</li>
+ * </ul>
+ * </div>
+ * Keys are compared with {@link Object#equals(Object)}, so they must have the type of the key attribute.
+ * Cached entries are shared between callers and must not be modified.
+ * @param <T> type of the data model.
+ * @since 2.2
+ */
+public final class EntityCache<T> {
+    private final LruCache<Object, T> cache;
+
+    /**
+     * Constructor of {@link EntityCache}.
+     * @param config settings of the cache, copied so later changes have no effect. Its maximum rows are not used.
+     */
+    public EntityCache(CacheConfig config) {
+        this.cache = new LruCache<>(config, Long.MAX_VALUE, entity -> 1);
+    }
+
+    /**
+     * Look up an entry.
+     * @param key primary key or {@code _id} of the entry.
+     * @return the cached entry, {@code null} on a miss.
+     */
+    public T get(Object key) {
+        return cache.get(key);
+    }
+
+    /**
+     * Get the version of the cached data, changed by every invalidation.<br>
+     * Read it before running a query and pass it to {@link #put(long, Object, Object)},
+     * so an entry fetched before a write is not stored after it.
+     * @return current generation of the cache.
+     */
+    public long getGeneration() {
+        return cache.getGeneration();
+    }
+
+    /**
+     * Store an entry.
+     * @param generation value of {@link #getGeneration()} before the query ran.
+     * @param key primary key or {@code _id} of the entry.
+     * @param entity the fetched entry.
+     */
+    public void put(long generation, Object key, T entity) {
+        cache.put(generation, key, entity);
+    }
+
+    /**
+     * Drop one entry.
+     * @param key primary key or {@code _id} of the written entry.
+     */
+    public void invalidate(Object key) {
+        cache.invalidate(key);
+    }
+
+    /**
+     * Drop every entry of the model.
+     */
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    /**
+     * Get the settings of the cache.
+     * @return a copy of the cache's settings.
+     */
+    public CacheConfig getConfig() {
+        return cache.getConfig();
+    }
+
+    /**
+     * Get the number of cached entries.
+     * @return current size of the cache, expired entries included until they are looked up or evicted.
+     */
+    public int getSize() {
+        return cache.size();
+    }
+
+    /**
+     * Get the number of lookups served from the cache.
+     * @return total cache hits.
+     */
+    public long getHits() {
+        return cache.getHits();
+    }
+
+    /**
+     * Get the number of lookups that had to query the database.
+     * @return total cache misses.
+     */
+    public long getMisses() {
+        return cache.getMisses();
+    }
+
+    /**
+     * Get the number of entries dropped to stay within the bounds of {@link CacheConfig}.
+     * Expired and invalidated entries are not counted.
+     * @return total evictions.
+     */
+    public long getEvictions() {
+        return cache.getEvictions();
+    }
+
+    /**
+     * Get the share of lookups served from the cache.
+     * @return hit rate between {@code 0} and {@code 1}, {@code 0} before the first lookup.
+     */
+    public double getHitRate() {
+        return cache.getHitRate();
+    }
+}
@@ -0,0 +1,181 @@
+package dbConnect.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * Bounded least recently used map shared by {@link ResultCache} and {@link EntityCache}.<br>
+ * Entries expire after the time to live of the {@link CacheConfig} and every value has a weight,
+ * evicting the least recently used entries while the total weight is above the weight limit.
+ * @param <K> type of the keys.
+ * @param <V> type of the values.
+ * @since 2.2
+ */
+final class LruCache<K, V> {
+    private final CacheConfig config;
+    private final long maxWeight;
+    private final ToLongFunction<V> weigher;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight = 0;
+    private long generation = 0;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructor of {@link LruCache}.
+     * @param config settings of the cache, copied so later changes have no effect.
+     * @param maxWeight maximum total weight of the values.
+     * @param weigher weight of a value.
+     */
+    LruCache(CacheConfig config, long maxWeight, ToLongFunction<V> weigher) {
+        this.config = copy(config);
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    static CacheConfig copy(CacheConfig config) {
+        return new CacheConfig()
+                .setMaxEntries(config.getMaxEntries())
+                .setMaxRows(config.getMaxRows())
+                .setTtlMillis(config.getTtlMillis());
+    }
+
+    CacheConfig getConfig() {
+        return copy(config);
+    }
+
+    /**
+     * Look up a value, counting a hit or a miss.
+     * @return the value, {@code null} when it is missing or expired.
+     */
+    V get(K key) {
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+
+            if (entry != null && config.getTtlMillis() > 0
+                    && System.currentTimeMillis() - entry.createdMillis() >= config.getTtlMillis()) {
+                remove(key);
+                entry = null;
+            }
+
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+
+            hits.increment();
+            return entry.value();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the version of the cached data, changed by every {@link #invalidate(Object)} and {@link #clear()}.
+     */
+    long getGeneration() {
+        lock.lock();
+        try {
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Store a value unless the cache was invalidated since {@code generation} was read,
+     * then evict the least recently used entries above the bounds.
+     */
+    void put(long generation, K key, V value) {
+        long valueWeight = weigher.applyAsLong(value);
+        if (valueWeight > maxWeight) return;
+
+        lock.lock();
+        try {
+            // A write happened while the value was fetched
+            if (generation != this.generation) return;
+
+            remove(key);
+            entries.put(key, new Entry<>(value, valueWeight, System.currentTimeMillis()));
+            weight += valueWeight;
+
+            Iterator<Entry<V>> eldest = entries.values().iterator();
+
+            while ((entries.size() > config.getMaxEntries() || weight > maxWeight) && eldest.hasNext()) {
+                weight -= eldest.next().weight();
+                eldest.remove();
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drop one entry.
+     */
+    void invalidate(K key) {
+        lock.lock();
+        try {
+            generation++;
+            remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drop every entry.
+     */
+    void clear() {
+        lock.lock();
+        try {
+            generation++;
+            entries.clear();
+            weight = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    long getEvictions() {
+        return evictions.sum();
+    }
+
+    double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    private void remove(K key) {
+        Entry<V> removed = entries.remove(key);
+        if (removed != null) weight -= removed.weight();
+    }
+
+    private record Entry<V>(V value, long weight, long createdMillis) {}
+}
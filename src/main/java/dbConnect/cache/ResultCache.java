@@ -0,0 +1,152 @@
+package dbConnect.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <div>
+ * Cache of retrieve results of one data model, keyed by the condition and its parameters.
+ * </div>
+ * <div>
+ * This class contains:
+ * <ul>
+ *      <li>Least recently used eviction, bounded by entries and by rows, see {@link CacheConfig}.</li>
+ *      <li>Expiry of results older than the time to live.</li>
+ *      <li>{@link #invalidate()} dropping every result, called on each write of the model.</li>
+ *      <li>Hit, miss and eviction statistics, see {@link #getHitRate()}.</li>
+ * </ul>
+ * </div>
+ * Cached lists are unmodifiable, but their entries are shared between callers and must not be modified.
+ * @param <T> type of the data model.
+ * @since 2.2
+ */
+public final class ResultCache<T> {
+    private final LruCache<Key, List<T>> cache;
+
+    /**
+     * Constructor of {@link ResultCache}.
+     * @param config settings of the cache, copied so later changes have no effect.
+     */
+    public ResultCache(CacheConfig config) {
+        this.cache = new LruCache<>(config, config.getMaxRows(), List::size);
+    }
+
+    /**
+     * Look up the result of a retrieve.
+     * @param condition the condition of the retrieve, {@code null} for every entry.
+     * @param params parameters of the condition in order.
+     * @return the cached result, {@code null} on a miss.
+     */
+    public List<T> get(String condition, Object... params) {
+        return cache.get(new Key(condition, params));
+    }
+
+    /**
+     * Get the version of the cached data, changed by every {@link #invalidate()}.<br>
+     * Read it before running a query and pass it to {@link #put(long, List, String, Object...)},
+     * so a result fetched before a write is not stored after it.
+     * @return current generation of the cache.
+     */
+    public long getGeneration() {
+        return cache.getGeneration();
+    }
+
+    /**
+     * Store the result of a retrieve.
+     * @param generation value of {@link #getGeneration()} before the query ran.
+     * @param result the fetched entries.
+     * @param condition the condition of the retrieve, {@code null} for every entry.
+     * @param params parameters of the condition in order.
+     * @return the unmodifiable result as it is cached.
+     */
+    public List<T> put(long generation, List<T> result, String condition, Object... params) {
+        List<T> cached = Collections.unmodifiableList(new ArrayList<>(result));
+        cache.put(generation, new Key(condition, params), cached);
+        return cached;
+    }
+
+    /**
+     * Drop every cached result of the model.
+     */
+    public void invalidate() {
+        cache.clear();
+    }
+
+    /**
+     * Get the settings of the cache.
+     * @return a copy of the cache's settings.
+     */
+    public CacheConfig getConfig() {
+        return cache.getConfig();
+    }
+
+    /**
+     * Get the number of cached results.
+     * @return current size of the cache, expired results included until they are looked up or evicted.
+     */
+    public int getSize() {
+        return cache.size();
+    }
+
+    /**
+     * Get the number of retrieves served from the cache.
+     * @return total cache hits.
+     */
+    public long getHits() {
+        return cache.getHits();
+    }
+
+    /**
+     * Get the number of retrieves that had to query the database.
+     * @return total cache misses.
+     */
+    public long getMisses() {
+        return cache.getMisses();
+    }
+
+    /**
+     * Get the number of results dropped to stay within the bounds of {@link CacheConfig}.
+     * Expired and invalidated results are not counted.
+     * @return total evictions.
+     */
+    public long getEvictions() {
+        return cache.getEvictions();
+    }
+
+    /**
+     * Get the share of retrieves served from the cache.
+     * @return hit rate between {@code 0} and {@code 1}, {@code 0} before the first lookup.
+     */
+    public double getHitRate() {
+        return cache.getHitRate();
+    }
+
+    /**
+     * Key of a retrieve, array parameters are compared by content.
+     */
+    private static final class Key {
+        private final String condition;
+        private final Object[] params;
+        private final int hash;
+
+        private Key(String condition, Object[] params) {
+            this.condition = condition;
+            this.params = params == null ? new Object[0] : params.clone();
+            this.hash = 31 * (condition == null ? 0 : condition.hashCode()) + Arrays.deepHashCode(this.params);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && hash == key.hash
+                    && (condition == null ? key.condition == null : condition.equals(key.condition))
+                    && Arrays.deepEquals(params, key.params);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
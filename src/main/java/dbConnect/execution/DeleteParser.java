@@ -1,19 +1,22 @@
 package dbConnect.execution;
 
-import dbConnect.DataModel;
-import dbConnect.Utility;
-import dbConnect.models.constrain.MongoOnly;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.WriteModel;
+import dbConnect.BatchResult;
+import dbConnect.Query;
 import dbConnect.query.MongoDBQuery;
 import dbConnect.query.SqlDBQuery;
 import dbConnect.models.autogen.PrimaryField;
 import org.bson.Document;
-import org.bson.types.ObjectId;
 
-import java.lang.reflect.Field;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 /**
- * Handle delete query parsing using reflection.
+ * Handle delete query parsing using the model's {@link ModelDescriptor}.
  */
 public class DeleteParser {
     private final SqlDBQuery sqlDBQuery;
@@ -59,6 +62,38 @@ public class DeleteParser {
         }
     }
 
+    /**
+     * A method to delete the entries matching a {@link Query}.
+     * @param model an instance of a Data Model.
+     * @param query the entries to delete, its order and limit are not used. {@code null} deletes the model's own entry by its key.
+     * @return number of deleted entries.
+     * @param <T> a data model class extending {@link dbConnect.DataModel}
+     * @throws IllegalAccessException when mismatch between scope and inner method call happened.
+     * @throws IllegalArgumentException when the query has no criteria or unknown attributes.
+     * @throws SQLException occurred when SQL error happened.
+     * @since 2.2
+     */
+    public <T> int delete(T model, Query query) throws IllegalAccessException, IllegalArgumentException, SQLException {
+        if (query == null) {
+            return delete(model, (String) null);
+        }
+
+        if (query.getCriteria() == null) {
+            throw new IllegalArgumentException("Query of a delete must have a criteria!");
+        }
+
+        ModelDescriptor descriptor = ModelDescriptor.of(model.getClass());
+        descriptor.checkFields(query.getFields());
+
+        if (mongoDBQuery == null && sqlDBQuery != null) {
+            return sqlDBQuery.setDataSQL("delete from " + descriptor.getTableName() + " where " + query.getWhere(), query.getParams());
+        } else if (sqlDBQuery == null && mongoDBQuery != null) {
+            return mongoDBQuery.setMongoData(descriptor.getCollectionName()).delete(query.toFilter()).count();
+        } else {
+            return -1;
+        }
+    }
+
     /**
      * A method invokes {@link SqlDBQuery#setDataSQL(String, Object...)}
      * to delete data based on {@code Object} model's primary key attribute.
@@ -74,33 +109,33 @@ public class DeleteParser {
     private <T> int deleteSQL(T model, String condition, Object... params) throws IllegalAccessException, IllegalArgumentException, SQLException {
         if (sqlDBQuery == null) throw new IllegalAccessException("Calling an SQL method without an SQL scope!");
 
-        Class<?> modelClass = model.getClass();
+        ModelDescriptor descriptor = ModelDescriptor.of(model.getClass());
 
-        if (!DataModel.class.isAssignableFrom(modelClass)) {
-            System.out.println("Warning: '" + modelClass.getName() + " does not extend DataModel, which could lead to missing essential methods.");
-        }
-
-        String tableName = ((DataModel<?>) model).getTableName();
+        String tableName = descriptor.getTableName();
         String query;
 
         if (condition != null && !condition.isBlank()) {
-            query = "delete from" + tableName + " where " + condition;
+            query = "delete from " + tableName + " where " + condition;
         } else {
-            Field primaryField = null;
-            for (Field field : modelClass.getDeclaredFields()) {
-                if (field.isAnnotationPresent(PrimaryField.class)) {
-                    primaryField = field;
-                    break;
-                }
-            }
+            FieldDescriptor primaryField = descriptor.getPrimaryField();
 
             if (primaryField == null) {
                 throw new IllegalArgumentException("Model is missing a primary field!");
             }
 
-            params[0] = getPrimaryKeyValue(model, modelClass);
+            params = new Object[] { primaryField.get(model) };
+
+            ModelBinder<?> binder = descriptor.getBinder();
+            query = binder != null ? binder.getDeleteStatement() : null;
+
+            if (query == null) {
+                SqlTextCache cache = descriptor.getSqlTextCache();
+                query = cache.get(SqlTextCache.Operation.DELETE_BY_KEY, 0);
 
-            query = "delete from " + tableName + " where " + primaryField.getName() + " = ?";
+                if (query == null) {
+                    query = cache.put(SqlTextCache.Operation.DELETE_BY_KEY, 0, "delete from " + tableName + " where " + primaryField.getName() + " = ?");
+                }
+            }
         }
 
         return sqlDBQuery.setDataSQL(query, params);
@@ -109,37 +144,28 @@ public class DeleteParser {
     private <T> int deleteMongo(T model, String condition, Object... params) throws IllegalAccessException {
         if (mongoDBQuery == null) throw new IllegalAccessException("Calling a MongoDB method without a MongoDB scope!");
 
-        Class<?> modelClass = model.getClass();
-
-        if (!DataModel.class.isAssignableFrom(modelClass)) {
-            System.out.println("Warning: '" + modelClass.getName() + " does not extend DataModel, which could lead to missing essential methods.");
-        }
+        ModelDescriptor descriptor = ModelDescriptor.of(model.getClass());
 
-        String collectionName = ((DataModel<?>) model).getCollectionName();
+        String collectionName = descriptor.getCollectionName();
         Document filter;
 
         if (condition != null && !condition.isBlank()) {
-            int filterArgCount = Utility.countFilterParams(condition);
+            FilterTemplate template = FilterTemplate.of(condition);
+            int filterArgCount = template.getParamCount();
 
             if (params.length < filterArgCount) {
                 throw new IllegalArgumentException("Not enough filter parameters for declared filter argument");
             }
 
-            filter = Document.parse(Utility.appendPlaceholderValue(condition, params, filterArgCount));
+            filter = template.bind(params);
         } else {
-            Field _idField = null;
-            for (Field field : modelClass.getDeclaredFields()) {
-                if (field.isAnnotationPresent(MongoOnly.class) && field.getName().equals("_id")) {
-                    _idField = field;
-                    break;
-                }
-            }
+            FieldDescriptor _idField = descriptor.getIdField();
 
             if (_idField == null) {
                 throw new IllegalArgumentException("Model is missing an _id field!");
             }
 
-            ObjectId idKeyValue = (ObjectId) _idField.get(model);
+            Object idKeyValue = _idField.get(model);
 
             if (idKeyValue == null) {
                 throw new IllegalArgumentException("Missing value for _id key!");
@@ -151,21 +177,72 @@ public class DeleteParser {
         return mongoDBQuery.setMongoData(collectionName).delete(filter).count();
     }
 
-    private static <T> Object getPrimaryKeyValue(T model, Class<?> modelClass) throws IllegalAccessException {
-        Field primaryField = null;
-        for (Field field : modelClass.getDeclaredFields()) {
-            if (field.isAnnotationPresent(PrimaryField.class)) {
-                primaryField = field;
-                break;
-            }
+    /**
+     * A method to delete many models by their key in batches, grouped by their class.
+     * MySQL deletes each batch with one {@code delete ... where <primary key> in (...)} statement
+     * and MongoDB sends {@code bulkWrite} requests of {@code DeleteOneModel}.
+     * @param models instances of Data Models, of one or several classes.
+     * @param batchSize number of entries deleted per batch.
+     * @return number of entries deleted by each batch.
+     * @param <T> a data model class extending {@link dbConnect.DataModel}
+     * @throws IllegalAccessException when a key attribute can not be read.
+     * @throws IllegalArgumentException when the batch size is not positive, a model is {@code null},
+     * or a model is missing its key or the key attribute itself.
+     * @throws SQLException occurred when SQL error happened.
+     * @since 2.2
+     */
+    public <T> BatchResult deleteAll(Collection<T> models, int batchSize) throws IllegalAccessException, IllegalArgumentException, SQLException {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive!");
         }
 
-        if (primaryField == null) {
-            throw new IllegalArgumentException("Model is missing a primary field!");
+        List<Integer> counts = new ArrayList<>();
+
+        for (Map.Entry<Class<?>, List<T>> group : ModelDescriptor.groupByClass(models).entrySet()) {
+            ModelDescriptor descriptor = ModelDescriptor.of(group.getKey());
+            boolean sql = mongoDBQuery == null && sqlDBQuery != null;
+            FieldDescriptor keyField = sql ? descriptor.getPrimaryField() : descriptor.getIdField();
+
+            if (keyField == null) {
+                throw new IllegalArgumentException(sql ? "Model is missing a primary field!" : "Model is missing an _id field!");
+            }
+
+            List<Object> keys = new ArrayList<>(group.getValue().size());
+
+            for (T model : group.getValue()) {
+                Object key = keyField.get(model);
+
+                if (key == null) {
+                    throw new IllegalArgumentException("Missing value for " + keyField.getName() + " key!");
+                }
+
+                keys.add(key);
+            }
+
+            for (int start = 0; start < keys.size(); start += batchSize) {
+                List<Object> batch = keys.subList(start, Math.min(keys.size(), start + batchSize));
+
+                if (sql) {
+                    StringBuilder query = new StringBuilder("delete from ").append(descriptor.getTableName())
+                            .append(" where ").append(keyField.getName()).append(" in (");
+
+                    for (int i = 0; i < batch.size(); i++) {
+                        query.append(i > 0 ? ", ?" : "?");
+                    }
+
+                    counts.add(sqlDBQuery.setDataSQL(query.append(')').toString(), batch.toArray()));
+                } else if (mongoDBQuery != null) {
+                    List<WriteModel<Document>> requests = new ArrayList<>(batch.size());
+
+                    for (Object key : batch) {
+                        requests.add(new DeleteOneModel<>(new Document(keyField.getName(), key)));
+                    }
+
+                    counts.add(mongoDBQuery.setMongoData(descriptor.getCollectionName()).bulkWrite(requests, true).count());
+                }
+            }
         }
 
-        // Get primary key value
-        primaryField.setAccessible(true);
-        return primaryField.get(model);
+        return new BatchResult(counts.stream().mapToInt(Integer::intValue).toArray());
     }
 }
@@ -0,0 +1,17 @@
+package dbConnect.execution;
+
+/**
+ * An interface that reads one attribute of a data model without reflection.
+ * Implementations are generated at compile time by the DBConnector annotation processor.
+ * @see ModelBinder
+ * @since 2.2
+ */
+@FunctionalInterface
+public interface FieldAccessor {
+    /**
+     * Read the attribute's value.
+     * @param model an instance of the data model.
+     * @return value of the attribute as an {@code object}.
+     */
+    Object get(Object model);
+}
@@ -0,0 +1,195 @@
+package dbConnect.execution;
+
+import dbConnect.models.autogen.AutomaticField;
+import dbConnect.models.autogen.PrimaryField;
+import dbConnect.models.constrain.MaxLength;
+import dbConnect.models.constrain.MongoOnly;
+import dbConnect.models.constrain.MySQLOnly;
+import dbConnect.models.notnull.NotNullField;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * Immutable metadata of one attribute of a data model, read once from its annotations.
+ * <p>
+ * The value is read through a generated {@link FieldAccessor} when the model has a {@link ModelBinder},
+ * otherwise through a {@link MethodHandle} resolved once per field, which skips the access checks of {@link Field#get(Object)}.
+ * The handle is not a constant at the parsers' shared call sites, so unlike a {@code static final} handle
+ * or a generated accessor it is not folded into the caller.
+ * @see ModelDescriptor
+ * @since 2.2
+ */
+public final class FieldDescriptor {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final Field field;
+    private final MethodHandle getter;
+    private final FieldAccessor accessor;
+    private final String name;
+    private final boolean primary;
+    private final boolean automatic;
+    private final boolean mongoOnly;
+    private final boolean mySQLOnly;
+    private final boolean notNull;
+    private final int maxLength;
+
+    /**
+     * Constructor of {@link FieldDescriptor}.
+     * @param field an attribute extracted from a model, it is made accessible.
+     * @param accessor a generated reader of the attribute, {@code null} to read it with a method handle.
+     */
+    FieldDescriptor(Field field, FieldAccessor accessor) {
+        field.setAccessible(true);
+
+        try {
+            this.getter = MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Field: " + field.getName() + " of '" + field.getDeclaringClass().getName() + "' is not accessible.", e);
+        }
+
+        this.field = field;
+        this.accessor = accessor;
+        this.name = field.getName();
+        this.primary = field.isAnnotationPresent(PrimaryField.class);
+        this.automatic = field.isAnnotationPresent(AutomaticField.class);
+        this.mongoOnly = field.isAnnotationPresent(MongoOnly.class);
+        this.mySQLOnly = field.isAnnotationPresent(MySQLOnly.class);
+        this.notNull = field.isAnnotationPresent(NotNullField.class);
+
+        MaxLength length = field.getAnnotation(MaxLength.class);
+        this.maxLength = length != null ? length.value() : -1;
+    }
+
+    /**
+     * Get the raw value of this attribute.
+     * @param model an instance of the data model.
+     * @return value of the field as an {@code object}.
+     * @throws IllegalAccessException when failed to extract field's details.
+     */
+    public Object get(Object model) throws IllegalAccessException {
+        if (accessor != null) {
+            return accessor.get(model);
+        }
+
+        try {
+            return (Object) getter.invokeExact(model);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to read field: " + name, e);
+        }
+    }
+
+    /**
+     * Get the value of this attribute with the model's constraints applied.
+     * A {@link NotNullField} value must be present and a {@link MaxLength} string is trimmed to its limit.
+     * @param model an instance of the data model.
+     * @return value of the field as an {@code object}.
+     * @throws IllegalAccessException when failed to extract field's details.
+     * @throws IllegalArgumentException when a constraint of the field is violated.
+     */
+    public Object getValue(Object model) throws IllegalAccessException {
+        return constrain(get(model));
+    }
+
+    /**
+     * Apply the model's constraints to a raw value of this attribute, see {@link #getValue(Object)}.
+     * @param fieldValue the raw value, as returned by {@link #get(Object)}.
+     * @return the value to write.
+     * @throws IllegalArgumentException when a constraint of the field is violated.
+     */
+    Object constrain(Object fieldValue) {
+        // Verify value for not null field
+        if (notNull && fieldValue == null) {
+            throw new IllegalArgumentException("Missing value for field: " + name + " with not null annotation");
+        }
+
+        // Trim string that passes annotation's limit
+        if (maxLength >= 0) {
+            if (fieldValue instanceof String stringValue) {
+                if (stringValue.length() > maxLength) {
+                    fieldValue = stringValue.substring(0, maxLength);
+                }
+            } else {
+                throw new IllegalArgumentException("Field: " + name + " with max length annotation is not a String!");
+            }
+        }
+
+        return fieldValue;
+    }
+
+    /**
+     * Get the reflected field.
+     * @return the field, already made accessible.
+     */
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * Get the attribute's name, which is also the column's or the document key's name.
+     * @return name of the attribute.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the declared type of the attribute.
+     * @return type of the attribute.
+     */
+    public Class<?> getType() {
+        return field.getType();
+    }
+
+    /**
+     * Check for {@link PrimaryField} annotation.
+     * @return {@code true} if this is the primary key field.
+     */
+    public boolean isPrimary() {
+        return primary;
+    }
+
+    /**
+     * Check for {@link AutomaticField} annotation.
+     * @return {@code true} if the value is managed by the database.
+     */
+    public boolean isAutomatic() {
+        return automatic;
+    }
+
+    /**
+     * Check for {@link MongoOnly} annotation.
+     * @return {@code true} if the attribute only exists in MongoDB.
+     */
+    public boolean isMongoOnly() {
+        return mongoOnly;
+    }
+
+    /**
+     * Check for {@link MySQLOnly} annotation.
+     * @return {@code true} if the attribute only exists in MySQL.
+     */
+    public boolean isMySQLOnly() {
+        return mySQLOnly;
+    }
+
+    /**
+     * Check for {@link NotNullField} annotation.
+     * @return {@code true} if the attribute must have a value.
+     */
+    public boolean isNotNull() {
+        return notNull;
+    }
+
+    /**
+     * Get the limit declared with {@link MaxLength} annotation.
+     * @return maximum length of the string, {@code -1} when not limited.
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+}
@@ -0,0 +1,201 @@
+package dbConnect.execution;
+
+import com.google.gson.Gson;
+import dbConnect.Utility;
+import org.bson.BsonRegularExpression;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * <div>
+ * A MongoDB condition compiled once into a {@link Document} with placeholder slots.
+ * </div>
+ * <div>
+ * Compiling replaces every {@code ?} outside of string and regex literals by a slot and parses the JSON,
+ * binding then copies the document and puts the parameters in the slots as typed values:
+ * <ul>
+ *      <li>{@link ObjectId}, numbers, booleans, dates and other BSON values are kept as they are.</li>
+ *      <li>{@link UUID} values are kept too, the client of {@link dbConnect.query.MongoDBQuery} encodes them
+ *      as standard binary UUIDs, like the ones it inserts.</li>
+ *      <li>Strings written as {@code /pattern/} become regular expressions.</li>
+ *      <li>Any other object is converted through its JSON form.</li>
+ * </ul>
+ * </div>
+ * Templates are cached by condition, so no regex, string replacement or JSON parsing runs per query.
+ * A condition that can not be compiled, such as {@code ObjectId(?)}, falls back to
+ * {@link Utility#appendPlaceholderValue(String, Object[], int)} on every call.
+ * @since 2.2
+ */
+final class FilterTemplate {
+    /**
+     * Maximum number of cached templates.
+     */
+    private static final int MAX_ENTRIES = 4096;
+
+    private static final ConcurrentHashMap<String, FilterTemplate> TEMPLATES = new ConcurrentHashMap<>();
+    private static final AtomicInteger SIZE = new AtomicInteger();
+    private static final Gson GSON = new Gson();
+
+    // A private use character can not clash with a condition's own strings
+    private static final char SLOT = '\uE000';
+
+    private final String condition;
+    private final int paramCount;
+    private final Document template;
+
+    private FilterTemplate(String condition) {
+        String json = wrap(condition);
+        StringBuilder compiled = new StringBuilder(json.length() + 16);
+        int slots = 0;
+
+        char quote = 0;
+        boolean regex = false;
+        char previous = 0;
+
+        for (int i = 0; i < json.length(); i++) {
+            char c = json.charAt(i);
+
+            if (quote != 0 || regex) {
+                if (c == '\\' && i + 1 < json.length()) {
+                    compiled.append(c).append(json.charAt(++i));
+                    continue;
+                }
+
+                if (regex ? c == '/' : c == quote) {
+                    quote = 0;
+                    regex = false;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '/' && (previous == ':' || previous == ',' || previous == '[')) {
+                regex = true;
+            } else if (c == '?') {
+                compiled.append('"').append(SLOT).append(slots++).append('"');
+                previous = '"';
+                continue;
+            }
+
+            compiled.append(c);
+            if (!Character.isWhitespace(c)) previous = c;
+        }
+
+        Document parsed;
+
+        try {
+            parsed = Document.parse(compiled.toString());
+        } catch (RuntimeException e) {
+            parsed = null;
+        }
+
+        this.condition = condition;
+        this.paramCount = parsed != null ? slots : Utility.countFilterParams(condition);
+        this.template = parsed;
+    }
+
+    /**
+     * Get the compiled template of a condition.
+     * @param condition a MongoDB JSON condition using {@code ?} as placeholders, with or without its outer braces.
+     * @return the cached template, or a new one when the cache is full.
+     */
+    static FilterTemplate of(String condition) {
+        FilterTemplate template = TEMPLATES.get(condition);
+
+        if (template == null) {
+            template = new FilterTemplate(condition);
+
+            if (SIZE.get() < MAX_ENTRIES && TEMPLATES.putIfAbsent(condition, template) == null) {
+                SIZE.incrementAndGet();
+            }
+        }
+
+        return template;
+    }
+
+    /**
+     * Get the number of placeholders of the condition.
+     * @return number of parameters consumed by {@link #bind(Object[])}.
+     */
+    int getParamCount() {
+        return paramCount;
+    }
+
+    /**
+     * Build the filter of one query.
+     * @param params values of the placeholders in order, at least {@link #getParamCount()} of them.
+     * @return a new document owned by the caller.
+     */
+    Document bind(Object[] params) {
+        if (template == null) {
+            return Document.parse(Utility.appendPlaceholderValue(condition, params, paramCount));
+        }
+
+        return (Document) copy(template, params);
+    }
+
+    private static Object copy(Object value, Object[] params) {
+        if (value instanceof Document document) {
+            Document copy = new Document();
+
+            for (Map.Entry<String, Object> entry : document.entrySet()) {
+                copy.put(entry.getKey(), copy(entry.getValue(), params));
+            }
+
+            return copy;
+        } else if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+
+            for (Object item : list) {
+                copy.add(copy(item, params));
+            }
+
+            return copy;
+        } else if (value instanceof String string && !string.isEmpty() && string.charAt(0) == SLOT) {
+            return toBson(params[Integer.parseInt(string.substring(1))]);
+        } else {
+            return value;
+        }
+    }
+
+    private static Object toBson(Object param) {
+        if (param instanceof String string) {
+            if (string.length() > 1 && string.startsWith("/") && string.endsWith("/")) {
+                return new BsonRegularExpression(string.substring(1, string.length() - 1));
+            }
+
+            return string;
+        }
+
+        if (param == null || param instanceof ObjectId || param instanceof Number || param instanceof Boolean
+                || param instanceof Date || param instanceof UUID || param instanceof Pattern || param instanceof byte[]
+                || param instanceof Bson || param instanceof Map || param instanceof Collection) {
+            return param;
+        }
+
+        return Document.parse("{\"value\": " + GSON.toJson(param) + "}").get("value");
+    }
+
+    private static String wrap(String condition) {
+        String filter = condition.strip();
+
+        if (!filter.startsWith("{")) {
+            filter = "{" + filter;
+        }
+
+        if (!filter.endsWith("}")) {
+            filter = filter + "}";
+        }
+
+        return filter;
+    }
+}
@@ -1,22 +1,18 @@
 package dbConnect.execution;
 
-import dbConnect.DataModel;
-import dbConnect.models.constrain.MongoOnly;
-import dbConnect.models.constrain.MySQLOnly;
+import dbConnect.BatchResult;
 import dbConnect.query.MongoDBQuery;
 import dbConnect.query.SqlDBQuery;
-import dbConnect.models.autogen.AutomaticField;
-import dbConnect.models.constrain.MaxLength;
-import dbConnect.models.notnull.NotNullField;
 import org.bson.Document;
 
-import java.lang.reflect.Field;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
- * Handle insert query parsing using reflection.
+ * Handle insert query parsing using the model's {@link ModelDescriptor}.
  */
 public class InsertParser {
     private final SqlDBQuery sqlDBQuery;
@@ -72,99 +68,138 @@ public class InsertParser {
     private <T> int insertSQL(T model) throws IllegalAccessException, SQLException {
         if (sqlDBQuery == null) throw new IllegalAccessException("Calling an SQL method without an SQL scope!");
 
-        Class<?> modelClass = model.getClass();
+        ModelDescriptor descriptor = ModelDescriptor.of(model.getClass());
 
-        if (!DataModel.class.isAssignableFrom(modelClass)) {
-            System.out.println("Warning: '" + modelClass.getName() + " does not extend DataModel, which could lead to missing essential methods.");
-        }
+        return sqlDBQuery.setDataSQL(insertStatement(descriptor), insertValues(descriptor, model));
+    }
 
-        // Building SQL command
-        String tableName = ((DataModel<?>) model).getTableName();
-        Field[] fields = modelClass.getDeclaredFields();
-        List<Object> val = new ArrayList<>();
-        StringBuilder columns = new StringBuilder();
-        StringBuilder placeholders = new StringBuilder();
+    /**
+     * Get the insert statement of a model, generated or cached since every insert of a model has the same columns.
+     * @param descriptor descriptor of the model.
+     * @return the insert statement with a placeholder for every insert attribute.
+     */
+    private static String insertStatement(ModelDescriptor descriptor) {
+        ModelBinder<?> binder = descriptor.getBinder();
+        String query = binder != null ? binder.getInsertStatement() : null;
 
-        for (Field field : fields) {
-            field.setAccessible(true);
+        if (query == null) {
+            SqlTextCache cache = descriptor.getSqlTextCache();
+            query = cache.get(SqlTextCache.Operation.INSERT, 0);
 
-            // Ignore auto generated and mongoDB only fields
-            if (field.isAnnotationPresent(AutomaticField.class) || field.isAnnotationPresent(MongoOnly.class)) { continue; }
+            if (query == null) {
+                StringBuilder columns = new StringBuilder();
+                StringBuilder placeholders = new StringBuilder();
 
-            Object fieldValue = getFieldValue(model, field);
+                for (FieldDescriptor field : descriptor.getSqlInsertFields()) {
+                    columns.append(field.getName()).append(", ");
+                    placeholders.append("?, ");
+                }
 
-            columns.append(field.getName()).append(", ");
-            placeholders.append("?, ");
-            val.add(fieldValue);
-        }
+                // Trim command and space at the end
+                if (!columns.isEmpty()) {
+                    columns.setLength(columns.length() - 2);
+                    placeholders.setLength(placeholders.length() -2);
+                }
 
-        // Trim command and space at the end
-        if (!columns.isEmpty()) {
-            columns.setLength(columns.length() - 2);
-            placeholders.setLength(placeholders.length() -2);
+                query = cache.put(SqlTextCache.Operation.INSERT, 0, "insert into " + descriptor.getTableName() + " (" + columns + ") values (" + placeholders + ")");
+            }
         }
 
-        String query = "insert into " + tableName + " (" + columns + ") values (" + placeholders + ")";
+        return query;
+    }
+
+    /**
+     * Get the values of the insert attributes of a model, in the order of {@link #insertStatement(ModelDescriptor)}.
+     * @param descriptor descriptor of the model.
+     * @param model an instance of the model.
+     * @return value of each insert attribute.
+     */
+    private static Object[] insertValues(ModelDescriptor descriptor, Object model) throws IllegalAccessException {
+        List<FieldDescriptor> fields = descriptor.getSqlInsertFields();
+        Object[] val = new Object[fields.size()];
+
+        for (int i = 0; i < fields.size(); i++) {
+            val[i] = fields.get(i).getValue(model);
+        }
 
-        return sqlDBQuery.setDataSQL(query, val.toArray());
+        return val;
     }
 
     private <T> int insertMongo(T model) throws IllegalAccessException {
         if (mongoDBQuery == null) throw new IllegalAccessException("Calling a MongoDB method without a MongoDB scope!");
 
-        Class<?> modelClass = model.getClass();
+        ModelDescriptor descriptor = ModelDescriptor.of(model.getClass());
 
-        if (!DataModel.class.isAssignableFrom(modelClass)) {
-            System.out.println("Warning: '" + modelClass.getName() + " does not extend DataModel, which could lead to missing essential methods.");
-        }
-
-        String collectionName = ((DataModel<?>) model).getCollectionName();
-        Field[] fields = modelClass.getDeclaredFields();
-        Document document = new Document();
+        String collectionName = descriptor.getCollectionName();
+        Document document = insertDocument(descriptor, model);
 
-        for (Field field : fields) {
-            field.setAccessible(true);
+        return mongoDBQuery.setMongoData(collectionName).insert(document).count();
+    }
 
-            if (field.isAnnotationPresent(AutomaticField.class) || field.isAnnotationPresent(MySQLOnly.class)) { continue; }
+    /**
+     * Build the document inserted for a model.
+     * @param descriptor descriptor of the model.
+     * @param model an instance of the model.
+     * @return the document holding every insert attribute.
+     */
+    static Document insertDocument(ModelDescriptor descriptor, Object model) throws IllegalAccessException {
+        Document document = new Document();
 
-            Object fieldValue = getFieldValue(model, field);
-            document.append(field.getName(),fieldValue);
+        for (FieldDescriptor field : descriptor.getMongoInsertFields()) {
+            document.append(field.getName(), field.getValue(model));
         }
 
-        return mongoDBQuery.setMongoData(collectionName).insert(document).count();
+        return document;
     }
 
     /**
-     * Internal method to get the value of a field.
-     * @param model an instance of a Data Model.
-     * @param field an attribute extracted from a model.
-     * @return value of the field as an {@code object}.
-     * @param <T> Object.
-     * @throws IllegalAccessException when failed to extract field's details.
+     * A method to insert many models in batches, grouped by their class.
+     * MySQL uses JDBC batching and MongoDB uses {@code insertMany}, so a batch costs one round trip.
+     * @param models instances of Data Models, of one or several classes.
+     * @param batchSize number of entries sent per batch.
+     * @param ordered for MongoDB, {@code true} to stop a batch at its first failed entry, {@code false} to insert every other entry.
+     * @return number of entries inserted by each batch.
+     * @param <T> the data model to perform insert to.
+     * @throws IllegalAccessException data model class is missing required method.
+     * @throws IllegalArgumentException when the batch size is not positive or a model is {@code null}.
+     * @throws SQLException error while performing MySQL query.
+     * @since 2.2
      */
-    private static <T> Object getFieldValue(T model, Field field) throws IllegalAccessException {
-        Object fieldValue = field.get(model);
-        // Verify value for not null field
-        if (field.isAnnotationPresent(NotNullField.class)) {
-            if (fieldValue == null) {
-                throw new IllegalArgumentException("Missing value for field: " + field.getName() + " with not null annotation");
-            }
+    public <T> BatchResult insertAll(Collection<T> models, int batchSize, boolean ordered) throws IllegalAccessException, IllegalArgumentException, SQLException {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive!");
         }
 
-        // Trim string that passes annotation's limit
-        if (field.isAnnotationPresent(MaxLength.class)) {
-            if (fieldValue instanceof String) {
-                int maxLength = field.getAnnotation(MaxLength.class).value();
+        List<Integer> counts = new ArrayList<>();
 
-                if (((String) fieldValue).length() > maxLength) {
-                    fieldValue = ((String) fieldValue).substring(0, maxLength);
+        for (Map.Entry<Class<?>, List<T>> group : ModelDescriptor.groupByClass(models).entrySet()) {
+            ModelDescriptor descriptor = ModelDescriptor.of(group.getKey());
+
+            if (mongoDBQuery == null && sqlDBQuery != null) {
+                List<Object[]> rows = new ArrayList<>(group.getValue().size());
+
+                for (T model : group.getValue()) {
+                    rows.add(insertValues(descriptor, model));
                 }
 
-            } else {
-                throw new IllegalArgumentException("Field: " + field.getName() + " with max length annotation is not a String!");
+                for (int count : sqlDBQuery.setBatchSQL(insertStatement(descriptor), rows, batchSize)) {
+                    counts.add(count);
+                }
+            } else if (sqlDBQuery == null && mongoDBQuery != null) {
+                List<T> groupModels = group.getValue();
+
+                for (int start = 0; start < groupModels.size(); start += batchSize) {
+                    List<Document> documents = new ArrayList<>(Math.min(batchSize, groupModels.size() - start));
+
+                    for (T model : groupModels.subList(start, Math.min(groupModels.size(), start + batchSize))) {
+                        documents.add(insertDocument(descriptor, model));
+                    }
+
+                    counts.add(mongoDBQuery.setMongoData(descriptor.getCollectionName()).insertMany(documents, ordered).count());
+                }
             }
         }
-        return fieldValue;
-    }
 
+        return new BatchResult(counts.stream().mapToInt(Integer::intValue).toArray());
+    }
 }
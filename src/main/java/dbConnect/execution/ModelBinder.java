@@ -0,0 +1,78 @@
+package dbConnect.execution;
+
+import dbConnect.mapper.DocumentInterface;
+import dbConnect.mapper.ResultSetInterface;
+
+import java.util.List;
+
+/**
+ * <div>
+ * Compile time generated companion of a data model class.<br>
+ * The DBConnector annotation processor generates a {@code <Model>_Binder} class in the model's package
+ * for every class annotated with {@link dbConnect.models.meta.TableName} or {@link dbConnect.models.meta.CollectionName}.
+ * </div>
+ * <div>
+ * When a binder is present, {@link ModelDescriptor} picks it up automatically:
+ * <ul>
+ *      <li>Attributes are read through its {@link FieldAccessor} instead of reflection.</li>
+ *      <li>Its mappers are used when the model's {@code getTableMap()} or {@code getCollectionMap()} returns {@code null}.</li>
+ *      <li>Its constant SQL statements are used instead of building them at runtime.</li>
+ * </ul>
+ * </div>
+ * The model's attributes are ordered like {@link #getFieldNames()}, so parameters follow the columns of the statements.
+ * A binder whose attributes differ from the model's, e.g. one generated before the model changed, is ignored.
+ * Every method may return {@code null} when the processor could not generate that part,
+ * the parsers then fall back to reflection.
+ * @param <T> the data model class.
+ * @since 2.2
+ */
+public interface ModelBinder<T> {
+    /**
+     * Get the generated SQL mapper.
+     * @return the mapper, {@code null} when the model has no table or cannot be constructed without reflection.
+     */
+    ResultSetInterface<T> getTableMap();
+
+    /**
+     * Get the generated NoSQL mapper.
+     * @return the mapper, {@code null} when the model has no collection or cannot be constructed without reflection.
+     */
+    DocumentInterface<T> getCollectionMap();
+
+    /**
+     * Get the names of the model's attributes in declaration order, the order of the columns of the statements.
+     * @return names of the attributes.
+     */
+    List<String> getFieldNames();
+
+    /**
+     * Get the generated reader of an attribute.
+     * @param fieldName name of the attribute.
+     * @return the accessor, {@code null} when the attribute is private, unless getters were enabled in the processor.
+     */
+    FieldAccessor getAccessor(String fieldName);
+
+    /**
+     * Get the insert statement covering every insertable column.
+     * @return the SQL statement, {@code null} when the model has no table.
+     */
+    String getInsertStatement();
+
+    /**
+     * Get the select statement of the model's columns, without conditions.
+     * @return the SQL statement, {@code null} when the model has no table.
+     */
+    String getSelectStatement();
+
+    /**
+     * Get the update statement setting every updatable column, matched by primary key.
+     * @return the SQL statement, {@code null} when the model has no table or no primary key.
+     */
+    String getUpdateStatement();
+
+    /**
+     * Get the delete statement matched by primary key.
+     * @return the SQL statement, {@code null} when the model has no table or no primary key.
+     */
+    String getDeleteStatement();
+}
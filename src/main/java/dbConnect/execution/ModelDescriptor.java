@@ -0,0 +1,588 @@
+package dbConnect.execution;
+
+import dbConnect.DataModel;
+import dbConnect.cache.EntityCache;
+import dbConnect.cache.ResultCache;
+import dbConnect.mapper.AutoResultSetMapper;
+import dbConnect.mapper.DocumentInterface;
+import dbConnect.mapper.ResultSetInterface;
+import org.bson.Document;
+import dbConnect.models.meta.CollectionName;
+import dbConnect.models.meta.TableName;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * <div>
+ * Immutable metadata of a data model class, computed once per class and shared by all parsers.<br>
+ * It replaces scanning {@code getDeclaredFields()} and its annotations on every query.
+ * </div>
+ * <div>
+ * A descriptor contains:
+ * <ul>
+ *      <li>All attributes of the model in declaration order, see {@link #getFields()}.</li>
+ *      <li>The {@link dbConnect.models.autogen.PrimaryField} and MongoDB {@code _id} attributes.</li>
+ *      <li>Attributes used by select, insert and update, for MySQL and MongoDB.</li>
+ *      <li>The table's and collection's name.</li>
+ *      <li>The compile time generated {@link ModelBinder}, if the annotation processor was used.</li>
+ *      <li>The {@link SqlTextCache} of statements generated for the model.</li>
+ *      <li>The SQL and NoSQL mappers, resolved once or registered explicitly.</li>
+ *      <li>The optional {@link ResultCache} of retrieve results and {@link EntityCache} of entries by key.</li>
+ * </ul>
+ * </div>
+ * Static and synthetic fields are not part of the model.
+ * @since 2.2
+ */
+public final class ModelDescriptor {
+    private static final ClassValue<ModelDescriptor> DESCRIPTORS = new ClassValue<>() {
+        @Override
+        protected ModelDescriptor computeValue(Class<?> type) {
+            return new ModelDescriptor(type);
+        }
+    };
+
+    private final Class<?> modelClass;
+    private final ModelBinder<?> binder;
+    private final List<FieldDescriptor> fields;
+    private final FieldDescriptor primaryField;
+    private final FieldDescriptor idField;
+    private final List<FieldDescriptor> sqlSelectFields;
+    private final List<FieldDescriptor> sqlInsertFields;
+    private final List<FieldDescriptor> mongoInsertFields;
+    private final List<FieldDescriptor> sqlUpdateFields;
+    private final List<FieldDescriptor> mongoUpdateFields;
+    private final SqlTextCache sqlTextCache = new SqlTextCache();
+
+    private volatile String tableName;
+    private volatile String collectionName;
+    private volatile String selectStatement;
+    private volatile Document mongoProjection;
+    private volatile ResultSetInterface<?> tableMap;
+    private volatile DocumentInterface<?> collectionMap;
+    private volatile ResultCache<?> resultCache;
+    private volatile EntityCache<?> entityCache;
+    private volatile boolean changeTracking;
+
+    private ModelDescriptor(Class<?> modelClass) {
+        this.modelClass = modelClass;
+
+        if (!DataModel.class.isAssignableFrom(modelClass)) {
+            System.out.println("Warning: '" + modelClass.getName() + " does not extend DataModel, which could lead to missing essential methods.");
+        }
+
+        List<Field> declared = new ArrayList<>();
+
+        for (Field field : modelClass.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) continue;
+            declared.add(field);
+        }
+
+        this.binder = orderByBinder(modelClass, declared);
+
+        List<FieldDescriptor> all = new ArrayList<>();
+        List<FieldDescriptor> sqlSelect = new ArrayList<>();
+        List<FieldDescriptor> sqlInsert = new ArrayList<>();
+        List<FieldDescriptor> mongoInsert = new ArrayList<>();
+        List<FieldDescriptor> sqlUpdate = new ArrayList<>();
+        List<FieldDescriptor> mongoUpdate = new ArrayList<>();
+        FieldDescriptor primary = null;
+        FieldDescriptor id = null;
+
+        for (Field field : declared) {
+            FieldAccessor accessor = binder != null ? binder.getAccessor(field.getName()) : null;
+            FieldDescriptor descriptor = new FieldDescriptor(field, accessor);
+            all.add(descriptor);
+
+            boolean isId = descriptor.isMongoOnly() && descriptor.getName().equals("_id");
+
+            if (!descriptor.isMongoOnly()) sqlSelect.add(descriptor);
+            if (descriptor.isPrimary() && primary == null) primary = descriptor;
+            if (isId && id == null) id = descriptor;
+
+            // Ignore auto generated fields on insert
+            if (!descriptor.isAutomatic()) {
+                if (!descriptor.isMongoOnly()) sqlInsert.add(descriptor);
+                if (!descriptor.isMySQLOnly()) mongoInsert.add(descriptor);
+            }
+
+            // Keys are used for matching, not for updating
+            if (!descriptor.isPrimary()) {
+                if (!descriptor.isMongoOnly()) sqlUpdate.add(descriptor);
+                if (!descriptor.isMySQLOnly() && !isId) mongoUpdate.add(descriptor);
+            }
+        }
+
+        this.fields = List.copyOf(all);
+        this.primaryField = primary;
+        this.idField = id;
+        this.sqlSelectFields = List.copyOf(sqlSelect);
+        this.sqlInsertFields = List.copyOf(sqlInsert);
+        this.mongoInsertFields = List.copyOf(mongoInsert);
+        this.sqlUpdateFields = List.copyOf(sqlUpdate);
+        this.mongoUpdateFields = List.copyOf(mongoUpdate);
+
+        TableName table = modelClass.getAnnotation(TableName.class);
+        this.tableName = table != null ? table.value() : null;
+
+        CollectionName collection = modelClass.getAnnotation(CollectionName.class);
+        this.collectionName = collection != null ? collection.value() : null;
+    }
+
+    /**
+     * Load the generated binder of a model and order the model's fields like the columns of its statements,
+     * since {@link Class#getDeclaredFields()} returns them in no particular order.
+     * @param modelClass the data model class.
+     * @param declared the model's attributes, sorted in place.
+     * @return the binder, {@code null} when none was generated or its attributes differ from the model's.
+     */
+    private static ModelBinder<?> orderByBinder(Class<?> modelClass, List<Field> declared) {
+        ModelBinder<?> binder = loadBinder(modelClass);
+        if (binder == null) return null;
+
+        List<String> order = binder.getFieldNames();
+        List<String> names = declared.stream().map(Field::getName).toList();
+
+        if (order == null || order.size() != names.size() || !order.containsAll(names)) {
+            System.out.println("Warning: generated binder of '" + modelClass.getName() + "' does not match its fields, it is ignored.");
+            return null;
+        }
+
+        declared.sort(Comparator.comparingInt(field -> order.indexOf(field.getName())));
+        return binder;
+    }
+
+    /**
+     * Look up the {@code <Model>_Binder} class generated next to the model.
+     * Nested models are flattened, so {@code Outer.Inner} becomes {@code Outer_Inner_Binder}.
+     * @param modelClass the data model class.
+     * @return an instance of the binder, {@code null} when none was generated.
+     */
+    private static ModelBinder<?> loadBinder(Class<?> modelClass) {
+        String packageName = modelClass.getPackageName();
+        String simpleName = modelClass.getName().substring(packageName.isEmpty() ? 0 : packageName.length() + 1);
+        String binderName = (packageName.isEmpty() ? "" : packageName + ".") + simpleName.replace('$', '_') + "_Binder";
+
+        try {
+            Class<?> binderClass = Class.forName(binderName, true, modelClass.getClassLoader());
+
+            if (!ModelBinder.class.isAssignableFrom(binderClass)) return null;
+
+            return (ModelBinder<?>) binderClass.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            System.out.println("Warning: failed to load generated binder '" + binderName + "': " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Get the descriptor of a data model class.
+     * The descriptor is computed on first use and cached for the lifetime of the class.
+     * @param modelClass a data model class extending {@link DataModel}.
+     * @return descriptor of the class.
+     */
+    public static ModelDescriptor of(Class<?> modelClass) {
+        return DESCRIPTORS.get(modelClass);
+    }
+
+    /**
+     * Group models by their class, keeping their order, for batched writes.
+     * @param models instances of Data Models.
+     * @return the models of each class.
+     * @param <T> type of the data models.
+     * @throws IllegalArgumentException when a model is {@code null}.
+     */
+    static <T> Map<Class<?>, List<T>> groupByClass(Collection<T> models) {
+        Map<Class<?>, List<T>> groups = new LinkedHashMap<>();
+
+        for (T model : models) {
+            if (model == null) {
+                throw new IllegalArgumentException("Models must not be null!");
+            }
+
+            groups.computeIfAbsent(model.getClass(), type -> new ArrayList<>()).add(model);
+        }
+
+        return groups;
+    }
+
+    /**
+     * Get the described data model class.
+     * @return the data model class.
+     */
+    public Class<?> getModelClass() {
+        return modelClass;
+    }
+
+    /**
+     * Get the compile time generated binder of the model.
+     * @return the binder, {@code null} when the annotation processor was not used for this model.
+     */
+    public ModelBinder<?> getBinder() {
+        return binder;
+    }
+
+    /**
+     * Get the cache of SQL statements generated for the model.
+     * @return the model's statement cache.
+     */
+    SqlTextCache getSqlTextCache() {
+        return sqlTextCache;
+    }
+
+    /**
+     * Get the table's name for the model.
+     * It is read from {@link TableName} annotation or falls back to the deprecated {@code getTable()} method.
+     * @return name of the table.
+     * @throws IllegalStateException when the model has neither of them.
+     */
+    @SuppressWarnings("removal") // Fallback for models still using the Table enum.
+    public String getTableName() {
+        String name = tableName;
+
+        if (name == null) {
+            try {
+                name = ((DataModel<?>) newInstance()).getTable().getName();
+            } catch (Exception e) {
+                throw new IllegalStateException("Model is required to have at least TableName annotation or getTable method");
+            }
+
+            tableName = name;
+        }
+
+        return name;
+    }
+
+    /**
+     * Get the collection's name for the model.
+     * It is read from {@link CollectionName} annotation or falls back to the deprecated {@code getCollection()} method.
+     * @return name of the collection.
+     * @throws IllegalStateException when the model has neither of them.
+     */
+    @SuppressWarnings("removal") // Fallback for models still using the Collection enum.
+    public String getCollectionName() {
+        String name = collectionName;
+
+        if (name == null) {
+            try {
+                name = ((DataModel<?>) newInstance()).getCollection().getName();
+            } catch (Exception e) {
+                throw new IllegalStateException("Model is required to have at least CollectionName annotation or getCollection method");
+            }
+
+            collectionName = name;
+        }
+
+        return name;
+    }
+
+    /**
+     * Get the statement selecting every row of the model's table, without its {@code where} clause.
+     * Only the model's columns are selected, so a narrower model mapped to the same table works as a projection.
+     * @return the select statement.
+     */
+    String getSelectStatement() {
+        String statement = selectStatement;
+
+        if (statement == null) {
+            statement = binder != null ? binder.getSelectStatement() : null;
+
+            if (statement == null) {
+                StringJoiner columns = new StringJoiner(", ");
+
+                for (FieldDescriptor field : sqlSelectFields) {
+                    columns.add(field.getName());
+                }
+
+                statement = "select " + (sqlSelectFields.isEmpty() ? "*" : columns) + " from " + getTableName();
+            }
+
+            selectStatement = statement;
+        }
+
+        return statement;
+    }
+
+    /**
+     * Get the MongoDB projection of the model's attributes, skipping MySQL only attributes.
+     * {@code _id} is excluded when the model does not declare it, so documents are trimmed to what the mapper reads.
+     * The projection is shared and must not be modified.
+     * @return the projection document, empty when the model has no attribute.
+     */
+    Document getMongoProjection() {
+        Document projection = mongoProjection;
+
+        if (projection == null) {
+            projection = new Document();
+
+            for (FieldDescriptor field : fields) {
+                if (!field.isMySQLOnly()) projection.append(field.getName(), 1);
+            }
+
+            if (!projection.isEmpty() && !projection.containsKey("_id")) {
+                projection.append("_id", 0);
+            }
+
+            mongoProjection = projection;
+        }
+
+        return projection;
+    }
+
+    /**
+     * Get the SQL mapper of the model.
+     * <p>
+     * On first use it is resolved in this order and then reused by every retrieve:
+     * <ul>
+     *      <li>The mapper registered with {@link #setTableMap(ResultSetInterface)}.</li>
+     *      <li>The mapper returned by {@link DataModel#getTableMap()} of an empty instance.</li>
+     *      <li>The mapper of the generated {@link ModelBinder}.</li>
+     *      <li>An {@link AutoResultSetMapper} of the model.</li>
+     * </ul>
+     * Since the mapper is shared, it must not keep state between rows.
+     * </p>
+     * @return the mapper of the model.
+     * @throws IllegalAccessException when none of them provides a mapper.
+     */
+    public ResultSetInterface<?> getTableMap() throws IllegalAccessException {
+        ResultSetInterface<?> mapper = tableMap;
+
+        if (mapper == null) {
+            try {
+                mapper = (ResultSetInterface<?>) modelClass.getMethod("getTableMap").invoke(newInstance());
+            } catch (Exception e) {
+                throw new IllegalAccessException("Model '" + modelClass.getName() + "' is missing a valid getTableMap() method that return a new instant of mapping method.");
+            }
+
+            if (mapper == null && binder != null) {
+                mapper = binder.getTableMap();
+            }
+
+            if (mapper == null) {
+                try {
+                    mapper = new AutoResultSetMapper<>(modelClass);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalAccessException("Model '" + modelClass.getName() + "' is missing a valid getTableMap() method that return a new instant of mapping method.");
+                }
+            }
+
+            tableMap = mapper;
+        }
+
+        return mapper;
+    }
+
+    /**
+     * Register the SQL mapper of the model, skipping the lookup of {@link #getTableMap()}.
+     * @param mapper a stateless mapper of the model, {@code null} to resolve it again on next use.
+     */
+    public void setTableMap(ResultSetInterface<?> mapper) {
+        this.tableMap = mapper;
+    }
+
+    /**
+     * Get the cache of retrieve results of the model.
+     * @return the cache, {@code null} when caching is disabled for the model.
+     */
+    public ResultCache<?> getResultCache() {
+        return resultCache;
+    }
+
+    /**
+     * Enable or disable caching retrieve results of the model.
+     * @param resultCache the cache of the model, {@code null} to disable caching.
+     */
+    public void setResultCache(ResultCache<?> resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    /**
+     * Get the cache of entries of the model by key.
+     * @return the cache, {@code null} when caching is disabled for the model.
+     */
+    public EntityCache<?> getEntityCache() {
+        return entityCache;
+    }
+
+    /**
+     * Enable or disable caching entries of the model by key.
+     * @param entityCache the cache of the model, {@code null} to disable caching.
+     */
+    public void setEntityCache(EntityCache<?> entityCache) {
+        this.entityCache = entityCache;
+    }
+
+    /**
+     * Check if retrieved entries of the model track their changes.
+     * @return {@code true} when retrieved entries get a snapshot, see {@link dbConnect.ChangeTracker}.
+     */
+    public boolean isChangeTracking() {
+        return changeTracking;
+    }
+
+    /**
+     * Enable or disable tracking the changes of retrieved entries of the model.
+     * @param changeTracking {@code true} to snapshot every retrieved entry.
+     */
+    public void setChangeTracking(boolean changeTracking) {
+        this.changeTracking = changeTracking;
+    }
+
+    /**
+     * Get the NoSQL mapper of the model.
+     * <p>
+     * On first use it is resolved in this order and then reused by every retrieve:
+     * <ul>
+     *      <li>The mapper registered with {@link #setCollectionMap(DocumentInterface)}.</li>
+     *      <li>The mapper returned by {@link DataModel#getCollectionMap()} of an empty instance.</li>
+     *      <li>The mapper of the generated {@link ModelBinder}.</li>
+     * </ul>
+     * Since the mapper is shared, it must not keep state between documents.
+     * </p>
+     * @return the mapper of the model.
+     * @throws IllegalAccessException when none of them provides a mapper.
+     */
+    public DocumentInterface<?> getCollectionMap() throws IllegalAccessException {
+        DocumentInterface<?> mapper = collectionMap;
+
+        if (mapper == null) {
+            try {
+                mapper = (DocumentInterface<?>) modelClass.getMethod("getCollectionMap").invoke(newInstance());
+            } catch (Exception e) {
+                throw new IllegalAccessException("Model '" + modelClass.getName() + "' is missing a valid getCollectionMap() method that return a new instant of mapping method.");
+            }
+
+            if (mapper == null && binder != null) {
+                mapper = binder.getCollectionMap();
+            }
+
+            if (mapper == null) {
+                throw new IllegalAccessException("Model '" + modelClass.getName() + "' is missing a valid getCollectionMap() method that return a new instant of mapping method.");
+            }
+
+            collectionMap = mapper;
+        }
+
+        return mapper;
+    }
+
+    /**
+     * Register the NoSQL mapper of the model, skipping the lookup of {@link #getCollectionMap()}.
+     * @param mapper a stateless mapper of the model, {@code null} to resolve it again on next use.
+     */
+    public void setCollectionMap(DocumentInterface<?> mapper) {
+        this.collectionMap = mapper;
+    }
+
+    /**
+     * Create a new empty instance of the model using its empty constructor.
+     * @return a new instance of the model.
+     * @throws RuntimeException when the model is missing an empty constructor.
+     */
+    Object newInstance() {
+        try {
+            return modelClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Model '" + modelClass.getName() + "' is missing an empty Constructor.");
+        }
+    }
+
+    /**
+     * Get all attributes of the model in declaration order.
+     * @return unmodifiable list of attributes.
+     */
+    public List<FieldDescriptor> getFields() {
+        return fields;
+    }
+
+    /**
+     * Find an attribute of the model by its name.
+     * @param name name of the attribute.
+     * @return the attribute, {@code null} if the model has none with this name.
+     */
+    public FieldDescriptor getField(String name) {
+        for (FieldDescriptor field : fields) {
+            if (field.getName().equals(name)) return field;
+        }
+
+        return null;
+    }
+
+    /**
+     * Check that every attribute used by a {@link dbConnect.Query} belongs to the model.
+     * @param names names of the attributes.
+     * @throws IllegalArgumentException when the model has no attribute of a name.
+     */
+    public void checkFields(Iterable<String> names) {
+        for (String name : names) {
+            if (getField(name) == null) {
+                throw new IllegalArgumentException("Model '" + modelClass.getName() + "' has no attribute: " + name + "!");
+            }
+        }
+    }
+
+    /**
+     * Get the attribute marked with {@link dbConnect.models.autogen.PrimaryField}.
+     * @return the primary key attribute, {@code null} if the model has none.
+     */
+    public FieldDescriptor getPrimaryField() {
+        return primaryField;
+    }
+
+    /**
+     * Get the {@link dbConnect.models.constrain.MongoOnly} attribute named {@code _id}.
+     * @return the MongoDB id attribute, {@code null} if the model has none.
+     */
+    public FieldDescriptor getIdField() {
+        return idField;
+    }
+
+    /**
+     * Get the columns read by a MySQL select, skipping MongoDB only attributes.
+     * @return unmodifiable list of attributes.
+     */
+    public List<FieldDescriptor> getSqlSelectFields() {
+        return sqlSelectFields;
+    }
+
+    /**
+     * Get the columns written by a MySQL insert, skipping automatic and MongoDB only attributes.
+     * @return unmodifiable list of attributes.
+     */
+    public List<FieldDescriptor> getSqlInsertFields() {
+        return sqlInsertFields;
+    }
+
+    /**
+     * Get the keys written by a MongoDB insert, skipping automatic and MySQL only attributes.
+     * @return unmodifiable list of attributes.
+     */
+    public List<FieldDescriptor> getMongoInsertFields() {
+        return mongoInsertFields;
+    }
+
+    /**
+     * Get the columns a MySQL update may set, skipping the primary key and MongoDB only attributes.
+     * @return unmodifiable list of attributes.
+     */
+    public List<FieldDescriptor> getSqlUpdateFields() {
+        return sqlUpdateFields;
+    }
+
+    /**
+     * Get the keys a MongoDB update may set, skipping the primary key, {@code _id} and MySQL only attributes.
+     * @return unmodifiable list of attributes.
+     */
+    public List<FieldDescriptor> getMongoUpdateFields() {
+        return mongoUpdateFields;
+    }
+}
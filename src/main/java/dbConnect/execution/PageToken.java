@@ -0,0 +1,107 @@
+package dbConnect.execution;
+
+import org.bson.types.ObjectId;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Codec of the continuation token of keyset pagination.<br>
+ * A token holds the page key's name and the typed value of the last entry, encoded as URL safe Base64.
+ * @since 2.2
+ */
+final class PageToken {
+    private PageToken() {}
+
+    /**
+     * Encode the key of the last entry of a page.
+     * @param key name of the page key.
+     * @param value value of the page key.
+     * @return the opaque token.
+     * @throws IllegalArgumentException when the value is missing or its type can not be encoded.
+     */
+    static String encode(String key, Object value) {
+        String encoded;
+
+        if (value == null) {
+            throw new IllegalArgumentException("Page key: " + key + " of the last entry is missing its value!");
+        } else if (value instanceof Integer) {
+            encoded = "i:" + value;
+        } else if (value instanceof Long) {
+            encoded = "l:" + value;
+        } else if (value instanceof Short) {
+            encoded = "h:" + value;
+        } else if (value instanceof Double) {
+            encoded = "f:" + value;
+        } else if (value instanceof Float) {
+            encoded = "g:" + value;
+        } else if (value instanceof BigDecimal number) {
+            encoded = "n:" + number.toPlainString();
+        } else if (value instanceof String) {
+            encoded = "s:" + value;
+        } else if (value instanceof ObjectId id) {
+            encoded = "o:" + id.toHexString();
+        } else if (value instanceof UUID) {
+            encoded = "u:" + value;
+        } else if (value instanceof Timestamp timestamp) {
+            encoded = "t:" + timestamp.toInstant();
+        } else if (value instanceof Date date) {
+            encoded = "d:" + date.getTime();
+        } else {
+            throw new IllegalArgumentException("Page key: " + key + " of type " + value.getClass().getName() + " is not supported!");
+        }
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((key + ":" + encoded).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode the key value of a token.
+     * @param key name of the page key used by the request.
+     * @param token the token of a previous page.
+     * @return value of the page key.
+     * @throws IllegalArgumentException when the token is malformed or was created for another key.
+     */
+    static Object decode(String key, String token) {
+        String[] parts;
+
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":", 3);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed page token!");
+        }
+
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed page token!");
+        }
+
+        if (!parts[0].equals(key)) {
+            throw new IllegalArgumentException("Page token was created for key: " + parts[0] + ", not " + key + "!");
+        }
+
+        String value = parts[2];
+
+        try {
+            return switch (parts[1]) {
+                case "i" -> Integer.valueOf(value);
+                case "l" -> Long.valueOf(value);
+                case "h" -> Short.valueOf(value);
+                case "f" -> Double.valueOf(value);
+                case "g" -> Float.valueOf(value);
+                case "n" -> new BigDecimal(value);
+                case "s" -> value;
+                case "o" -> new ObjectId(value);
+                case "u" -> UUID.fromString(value);
+                case "t" -> Timestamp.from(Instant.parse(value));
+                case "d" -> new Date(Long.parseLong(value));
+                default -> throw new IllegalArgumentException("Malformed page token!");
+            };
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed page token!");
+        }
+    }
+}
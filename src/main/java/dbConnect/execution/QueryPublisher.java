@@ -0,0 +1,166 @@
+package dbConnect.execution;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * <div>
+ * A {@link Flow.Publisher} of query results, pulling entries from the database cursor only as they are requested.
+ * </div>
+ * <div>
+ * Every subscription runs its own query:
+ * <ul>
+ *      <li>The query is opened on the first {@link Flow.Subscription#request(long)}.</li>
+ *      <li>Entries are read and mapped one at a time while the subscriber has demand, so a slow subscriber holds
+ *      the cursor instead of the whole result.</li>
+ *      <li>The cursor is closed on completion, error or {@link Flow.Subscription#cancel()}.</li>
+ * </ul>
+ * </div>
+ * Signals of one subscription are never sent concurrently, they run on the given executor.
+ * @param <T> type of the data model.
+ * @since 2.2
+ */
+public class QueryPublisher<T> implements Flow.Publisher<T> {
+    private final Callable<Stream<T>> query;
+    private final Executor executor;
+
+    /**
+     * Constructor of {@link QueryPublisher}.
+     * @param query opens a lazy stream of the results, such as {@link RetrieveParser#stream(Class, int, String, Object...)}.
+     * @param executor runs the blocking cursor reads and the subscriber's signals.
+     */
+    public QueryPublisher(Callable<Stream<T>> query, Executor executor) {
+        this.query = query;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "Subscriber must not be null!");
+        subscriber.onSubscribe(new QuerySubscription(subscriber));
+    }
+
+    /**
+     * State of one subscription, drained by at most one thread at a time.
+     */
+    private final class QuerySubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile boolean cancelled = false;
+        private volatile Throwable invalidRequest;
+
+        // Only touched by the draining thread
+        private Stream<T> stream;
+        private Iterator<T> iterator;
+        private boolean done = false;
+
+        private QuerySubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Requested " + n + " entries, a request must be positive!");
+            } else {
+                demand.getAndUpdate(current -> Long.MAX_VALUE - current < n ? Long.MAX_VALUE : current + n);
+            }
+
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+
+            do {
+                if (!done) {
+                    try {
+                        emit();
+                    } catch (Throwable e) {
+                        terminate();
+                        subscriber.onError(e);
+                    }
+                }
+
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /**
+         * Send as many entries as requested, then complete when the cursor is exhausted.
+         */
+        private void emit() throws Exception {
+            if (cancelled) {
+                terminate();
+                return;
+            }
+
+            if (invalidRequest != null) {
+                terminate();
+                subscriber.onError(invalidRequest);
+                return;
+            }
+
+            if (demand.get() == 0) return;
+
+            if (iterator == null) {
+                stream = query.call();
+                iterator = stream.iterator();
+            }
+
+            while (demand.get() > 0) {
+                if (cancelled) {
+                    terminate();
+                    return;
+                }
+
+                if (!iterator.hasNext()) {
+                    terminate();
+                    subscriber.onComplete();
+                    return;
+                }
+
+                subscriber.onNext(iterator.next());
+
+                if (demand.get() != Long.MAX_VALUE) {
+                    demand.decrementAndGet();
+                }
+            }
+
+            // Complete without waiting for more demand
+            if (!iterator.hasNext()) {
+                terminate();
+                subscriber.onComplete();
+            }
+        }
+
+        private void terminate() {
+            done = true;
+
+            if (stream != null) {
+                stream.close();
+                stream = null;
+            }
+        }
+    }
+}
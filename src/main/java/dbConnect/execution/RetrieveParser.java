@@ -1,7 +1,10 @@
 package dbConnect.execution;
 
+import dbConnect.ChangeTracker;
 import dbConnect.DataModel;
-import dbConnect.Utility;
+import dbConnect.Page;
+import dbConnect.PageRequest;
+import dbConnect.Query;
 import dbConnect.mapper.DocumentInterface;
 import dbConnect.map.MongoMap;
 import dbConnect.mapper.ResultSetInterface;
@@ -10,12 +13,13 @@ import dbConnect.query.MongoDBQuery;
 import dbConnect.query.SqlDBQuery;
 import org.bson.Document;
 
-import java.lang.reflect.InvocationTargetException;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
- * Handle retrieval query (select query) parsing using reflection.
+ * Handle retrieval query (select query) parsing using the model's {@link ModelDescriptor}.
  * This class also contains overload for getting all data.
  */
 public class RetrieveParser {
@@ -54,9 +58,45 @@ public class RetrieveParser {
      */
     public <T> List<T> retrieve(Class<T> modelClass, String condition, Object... params) throws IllegalAccessException, SQLException {
         if (mongoDBQuery == null) {
-            return retrieveSQL(modelClass, condition, params);
+            return track(ModelDescriptor.of(modelClass), retrieveSQL(modelClass, condition, params));
         } else if (sqlDBQuery == null) {
-            return retrieveMongo(modelClass, condition, params);
+            return track(ModelDescriptor.of(modelClass), retrieveMongo(modelClass, condition, params));
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * A method to retrieve the entries of a data model matching a {@link Query}.
+     * @param modelClass a data model class extending {@link DataModel}.
+     * @param query the criteria, order and limit of the entries, {@code null} for every entry.
+     * @return a List of instances specified by the data model class that met the query.
+     * @param <T> a data model class extending {@link dbConnect.DataModel}
+     * @throws IllegalAccessException when no mapper is registered or provided by the model.
+     * @throws IllegalArgumentException when the query uses an attribute the model does not have.
+     * @throws SQLException error while performing MySQL query.
+     * @since 2.2
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> retrieve(Class<T> modelClass, Query query) throws IllegalAccessException, IllegalArgumentException, SQLException {
+        if (query == null) {
+            query = Query.all();
+        }
+
+        ModelDescriptor descriptor = ModelDescriptor.of(modelClass);
+        descriptor.checkFields(query.getFields());
+
+        if (mongoDBQuery == null && sqlDBQuery != null) {
+            StringBuilder statement = new StringBuilder(descriptor.getSelectStatement());
+
+            if (query.getWhere() != null) statement.append(" where ").append(query.getWhere());
+            if (query.getOrderBy() != null) statement.append(" order by ").append(query.getOrderBy());
+            if (query.getLimit() > 0) statement.append(" limit ").append(query.getLimit());
+
+            return track(descriptor, sqlDBQuery.loadSQLData(statement.toString(), new SQLMap<>((ResultSetInterface<T>) descriptor.getTableMap()), query.getParams()));
+        } else if (sqlDBQuery == null && mongoDBQuery != null) {
+            return track(descriptor, mongoDBQuery.loadMongoData(descriptor.getCollectionName(), query.toFilter(), descriptor.getMongoProjection(), query.toSort(),
+                    query.getLimit(), new MongoMap<>((DocumentInterface<T>) descriptor.getCollectionMap())));
         } else {
             return null;
         }
@@ -77,36 +117,17 @@ public class RetrieveParser {
      * @param params values of {@code whereTerm} store in corresponding order.
      * @return a List of instances specified by the data model class that met the {@code whereTerm} conditions.
      * @param <T> a data model class extending {@link dbConnect.DataModel}
-     * @throws IllegalAccessException when {@link DataModel#getTableMap()} method from the data model
-     * or accessing the method outside SQL scope.
+     * @throws IllegalAccessException when no mapper is registered or provided by {@link DataModel#getTableMap()}
+     * and the generated {@link ModelBinder}, or accessing the method outside SQL scope.
      * @throws SQLException when there is an error occurred during data selection.
      */
     private <T> List<T> retrieveSQL(Class<T> modelClass, String whereTerm, Object... params) throws IllegalAccessException, SQLException {
         if (sqlDBQuery == null) throw new IllegalAccessException("Calling an SQL method without an SQL scope!");
 
-        if (!DataModel.class.isAssignableFrom(modelClass)) {
-            System.out.println("Warning: '" + modelClass.getName() + " does not extend DataModel, which could lead to missing essential methods.");
-        }
-
-        T instance;
+        ModelDescriptor descriptor = ModelDescriptor.of(modelClass);
+        ResultSetInterface<T> mapper = (ResultSetInterface<T>) descriptor.getTableMap();
 
-        try {
-            instance = modelClass.getDeclaredConstructor().newInstance();
-        }  catch (InvocationTargetException | InstantiationException | NoSuchMethodException e) {
-            throw new RuntimeException("Model '" + modelClass.getName() + "' is missing an empty Constructor.");
-        }
-
-        String tableName = ((DataModel<?>) instance).getTableName();
-
-        ResultSetInterface<T> mapper;
-
-        try {
-            mapper = (ResultSetInterface<T>) modelClass.getMethod("getTableMap").invoke(instance);
-        } catch (Exception e) {
-            throw new IllegalAccessException("Model '" + modelClass.getName() + "' is missing a valid getTableMap() method that return a new instant of mapping method.");
-        }
-
-        String query = "select * from " + tableName;
+        String query = descriptor.getSelectStatement();
         if (whereTerm != null && !whereTerm.trim().isEmpty()) {
             query += " where " + whereTerm;
         }
@@ -128,39 +149,38 @@ public class RetrieveParser {
      * @param params values of {@code jsonFilter} store in corresponding order, the last params can be used for projection.
      * @return a List of instances specified by the data model class that met the {@code jsonFilter} conditions.
      * @param <T> a data model class extending {@link dbConnect.DataModel}
-     * @throws IllegalAccessException when missing {@link DataModel#getCollectionMap()} method from the data model
-     * or accessing the method outside NoSQL scope.
+     * @throws IllegalAccessException when no mapper is registered or provided by {@link DataModel#getCollectionMap()}
+     * and the generated {@link ModelBinder}, or accessing the method outside NoSQL scope.
      */
     private <T> List<T> retrieveMongo(Class<T> modelClass, String condition, Object... params) throws IllegalAccessException {
         if (mongoDBQuery == null) throw new IllegalAccessException("Calling a MongoDB method without a MongoDB scope!");
 
-        if (!DataModel.class.isAssignableFrom(modelClass)) {
-            System.out.println("Warning: '" + modelClass.getName() + " does not extend DataModel, which could lead to missing essential methods.");
-        }
-
-        T instance;
-
-        try {
-            instance = modelClass.getDeclaredConstructor().newInstance();
-        }  catch (InvocationTargetException | InstantiationException | NoSuchMethodException e) {
-            throw new RuntimeException("Model '" + modelClass.getName() + "' is missing an empty Constructor.");
-        }
+        ModelDescriptor descriptor = ModelDescriptor.of(modelClass);
+        DocumentInterface<T> mapper = (DocumentInterface<T>) descriptor.getCollectionMap();
+        String collectionName = descriptor.getCollectionName();
 
-        String collectionName = ((DataModel<?>) instance).getCollectionName();
-        DocumentInterface<T> mapper;
+        Document[] query = mongoQuery(descriptor, condition, params);
 
-        try {
-            mapper = (DocumentInterface<T>) modelClass.getMethod("getCollectionMap").invoke(instance);
-        } catch (Exception e) {
-            throw new IllegalAccessException("Model '" + modelClass.getName() + "' is missing a valid getCollectionMap() method that return a new instant of mapping method.");
-        }
+        MongoMap<T> mongoMapper = new MongoMap<>(mapper);
+        return mongoDBQuery.loadMongoData(collectionName, query[0], query[1], mongoMapper);
+    }
 
-        Document projection = new Document();
+    /**
+     * Parse a MongoDB condition and its parameters.
+     * Without a projection parameter, the model's own projection is used.
+     * @param descriptor descriptor of the queried model.
+     * @param condition conditions used for the search, {@code ?} are replaced by {@code params}.
+     * @param params values of {@code condition} store in corresponding order, the last params can be used for projection.
+     * @return the filter and the projection documents.
+     */
+    static Document[] mongoQuery(ModelDescriptor descriptor, String condition, Object... params) {
+        Document projection = descriptor.getMongoProjection();
 
         Document filter = new Document();
 
         if (condition != null && !condition.isBlank()) {
-            int filterArgCount = Utility.countFilterParams(condition);
+            FilterTemplate template = FilterTemplate.of(condition);
+            int filterArgCount = template.getParamCount();
 
             if (params.length < filterArgCount) {
                 throw new IllegalArgumentException("Not enough filter parameters for declared filter argument");
@@ -175,11 +195,46 @@ public class RetrieveParser {
                 params = filterParams;
             }
 
-            filter = Document.parse(Utility.appendPlaceholderValue(condition, params, filterArgCount));
+            filter = template.bind(params);
         }
 
-        MongoMap<T> mongoMapper = new MongoMap<>(mapper);
-        return mongoDBQuery.loadMongoData(collectionName, filter, projection, mongoMapper);
+        return new Document[] { filter, projection };
+    }
+
+    /**
+     * A method to lazily retrieve entries of a data model.
+     * The returned stream holds a database connection or cursor until it is exhausted or closed.
+     * @param modelClass a data model class extending {@link DataModel}.
+     * @param batchSize number of entries fetched per round trip, {@code 0} for the default.
+     * @param condition a set of conditions used for the query.
+     * @param params parameters of the conditions in order and optional projection field (NoSQL only).
+     * @return a lazy {@link Stream} of instances specified by the data model class that met the {@code condition} conditions.
+     * @param <T> a data model class extending {@link dbConnect.DataModel}
+     * @throws IllegalAccessException data model class is missing required methods.
+     * @throws SQLException error while performing MySQL query.
+     * @since 2.2
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Stream<T> stream(Class<T> modelClass, int batchSize, String condition, Object... params) throws IllegalAccessException, SQLException {
+        ModelDescriptor descriptor = ModelDescriptor.of(modelClass);
+
+        if (mongoDBQuery == null && sqlDBQuery != null) {
+            ResultSetInterface<T> mapper = (ResultSetInterface<T>) descriptor.getTableMap();
+
+            String query = descriptor.getSelectStatement();
+            if (condition != null && !condition.isBlank()) {
+                query += " where " + condition;
+            }
+
+            return sqlDBQuery.streamSQLData(query, new SQLMap<>(mapper), batchSize, params);
+        } else if (sqlDBQuery == null && mongoDBQuery != null) {
+            DocumentInterface<T> mapper = (DocumentInterface<T>) descriptor.getCollectionMap();
+            Document[] query = mongoQuery(descriptor, condition, params);
+
+            return mongoDBQuery.streamMongoData(descriptor.getCollectionName(), query[0], query[1], new MongoMap<>(mapper), batchSize);
+        } else {
+            return Stream.empty();
+        }
     }
 
     /**
@@ -192,6 +247,215 @@ public class RetrieveParser {
      * @throws SQLException error while performing MySQL query.
      */
     public <T> List<T> retrieveAll(Class<T> modelClass) throws IllegalAccessException, SQLException {
-        return retrieve(modelClass, null);
+        return retrieve(modelClass, (String) null);
+    }
+
+    /**
+     * A method to retrieve one entry of a data model by its key.
+     * MySQL searches by the {@link dbConnect.models.autogen.PrimaryField} and MongoDB by {@code _id}.
+     * @param modelClass a data model class extending {@link DataModel}.
+     * @param key value of the primary key or {@code _id}.
+     * @return the entry with the key, {@code null} if there is none.
+     * @param <T> a data model class extending {@link dbConnect.DataModel}
+     * @throws IllegalAccessException when no mapper is registered or provided by the model.
+     * @throws IllegalArgumentException when the model has no key attribute or the key is {@code null}.
+     * @throws SQLException error while performing MySQL query.
+     * @since 2.2
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T findById(Class<T> modelClass, Object key) throws IllegalAccessException, IllegalArgumentException, SQLException {
+        if (key == null) {
+            throw new IllegalArgumentException("Missing value for the key!");
+        }
+
+        ModelDescriptor descriptor = ModelDescriptor.of(modelClass);
+        List<T> found;
+
+        if (mongoDBQuery == null && sqlDBQuery != null) {
+            FieldDescriptor primaryField = descriptor.getPrimaryField();
+
+            if (primaryField == null) {
+                throw new IllegalArgumentException("Model is missing a primary field!");
+            }
+
+            String query = descriptor.getSelectStatement() + " where " + primaryField.getName() + " = ?";
+            found = sqlDBQuery.loadSQLData(query, new SQLMap<>((ResultSetInterface<T>) descriptor.getTableMap()), key);
+        } else if (sqlDBQuery == null && mongoDBQuery != null) {
+            FieldDescriptor _idField = descriptor.getIdField();
+
+            if (_idField == null) {
+                throw new IllegalArgumentException("Model is missing an _id field!");
+            }
+
+            found = mongoDBQuery.loadMongoData(descriptor.getCollectionName(), new Document(_idField.getName(), key), descriptor.getMongoProjection(),
+                    new MongoMap<>((DocumentInterface<T>) descriptor.getCollectionMap()));
+        } else {
+            return null;
+        }
+
+        return found.isEmpty() ? null : track(descriptor, found).get(0);
+    }
+
+    /**
+     * Snapshot the retrieved entries of a model tracking its changes, see {@link ChangeTracker}.
+     * @param descriptor descriptor of the retrieved model.
+     * @param models the retrieved entries.
+     * @return the same entries.
+     * @throws IllegalAccessException when an attribute can not be read.
+     */
+    private static <T> List<T> track(ModelDescriptor descriptor, List<T> models) throws IllegalAccessException {
+        if (descriptor.isChangeTracking()) {
+            for (T model : models) {
+                ChangeTracker.snapshot(model);
+            }
+        }
+
+        return models;
+    }
+
+    /**
+     * A method to retrieve one page of a data model with keyset pagination.
+     * <p>
+     * Entries are ordered by the page key and the page starts after the key stored in the request's token,
+     * so the database seeks to the page through the key's index instead of skipping rows.
+     * One extra entry is fetched to know if another page follows.
+     * </p>
+     * @param modelClass a data model class extending {@link DataModel}.
+     * @param request the page to retrieve.
+     * @return the page with its continuation token.
+     * @param <T> a data model class extending {@link dbConnect.DataModel}
+     * @throws IllegalAccessException data model class is missing required methods.
+     * @throws IllegalArgumentException when the model has no page key or the token is invalid.
+     * @throws SQLException error while performing MySQL query.
+     * @since 2.2
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Page<T> page(Class<T> modelClass, PageRequest request) throws IllegalAccessException, IllegalArgumentException, SQLException {
+        ModelDescriptor descriptor = ModelDescriptor.of(modelClass);
+        boolean sql = mongoDBQuery == null && sqlDBQuery != null;
+
+        FieldDescriptor keyField;
+
+        if (request.getKey() != null) {
+            keyField = descriptor.getField(request.getKey());
+        } else if (sql) {
+            keyField = descriptor.getPrimaryField();
+        } else {
+            keyField = descriptor.getIdField() != null ? descriptor.getIdField() : descriptor.getPrimaryField();
+        }
+
+        if (keyField == null) {
+            throw new IllegalArgumentException("Model is missing a key field for pagination!");
+        }
+
+        String key = keyField.getName();
+        Object after = request.getToken() != null ? PageToken.decode(key, request.getToken()) : null;
+        String condition = request.getCondition();
+        boolean filtered = condition != null && !condition.isBlank();
+        List<T> rows;
+
+        if (sql) {
+            ResultSetInterface<T> mapper = (ResultSetInterface<T>) descriptor.getTableMap();
+
+            StringBuilder query = new StringBuilder(descriptor.getSelectStatement());
+            List<Object> params = new ArrayList<>();
+
+            if (filtered) {
+                query.append(" where (").append(condition).append(")");
+                params.addAll(List.of(request.getParams()));
+            }
+
+            if (after != null) {
+                query.append(filtered ? " and " : " where ").append(key).append(" > ?");
+                params.add(after);
+            }
+
+            query.append(" order by ").append(key).append(" limit ").append(request.getSize() + 1);
+
+            rows = sqlDBQuery.loadSQLData(query.toString(), new SQLMap<>(mapper), params.toArray());
+        } else if (mongoDBQuery != null && sqlDBQuery == null) {
+            DocumentInterface<T> mapper = (DocumentInterface<T>) descriptor.getCollectionMap();
+            Document[] query = mongoQuery(descriptor, condition, request.getParams());
+            Document filter = query[0];
+
+            if (after != null) {
+                Document seek = new Document(key, new Document("$gt", after));
+                filter = filter.isEmpty() ? seek : new Document("$and", List.of(filter, seek));
+            }
+
+            rows = mongoDBQuery.loadMongoData(descriptor.getCollectionName(), filter, query[1], new Document(key, 1), request.getSize() + 1, new MongoMap<>(mapper));
+        } else {
+            return Page.empty();
+        }
+
+        if (rows.size() <= request.getSize()) {
+            return new Page<>(rows, null);
+        }
+
+        List<T> items = rows.subList(0, request.getSize());
+        return new Page<>(items, PageToken.encode(key, keyField.get(items.get(items.size() - 1))));
+    }
+
+    /**
+     * A method to count entries of a data model without fetching them.
+     * MySQL runs {@code select count(*)} and MongoDB runs {@code countDocuments}.
+     * @param modelClass a data model class extending {@link DataModel}.
+     * @param condition a set of conditions used for the query.
+     * @param params parameters of the conditions in order.
+     * @return number of entries that met the {@code condition} conditions.
+     * @param <T> a data model class extending {@link dbConnect.DataModel}
+     * @throws SQLException error while performing MySQL query.
+     * @since 2.2
+     */
+    public <T> long count(Class<T> modelClass, String condition, Object... params) throws SQLException {
+        ModelDescriptor descriptor = ModelDescriptor.of(modelClass);
+
+        if (mongoDBQuery == null && sqlDBQuery != null) {
+            String query = "select count(*) from " + descriptor.getTableName();
+            if (condition != null && !condition.isBlank()) {
+                query += " where " + condition;
+            }
+
+            List<Long> count = sqlDBQuery.loadSQLData(query, new SQLMap<>(resultSet -> resultSet.getLong(1)), params);
+            if (count.isEmpty()) throw new SQLException("Count query returned no row!");
+
+            return count.get(0);
+        } else if (sqlDBQuery == null && mongoDBQuery != null) {
+            Document[] query = mongoQuery(descriptor, condition, params);
+            return mongoDBQuery.countMongoData(descriptor.getCollectionName(), query[0]);
+        } else {
+            return -1;
+        }
+    }
+
+    /**
+     * A method to check if any entry of a data model exists, stopping at the first match.
+     * MySQL runs {@code select 1 ... limit 1} and MongoDB finds a single {@code _id}.
+     * @param modelClass a data model class extending {@link DataModel}.
+     * @param condition a set of conditions used for the query.
+     * @param params parameters of the conditions in order.
+     * @return {@code true} if an entry met the {@code condition} conditions.
+     * @param <T> a data model class extending {@link dbConnect.DataModel}
+     * @throws SQLException error while performing MySQL query.
+     * @since 2.2
+     */
+    public <T> boolean exists(Class<T> modelClass, String condition, Object... params) throws SQLException {
+        ModelDescriptor descriptor = ModelDescriptor.of(modelClass);
+
+        if (mongoDBQuery == null && sqlDBQuery != null) {
+            String query = "select 1 from " + descriptor.getTableName();
+            if (condition != null && !condition.isBlank()) {
+                query += " where " + condition;
+            }
+
+            return !sqlDBQuery.loadSQLData(query + " limit 1", new SQLMap<>(resultSet -> Boolean.TRUE), params).isEmpty();
+        } else if (sqlDBQuery == null && mongoDBQuery != null) {
+            Document[] query = mongoQuery(descriptor, condition, params);
+
+            return !mongoDBQuery.loadMongoData(descriptor.getCollectionName(), query[0], new Document("_id", 1), new Document(), 1,
+                    new MongoMap<>(document -> Boolean.TRUE)).isEmpty();
+        } else {
+            return false;
+        }
     }
 }
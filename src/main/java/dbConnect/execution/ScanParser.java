@@ -0,0 +1,309 @@
+package dbConnect.execution;
+
+import dbConnect.DataModel;
+import dbConnect.map.MongoMap;
+import dbConnect.map.SQLMap;
+import dbConnect.mapper.DocumentInterface;
+import dbConnect.mapper.ResultSetInterface;
+import dbConnect.query.MongoDBQuery;
+import dbConnect.query.SqlDBQuery;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+import java.math.BigInteger;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * <div>
+ * Handle parallel full scans of a data model, split into ranges of its key.
+ * </div>
+ * <div>
+ * Partitioning:
+ * <ul>
+ *      <li>MySQL with a numeric {@link dbConnect.models.autogen.PrimaryField}: equal ranges between the smallest and largest key.</li>
+ *      <li>MySQL with any other primary key: {@code crc32(key) % partitions}.</li>
+ *      <li>MongoDB with {@code ObjectId} or numeric {@code _id}: equal ranges between the smallest and largest id.</li>
+ * </ul>
+ * </div>
+ * Every partition is streamed on its own connection or cursor by a bounded executor,
+ * so the scan scales with cores and pool size.
+ * @since 2.2
+ */
+public class ScanParser {
+    private final SqlDBQuery sqlDBQuery;
+    private final MongoDBQuery mongoDBQuery;
+
+    /**
+     * Constructor of {@link ScanParser}.
+     * For noSQL query, see {@link #ScanParser(MongoDBQuery)}
+     * @param sqlDBQuery an instance of {@link SqlDBQuery#SqlDBQuery(String, String, String)}
+     */
+    public ScanParser(SqlDBQuery sqlDBQuery) {
+        this.sqlDBQuery = sqlDBQuery;
+        this.mongoDBQuery = null;
+    }
+
+    /**
+     * Constructor of {@link ScanParser}.
+     * For SQL query, see {@link #ScanParser(SqlDBQuery)}
+     * @param mongoDBQuery an instance of {@link MongoDBQuery#MongoDBQuery(String, String)}
+     */
+    public ScanParser(MongoDBQuery mongoDBQuery) {
+        this.mongoDBQuery = mongoDBQuery;
+        this.sqlDBQuery = null;
+    }
+
+    /**
+     * A method to determine the correct inner scan method.
+     * @param modelClass a data model class extending {@link DataModel}.
+     * @param condition a set of conditions used for the query, {@code null} to scan every entry.
+     * @param partitions number of key ranges scanned in parallel.
+     * @param consumer receiver of every mapped entry, called concurrently from several threads.
+     * @param params parameters of the conditions in order.
+     * @return the count of scanned entries.
+     * @param <T> a data model class extending {@link dbConnect.DataModel}
+     * @throws IllegalAccessException data model class is missing required methods.
+     * @throws IllegalArgumentException when the model has no key to partition on.
+     * @throws SQLException error while performing MySQL query.
+     */
+    public <T> long parallelScan(Class<T> modelClass, String condition, int partitions, Consumer<? super T> consumer, Object... params) throws IllegalAccessException, IllegalArgumentException, SQLException {
+        if (partitions <= 0) {
+            throw new IllegalArgumentException("Number of partitions must be positive!");
+        }
+
+        if (mongoDBQuery == null) {
+            return scanSQL(modelClass, condition, partitions, consumer, params);
+        } else if (sqlDBQuery == null) {
+            return scanMongo(modelClass, condition, partitions, consumer, params);
+        } else {
+            return -1;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> long scanSQL(Class<T> modelClass, String condition, int partitions, Consumer<? super T> consumer, Object... params) throws IllegalAccessException, SQLException {
+        if (sqlDBQuery == null) throw new IllegalAccessException("Calling an SQL method without an SQL scope!");
+
+        ModelDescriptor descriptor = ModelDescriptor.of(modelClass);
+        FieldDescriptor primaryField = descriptor.getPrimaryField();
+
+        if (primaryField == null) {
+            throw new IllegalArgumentException("Model is missing a primary field!");
+        }
+
+        SQLMap<T> mapper = new SQLMap<>((ResultSetInterface<T>) descriptor.getTableMap());
+        String key = primaryField.getName();
+        boolean filtered = condition != null && !condition.isBlank();
+        String prefix = descriptor.getSelectStatement() + (filtered ? " where (" + condition + ") and " : " where ");
+
+        List<String> queries = new ArrayList<>();
+        List<Object[]> queryParams = new ArrayList<>();
+
+        if (isIntegral(primaryField.getType())) {
+            String rangeQuery = "select min(" + key + "), max(" + key + ") from " + descriptor.getTableName() + (filtered ? " where " + condition : "");
+            List<Object[]> range = sqlDBQuery.loadSQLData(rangeQuery, new SQLMap<>(resultSet -> new Object[] { resultSet.getObject(1), resultSet.getObject(2) }), params);
+
+            if (range.isEmpty() || !(range.get(0)[0] instanceof Number min) || !(range.get(0)[1] instanceof Number max)) {
+                return 0;
+            }
+
+            List<Long> bounds = boundaries(min.longValue(), max.longValue(), partitions);
+
+            for (int i = 0; i <= bounds.size(); i++) {
+                List<Object> values = new ArrayList<>(List.of(params));
+                StringBuilder query = new StringBuilder(prefix);
+
+                if (i > 0) {
+                    query.append(key).append(" >= ?");
+                    values.add(bounds.get(i - 1));
+                }
+
+                if (i < bounds.size()) {
+                    query.append(i > 0 ? " and " : "").append(key).append(" < ?");
+                    values.add(bounds.get(i));
+                }
+
+                if (bounds.isEmpty()) {
+                    query.append(key).append(" is not null");
+                }
+
+                queries.add(query.toString());
+                queryParams.add(values.toArray());
+            }
+        } else {
+            for (int i = 0; i < partitions; i++) {
+                List<Object> values = new ArrayList<>(List.of(params));
+                values.add(partitions);
+                values.add(i);
+
+                queries.add(prefix + "crc32(" + key + ") % ? = ?");
+                queryParams.add(values.toArray());
+            }
+        }
+
+        List<Callable<Long>> tasks = new ArrayList<>();
+
+        for (int i = 0; i < queries.size(); i++) {
+            String query = queries.get(i);
+            Object[] values = queryParams.get(i);
+
+            tasks.add(() -> {
+                try (Stream<T> rows = sqlDBQuery.streamSQLData(query, mapper, 0, values)) {
+                    return consume(rows, consumer);
+                }
+            });
+        }
+
+        // Every partition holds a connection, more threads than connections would only wait
+        int threads = Math.min(tasks.size(), sqlDBQuery.getConnectionPool().getConfig().getMaxSize());
+        return run(tasks, threads);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> long scanMongo(Class<T> modelClass, String condition, int partitions, Consumer<? super T> consumer, Object... params) throws IllegalAccessException, SQLException {
+        if (mongoDBQuery == null) throw new IllegalAccessException("Calling a MongoDB method without a MongoDB scope!");
+
+        ModelDescriptor descriptor = ModelDescriptor.of(modelClass);
+        MongoMap<T> mapper = new MongoMap<>((DocumentInterface<T>) descriptor.getCollectionMap());
+        String collectionName = descriptor.getCollectionName();
+
+        Document[] query = RetrieveParser.mongoQuery(descriptor, condition, params);
+        Document filter = query[0];
+        Document projection = query[1];
+
+        Object min = firstId(collectionName, filter, 1);
+        Object max = firstId(collectionName, filter, -1);
+
+        if (min == null || max == null) {
+            return 0;
+        }
+
+        List<Object> bounds = new ArrayList<>();
+
+        if (min instanceof ObjectId minId && max instanceof ObjectId maxId) {
+            // ObjectIds start with their creation time in seconds
+            for (long seconds : boundaries(minId.getTimestamp(), maxId.getTimestamp(), partitions)) {
+                bounds.add(new ObjectId(new Date(seconds * 1000)));
+            }
+        } else if (min instanceof Number minNumber && max instanceof Number maxNumber
+                && isIntegral(minNumber.getClass()) && isIntegral(maxNumber.getClass())) {
+            bounds.addAll(boundaries(minNumber.longValue(), maxNumber.longValue(), partitions));
+        } else {
+            System.out.println("Warning: _id of collection '" + collectionName + "' can not be partitioned, scanning it in one partition.");
+        }
+
+        List<Callable<Long>> tasks = new ArrayList<>();
+
+        for (int i = 0; i <= bounds.size(); i++) {
+            Document range = new Document();
+            if (i > 0) range.append("$gte", bounds.get(i - 1));
+            if (i < bounds.size()) range.append("$lt", bounds.get(i));
+
+            Document partitionFilter = range.isEmpty() ? filter : new Document("$and", List.of(filter, new Document("_id", range)));
+
+            tasks.add(() -> {
+                try (Stream<T> rows = mongoDBQuery.streamMongoData(collectionName, partitionFilter, projection, mapper, 0)) {
+                    return consume(rows, consumer);
+                }
+            });
+        }
+
+        return run(tasks, tasks.size());
+    }
+
+    /**
+     * Find the smallest or largest {@code _id} matching a filter.
+     */
+    private Object firstId(String collectionName, Document filter, int direction) {
+        List<Object> ids = mongoDBQuery.loadMongoData(collectionName, filter, new Document("_id", 1), new Document("_id", direction), 1,
+                new MongoMap<>(document -> document.get("_id")));
+
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    /**
+     * Split the closed range {@code [min, max]} into equal ranges.
+     * @return the start of every range but the first, strictly increasing.
+     */
+    private static List<Long> boundaries(long min, long max, int partitions) {
+        List<Long> bounds = new ArrayList<>();
+        BigInteger low = BigInteger.valueOf(min);
+        BigInteger span = BigInteger.valueOf(max).subtract(low).add(BigInteger.ONE);
+
+        for (int i = 1; i < partitions; i++) {
+            long bound = low.add(span.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(partitions))).longValue();
+
+            if (bound > min && (bounds.isEmpty() || bound > bounds.get(bounds.size() - 1))) {
+                bounds.add(bound);
+            }
+        }
+
+        return bounds;
+    }
+
+    private static boolean isIntegral(Class<?> type) {
+        return type == int.class || type == long.class || type == short.class || type == byte.class
+                || type == Integer.class || type == Long.class || type == Short.class || type == Byte.class;
+    }
+
+    private static <T> long consume(Stream<T> rows, Consumer<? super T> consumer) {
+        LongAdder count = new LongAdder();
+
+        rows.forEach(row -> {
+            consumer.accept(row);
+            count.increment();
+        });
+
+        return count.sum();
+    }
+
+    /**
+     * Run the partitions on a bounded executor and wait for all of them.
+     * @return the total count of scanned entries.
+     * @throws SQLException when a partition failed, after every other partition completed.
+     */
+    private static long run(List<Callable<Long>> tasks, int threads) throws SQLException {
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "DBConnect-scan-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            long total = 0;
+            Exception failure = null;
+
+            for (Future<Long> result : executor.invokeAll(tasks)) {
+                try {
+                    total += result.get();
+                } catch (ExecutionException e) {
+                    if (failure == null) failure = e.getCause() instanceof Exception cause ? cause : e;
+                }
+            }
+
+            if (failure instanceof SQLException sqlException) throw sqlException;
+            if (failure instanceof RuntimeException runtimeException) throw runtimeException;
+            if (failure != null) throw new SQLException("Failure during parallel scan: " + failure.getMessage(), failure);
+
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Parallel scan was interrupted.", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
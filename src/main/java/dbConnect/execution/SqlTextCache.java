@@ -0,0 +1,142 @@
+package dbConnect.execution;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <div>
+ * Cache of generated SQL text of one data model, owned by its {@link ModelDescriptor}.<br>
+ * A statement is keyed by its {@link Operation} and a bitmask of the attributes it contains,
+ * so the string building only happens on the first call of each shape.
+ * </div>
+ * <div>
+ * This class contains:
+ * <ul>
+ *      <li>Per model lookup and store, used by the parsers.</li>
+ *      <li>Global statistics across all models, see {@link #getSize()} and {@link #getHitRate()}.</li>
+ * </ul>
+ * </div>
+ * Models with more than 63 attributes, or statements past {@link #MAX_ENTRIES}, are built on every call.
+ * @since 2.2
+ */
+public final class SqlTextCache {
+    /**
+     * Maximum number of statements kept across all models.
+     */
+    public static final int MAX_ENTRIES = 4096;
+
+    /**
+     * Operation a cached statement was generated for.
+     */
+    public enum Operation {
+        /** {@code insert into ... values ...} */
+        INSERT,
+        /** {@code update ... set ...} without its {@code where} clause. */
+        UPDATE,
+        /** {@code update ... set ... where <primary key> = ?} */
+        UPDATE_BY_KEY,
+        /** {@code delete from ... where <primary key> = ?} */
+        DELETE_BY_KEY,
+        /** {@code insert into ... values ... on duplicate key update ...} */
+        UPSERT
+    }
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final AtomicInteger SIZE = new AtomicInteger();
+
+    private final ConcurrentHashMap<Key, String> statements = new ConcurrentHashMap<>();
+
+    SqlTextCache() {}
+
+    /**
+     * Build the bitmask of attributes with a value.
+     * @param values values of the attributes, in the order of the descriptor's list.
+     * @return bitmask with bit {@code i} set when {@code values[i]} is not null, {@code -1} when there are too many attributes.
+     */
+    static long nonNullMask(Object[] values) {
+        if (values.length > 63) return -1;
+
+        long mask = 0;
+
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) mask |= 1L << i;
+        }
+
+        return mask;
+    }
+
+    /**
+     * Look up a statement.
+     * @param operation the operation of the statement.
+     * @param mask attributes contained by the statement, see {@link #nonNullMask(Object[])}.
+     * @return the cached statement, {@code null} on a miss.
+     */
+    String get(Operation operation, long mask) {
+        String statement = mask < 0 ? null : statements.get(new Key(operation, mask));
+
+        if (statement != null) {
+            HITS.increment();
+        } else {
+            MISSES.increment();
+        }
+
+        return statement;
+    }
+
+    /**
+     * Store a statement built after a miss.
+     * @param operation the operation of the statement.
+     * @param mask attributes contained by the statement, see {@link #nonNullMask(Object[])}.
+     * @param statement the generated statement.
+     * @return the cached statement, which is the given one unless another thread stored it first.
+     */
+    String put(Operation operation, long mask, String statement) {
+        if (mask < 0 || SIZE.get() >= MAX_ENTRIES) return statement;
+
+        String previous = statements.putIfAbsent(new Key(operation, mask), statement);
+
+        if (previous != null) return previous;
+
+        SIZE.incrementAndGet();
+        return statement;
+    }
+
+    /**
+     * Get the number of statements cached across all models.
+     * @return count of cached statements.
+     */
+    public static int getSize() {
+        return SIZE.get();
+    }
+
+    /**
+     * Get the number of lookups served from the cache.
+     * @return count of cache hits.
+     */
+    public static long getHits() {
+        return HITS.sum();
+    }
+
+    /**
+     * Get the number of lookups that had to build their statement.
+     * @return count of cache misses.
+     */
+    public static long getMisses() {
+        return MISSES.sum();
+    }
+
+    /**
+     * Get the ratio of lookups served from the cache.
+     * @return hit rate between {@code 0} and {@code 1}, {@code 0} before the first lookup.
+     */
+    public static double getHitRate() {
+        long hits = HITS.sum();
+        long total = hits + MISSES.sum();
+
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    private record Key(Operation operation, long mask) {}
+}
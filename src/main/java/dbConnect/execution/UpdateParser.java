@@ -1,24 +1,26 @@
 package dbConnect.execution;
 
-import dbConnect.DataModel;
-import dbConnect.Utility;
-import dbConnect.models.constrain.MongoOnly;
-import dbConnect.models.constrain.MySQLOnly;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import dbConnect.BatchResult;
+import dbConnect.ChangeTracker;
+import dbConnect.Query;
 import dbConnect.query.MongoDBQuery;
 import dbConnect.query.SqlDBQuery;
 import dbConnect.models.autogen.PrimaryField;
-import dbConnect.models.constrain.MaxLength;
 import dbConnect.models.notnull.NotNullField;
 import org.bson.Document;
-import org.bson.types.ObjectId;
 
-import java.lang.reflect.Field;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
- * Handle update query parsing using reflection.
+ * Handle update query parsing using the model's {@link ModelDescriptor}.
+ * An update by key of a model tracked by {@link ChangeTracker} only sets the attributes that changed.
  */
 public class UpdateParser {
     private final SqlDBQuery sqlDBQuery;
@@ -65,6 +67,37 @@ public class UpdateParser {
         }
     }
 
+    /**
+     * A method to update the entries matching a {@link Query} with the attributes of a model that have a value.
+     * @param model an instance of a Data Model.
+     * @param query the entries to update, its order and limit are not used. {@code null} updates the model's own entry by its key.
+     * @return the count of updated rows.
+     * @param <T> type of the data model to update.
+     * @throws IllegalAccessException data model class is missing required method.
+     * @throws IllegalArgumentException failed to find update value, or the query has no criteria or unknown attributes.
+     * @throws SQLException error while performing MySQL query.
+     * @since 2.2
+     */
+    public <T> int update(T model, Query query) throws IllegalAccessException, IllegalArgumentException, SQLException {
+        if (query == null) {
+            return update(model, (String) null);
+        }
+
+        if (query.getCriteria() == null) {
+            throw new IllegalArgumentException("Query of an update must have a criteria!");
+        }
+
+        ModelDescriptor.of(model.getClass()).checkFields(query.getFields());
+
+        if (mongoDBQuery == null) {
+            return updateSQL(model, query.getWhere(), query.getParams());
+        } else if (sqlDBQuery == null) {
+            return updateMongo(model, query.toFilter());
+        } else {
+            return -1;
+        }
+    }
+
     /**
      * A method invokes {@link SqlDBQuery#setDataSQL(String, Object...)}
      * to update data from an {@code Object} model base on conditions,
@@ -81,63 +114,141 @@ public class UpdateParser {
     private <T> int updateSQL(T model, String condition, Object... params) throws IllegalAccessException, IllegalArgumentException, SQLException {
         if (sqlDBQuery == null) throw new IllegalAccessException("Calling an SQL method without an SQL scope!");
 
-        Class<?> modelClass = model.getClass();
+        ModelDescriptor descriptor = ModelDescriptor.of(model.getClass());
+
+        if (condition == null || condition.isBlank()) {
+            KeyUpdate update = keyUpdate(descriptor, model);
+
+            // Nothing changed since the snapshot, the row already holds these values
+            if (update == null) return 1;
+
+            int count = sqlDBQuery.setDataSQL(update.statement(), update.params());
 
-        if (!DataModel.class.isAssignableFrom(modelClass)) {
-            System.out.println("Warning: '" + modelClass.getName() + " does not extend DataModel, which could lead to missing essential methods.");
+            // Without a matched row nothing was written, the changes are sent again by the next update
+            if (count > 0) ChangeTracker.refresh(model);
+            return count;
         }
 
-        // Prepare primary key, value to update and the condition
+        // Prepare value to update and the condition
 
+        List<FieldDescriptor> fields = descriptor.getSqlUpdateFields();
+        Object[] values = new Object[fields.size()];
         List<Object> val = new ArrayList<>();
-        StringBuilder setTerm = new StringBuilder();
-        Field primaryField = null;
-        Object primaryKeyValue = null;
 
-        Field[] fields = modelClass.getDeclaredFields();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = fields.get(i).getValue(model);
+            if (values[i] != null) val.add(values[i]);
+        }
 
-        for (Field field : fields) {
-            field.setAccessible(true);
+        if (val.isEmpty()) {
+            throw new IllegalArgumentException("No target field for updating specified.");
+        }
 
-            // Find primary field
-            if (field.isAnnotationPresent(PrimaryField.class)) {
-                primaryField = field;
-                primaryKeyValue = field.get(model);
-                continue;
-            }
+        // The set clause only depends on which fields have a value
+        SqlTextCache cache = descriptor.getSqlTextCache();
+        long mask = SqlTextCache.nonNullMask(values);
+        String prefix = cache.get(SqlTextCache.Operation.UPDATE, mask);
 
-            if (field.isAnnotationPresent(MongoOnly.class)) continue;
+        if (prefix == null) {
+            prefix = cache.put(SqlTextCache.Operation.UPDATE, mask, "update " + descriptor.getTableName() + " set " + setTerm(fields, values));
+        }
+
+        val.addAll(List.of(params));
+
+        return  sqlDBQuery.setDataSQL(prefix + " where " + condition, val.toArray());
+    }
+
+    /**
+     * Statement and parameters updating one model by its primary key.
+     * @param statement the update statement.
+     * @param params the values to set, followed by the primary key.
+     */
+    private record KeyUpdate(String statement, Object[] params) {}
 
-            Object fieldValue = getFieldValue(model, field);
+    /**
+     * Build the update of a model's own row, setting every attribute that has a value,
+     * or only the changed ones when the model is tracked.
+     * @param descriptor descriptor of the model.
+     * @param model an instance of the model.
+     * @return the statement and its parameters, {@code null} when a tracked model has no change.
+     * @throws IllegalAccessException When missing an attribute marked with {@link PrimaryField} annotation or that attribute's value is missing.
+     * @throws IllegalArgumentException when no attribute has a value.
+     */
+    private static KeyUpdate keyUpdate(ModelDescriptor descriptor, Object model) throws IllegalAccessException, IllegalArgumentException {
+        List<FieldDescriptor> fields = descriptor.getSqlUpdateFields();
+        Object[] values = new Object[fields.size()];
+        List<Object> val = new ArrayList<>();
+        boolean tracked = ChangeTracker.isTracked(model);
+        boolean hasValue = false;
 
-            if (fieldValue != null) {
-                setTerm.append(field.getName()).append(" = ?, ");
-                val.add(fieldValue);
+        for (int i = 0; i < values.length; i++) {
+            FieldDescriptor field = fields.get(i);
+            Object rawValue = field.get(model);
+            if (rawValue == null) continue;
+
+            values[i] = field.constrain(rawValue);
+            hasValue = true;
+
+            // Unchanged attributes are left out, so the statement only differs by which ones changed.
+            // Snapshots hold raw values, so a trimmed string is compared before trimming
+            if (tracked && !ChangeTracker.isChanged(model, field.getName(), rawValue)) {
+                values[i] = null;
+            } else {
+                val.add(values[i]);
             }
         }
 
-        if (setTerm.isEmpty()) {
+        if (!hasValue) {
             throw new IllegalArgumentException("No target field for updating specified.");
         }
 
-        setTerm.setLength(setTerm.length() - 2); // remove comma and trailing space at the end
-        String tableName = ((DataModel<?>) model).getTableName();
-        String query;
+        if (val.isEmpty()) {
+            return null;
+        }
 
-        if (condition != null  && !condition.isBlank()) {
-            query = "update " + tableName + " set " + setTerm + " where " + condition;
-            val.addAll(List.of(params));
-        } else {
-            if (primaryField == null || primaryKeyValue == null) {
-                throw new IllegalAccessException("Missing value for primary key or the key field itself!");
+        FieldDescriptor primaryField = descriptor.getPrimaryField();
+        Object primaryKeyValue = primaryField != null ? primaryField.get(model) : null;
+
+        if (primaryField == null || primaryKeyValue == null) {
+            throw new IllegalAccessException("Missing value for primary key or the key field itself!");
+        }
+
+        // The generated statement sets every column, so it only fits when none of them is null
+        ModelBinder<?> binder = descriptor.getBinder();
+        String query = binder != null && val.size() == fields.size() ? binder.getUpdateStatement() : null;
+
+        if (query == null) {
+            SqlTextCache cache = descriptor.getSqlTextCache();
+            long mask = SqlTextCache.nonNullMask(values);
+            query = cache.get(SqlTextCache.Operation.UPDATE_BY_KEY, mask);
+
+            if (query == null) {
+                query = cache.put(SqlTextCache.Operation.UPDATE_BY_KEY, mask,
+                        "update " + descriptor.getTableName() + " set " + setTerm(fields, values) + " where " + primaryField.getName() + " = ?");
             }
+        }
+
+        val.add(primaryKeyValue);
+        return new KeyUpdate(query, val.toArray());
+    }
 
-            query = "update " + tableName + " set " + setTerm + " where " + primaryField.getName() + " = ?";
+    /**
+     * Build the set clause of an update from the fields that have a value.
+     * @param fields fields that may be updated.
+     * @param values value of each field in order.
+     * @return the columns joined as {@code column = ?}.
+     */
+    static String setTerm(List<FieldDescriptor> fields, Object[] values) {
+        StringBuilder setTerm = new StringBuilder();
 
-            val.add(primaryKeyValue);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                setTerm.append(fields.get(i).getName()).append(" = ?, ");
+            }
         }
 
-        return  sqlDBQuery.setDataSQL(query, val.toArray());
+        setTerm.setLength(setTerm.length() - 2); // remove comma and trailing space at the end
+        return setTerm.toString();
     }
 
     /**
@@ -154,88 +265,200 @@ public class UpdateParser {
     private <T> int updateMongo(T model, String condition, Object... params) throws IllegalAccessException, IllegalArgumentException {
         if (mongoDBQuery == null) throw new IllegalAccessException("Calling a MongoDB method without a MongoDB scope!");
 
-        Class<?> modelClass = model.getClass();
-
-        if (!DataModel.class.isAssignableFrom(modelClass)) {
-            System.out.println("Warning: '" + modelClass.getName() + " does not extend DataModel, which could lead to missing essential methods.");
-        }
-
-        Document filter = new Document();
+        Document filter = null;
 
         if (condition != null && !condition.isBlank()) {
-            int filterArgCount = Utility.countFilterParams(condition);
+            FilterTemplate template = FilterTemplate.of(condition);
+            int filterArgCount = template.getParamCount();
 
             if (params.length < filterArgCount) {
                 throw new IllegalArgumentException("Not enough filter parameters for declared filter argument");
             }
 
-            filter = Document.parse(Utility.appendPlaceholderValue(condition, params, filterArgCount));
+            filter = template.bind(params);
+        }
+
+        return updateMongo(model, filter);
+    }
+
+    /**
+     * Update the entries matching a filter, or the model's own entry by its {@code _id}.
+     * @param model an instance of a Data Model.
+     * @param filter the entries to update, {@code null} to update by {@code _id}.
+     * @param <T> type of the data model to update.
+     * @return the count of updated rows.
+     * @throws IllegalAccessException when the {@code _id} attribute or its value is missing.
+     * @throws IllegalArgumentException when no attribute has a value.
+     */
+    private <T> int updateMongo(T model, Document filter) throws IllegalAccessException, IllegalArgumentException {
+        ModelDescriptor descriptor = ModelDescriptor.of(model.getClass());
+        boolean byKey = filter == null;
+
+        if (byKey) {
+            filter = idFilter(descriptor, model);
         }
 
+        Document updateFields = setDocument(descriptor, model, byKey);
+
+        // Nothing changed since the snapshot, the entry already holds these values
+        if (updateFields == null) return 1;
+
+        int count = mongoDBQuery.setMongoData(descriptor.getCollectionName()).update(filter, updateFields).count();
+        if (byKey && count > 0) ChangeTracker.refresh(model);
+
+        return count;
+    }
+
+    /**
+     * Build the {@code $set} update of every attribute of a model that has a value.
+     * @param descriptor descriptor of the model.
+     * @param model an instance of the model.
+     * @param changesOnly {@code true} to only set the changed attributes of a tracked model.
+     * @return the update document, {@code null} when a tracked model has no change.
+     * @throws IllegalAccessException when an attribute can not be read.
+     * @throws IllegalArgumentException when no attribute has a value.
+     */
+    private static Document setDocument(ModelDescriptor descriptor, Object model, boolean changesOnly) throws IllegalAccessException, IllegalArgumentException {
         Document updateFields = new Document();
-        Field _idField = null;
-        ObjectId _idValue = null;
-        String collectionName = ((DataModel<?>) model).getCollectionName();
-        Field[] fields = modelClass.getDeclaredFields();
-
-        for (Field field : fields) {
-            field.setAccessible(true);
-            if (field.isAnnotationPresent(MongoOnly.class) && field.getName().equals("_id")) {
-                _idField = field;
-                _idValue = (ObjectId) _idField.get(model);
-                continue;
-            }
+        boolean tracked = changesOnly && ChangeTracker.isTracked(model);
+        boolean hasValue = false;
+
+        for (FieldDescriptor field : descriptor.getMongoUpdateFields()) {
+            Object rawValue = field.get(model);
+            if (rawValue == null) continue;
 
-            if (field.isAnnotationPresent(MySQLOnly.class) || field.isAnnotationPresent(PrimaryField.class)) continue;
+            Object fieldValue = field.constrain(rawValue);
+            hasValue = true;
 
-            Object fieldValue = getFieldValue(model, field);
-            if (fieldValue != null) {
+            if (!tracked || ChangeTracker.isChanged(model, field.getName(), rawValue)) {
                 updateFields.append(field.getName(), fieldValue);
             }
         }
 
-        if (updateFields.isEmpty()) {
+        if (!hasValue) {
             throw new IllegalArgumentException("No target field for updating specified.");
         }
 
-        if (condition == null || condition.isBlank()) {
-            if (_idField == null || _idValue == null) {
-                throw new IllegalAccessException("Missing value for _id or the field itself!");
-            }
+        return updateFields.isEmpty() ? null : new Document("$set", updateFields);
+    }
 
-            filter.append(_idField.getName(), _idValue);
+    /**
+     * Build the filter matching a model's own entry.
+     * @param descriptor descriptor of the model.
+     * @param model an instance of the model.
+     * @return the filter on {@code _id}.
+     * @throws IllegalAccessException when the {@code _id} attribute or its value is missing.
+     */
+    static Document idFilter(ModelDescriptor descriptor, Object model) throws IllegalAccessException {
+        FieldDescriptor _idField = descriptor.getIdField();
+        Object _idValue = _idField != null ? _idField.get(model) : null;
+
+        if (_idField == null || _idValue == null) {
+            throw new IllegalAccessException("Missing value for _id or the field itself!");
         }
 
-        return mongoDBQuery.setMongoData(collectionName).update(filter, new Document("$set", updateFields)).count();
+        return new Document(_idField.getName(), _idValue);
     }
 
     /**
-     * Internal method to get the value of a field.
-     * @param model an instance of a Data Model.
-     * @param field an attribute extracted from a model.
-     * @return value of the field as an {@code object}.
-     * @param <T> type of the data model.
-     * @throws IllegalAccessException when failed to extract field's details.
+     * A method to update many models by their key in batches, grouped by their class.
+     * MySQL sends JDBC batches of the update statements and MongoDB sends {@code bulkWrite} requests of {@code UpdateOneModel}.
+     * Every model sets the attributes that have a value, like {@link #update(Object, String, Object...)} without a condition.
+     * Tracked models without a change are left out of the batches.
+     * Tracked models of a batch that updated fewer entries than it sent stop being tracked,
+     * since it is unknown which of them were written.
+     * @param models instances of Data Models, of one or several classes.
+     * @param batchSize number of updates sent per batch.
+     * @return number of entries updated by each batch.
+     * @param <T> type of the data model to update.
+     * @throws IllegalAccessException when a model is missing its key or the key attribute itself.
+     * @throws IllegalArgumentException when the batch size is not positive, or a model is {@code null} or has no value to update.
+     * @throws SQLException error while performing MySQL query.
+     * @since 2.2
      */
-    private static <T> Object getFieldValue(T model, Field field) throws IllegalAccessException {
-        Object fieldValue = field.get(model);
-
-        if (field.isAnnotationPresent(NotNullField.class) && fieldValue == null) {
-            throw new IllegalArgumentException("Missing value for field: " + field.getName() + " with not null annotation");
+    public <T> BatchResult updateAll(Collection<T> models, int batchSize) throws IllegalAccessException, IllegalArgumentException, SQLException {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive!");
         }
 
-        if (field.isAnnotationPresent(MaxLength.class)) {
-            if (fieldValue instanceof String) {
-                int maxLength = field.getAnnotation(MaxLength.class).value();
+        List<Integer> counts = new ArrayList<>();
 
-                if (((String) fieldValue).length() > maxLength) {
-                    fieldValue = ((String) fieldValue).substring(0, maxLength);
+        for (Map.Entry<Class<?>, List<T>> group : ModelDescriptor.groupByClass(models).entrySet()) {
+            ModelDescriptor descriptor = ModelDescriptor.of(group.getKey());
+
+            if (mongoDBQuery == null && sqlDBQuery != null) {
+                // Models setting the same attributes share a statement
+                Map<String, List<Object[]>> statements = new LinkedHashMap<>();
+                Map<String, List<T>> updated = new LinkedHashMap<>();
+
+                for (T model : group.getValue()) {
+                    KeyUpdate update = keyUpdate(descriptor, model);
+                    if (update == null) continue;
+
+                    statements.computeIfAbsent(update.statement(), statement -> new ArrayList<>()).add(update.params());
+                    updated.computeIfAbsent(update.statement(), statement -> new ArrayList<>()).add(model);
                 }
 
-            } else {
-                throw new IllegalArgumentException("Field: " + field.getName() + " with max length annotation is not a String!");
+                for (Map.Entry<String, List<Object[]>> statement : statements.entrySet()) {
+                    int[] batchCounts = sqlDBQuery.setBatchSQL(statement.getKey(), statement.getValue(), batchSize);
+
+                    for (int batch = 0; batch < batchCounts.length; batch++) {
+                        counts.add(batchCounts[batch]);
+                    }
+
+                    track(updated.get(statement.getKey()), batchCounts, batchSize);
+                }
+            } else if (sqlDBQuery == null && mongoDBQuery != null) {
+                List<WriteModel<Document>> requests = new ArrayList<>();
+                List<T> updated = new ArrayList<>();
+
+                for (T model : group.getValue()) {
+                    Document filter = idFilter(descriptor, model);
+                    Document update = setDocument(descriptor, model, true);
+
+                    if (update != null) {
+                        requests.add(new UpdateOneModel<>(filter, update));
+                        updated.add(model);
+                    }
+                }
+
+                int[] batchCounts = new int[(requests.size() + batchSize - 1) / batchSize];
+
+                for (int batch = 0; batch < batchCounts.length; batch++) {
+                    int start = batch * batchSize;
+                    List<WriteModel<Document>> requestBatch = requests.subList(start, Math.min(requests.size(), start + batchSize));
+                    batchCounts[batch] = mongoDBQuery.setMongoData(descriptor.getCollectionName()).bulkWrite(requestBatch, true).count();
+                    counts.add(batchCounts[batch]);
+                }
+
+                track(updated, batchCounts, batchSize);
+            }
+        }
+
+        return new BatchResult(counts.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Take new snapshots of the tracked models of every batch that updated all of its entries.
+     * Models of a batch with a lower count stop being tracked, so their next update sends every attribute.
+     * @param models the updated models, in the order they were sent.
+     * @param batchCounts number of entries updated by each batch.
+     * @param batchSize number of updates sent per batch.
+     * @throws IllegalAccessException when an attribute can not be read.
+     */
+    private static void track(List<?> models, int[] batchCounts, int batchSize) throws IllegalAccessException {
+        for (int batch = 0; batch < batchCounts.length; batch++) {
+            int start = batch * batchSize;
+            int end = Math.min(models.size(), start + batchSize);
+            boolean written = batchCounts[batch] >= end - start;
+
+            for (Object model : models.subList(start, end)) {
+                if (written) {
+                    ChangeTracker.refresh(model);
+                } else {
+                    ChangeTracker.clear(model);
+                }
             }
         }
-        return fieldValue;
     }
 }
@@ -0,0 +1,260 @@
+package dbConnect.execution;
+
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+import dbConnect.BatchResult;
+import dbConnect.query.MongoDBQuery;
+import dbConnect.query.SqlDBQuery;
+import org.bson.Document;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <div>
+ * Handle upsert query parsing using the model's {@link ModelDescriptor}.
+ * </div>
+ * <div>
+ * An upsert inserts the model's entry, or updates it when an entry with the same key exists, in one round trip:
+ * <ul>
+ *      <li>MySQL uses {@code insert ... on duplicate key update}, inserting the attributes of {@link InsertParser}
+ *      and updating the attributes with a value like {@link UpdateParser}.</li>
+ *      <li>MongoDB uses {@code updateOne} with {@code upsert}, setting the attributes with a value
+ *      and the other insert attributes only on insert.</li>
+ * </ul>
+ * </div>
+ * The model's key must have a value, an auto generated primary key is then sent with the insert.
+ * @since 2.2
+ */
+public class UpsertParser {
+    private final SqlDBQuery sqlDBQuery;
+    private final MongoDBQuery mongoDBQuery;
+
+    /**
+     * Constructor of {@link UpsertParser}.
+     * For NoSQL query, see {@link #UpsertParser(MongoDBQuery)}
+     * @param sqlDBQuery an instance of {@link SqlDBQuery#SqlDBQuery(String, String, String)}
+     */
+    public UpsertParser(SqlDBQuery sqlDBQuery) {
+        this.sqlDBQuery = sqlDBQuery;
+        this.mongoDBQuery = null;
+    }
+
+    /**
+     * Constructor of {@link UpsertParser}.
+     * For SQL query, see {@link #UpsertParser(SqlDBQuery)}
+     * @param mongoDBQuery an instance of {@link MongoDBQuery#MongoDBQuery(String, String)}
+     */
+    public UpsertParser(MongoDBQuery mongoDBQuery) {
+        this.mongoDBQuery = mongoDBQuery;
+        this.sqlDBQuery = null;
+    }
+
+    /**
+     * A method to determine the inner upsert method.
+     * @param model an instance of a Data Model.
+     * @return number of affected entries.
+     * On MySQL {@code 1} for an insert or an entry that already had the same values, since the connection
+     * reports found rows by default, and {@code 2} for an update.
+     * On MongoDB {@code 1} for an insert or an update and {@code 0} when the entry already had the same values.
+     * @param <T> a data model class extending {@link dbConnect.DataModel}
+     * @throws IllegalAccessException when the key attribute or its value is missing.
+     * @throws IllegalArgumentException when a constraint of an attribute is violated.
+     * @throws SQLException occurred when SQL error happened.
+     */
+    public <T> int upsert(T model) throws IllegalAccessException, IllegalArgumentException, SQLException {
+        if (mongoDBQuery == null) {
+            return upsertSQL(model);
+        } else if (sqlDBQuery == null) {
+            return upsertMongo(model);
+        } else {
+            return -1;
+        }
+    }
+
+    private <T> int upsertSQL(T model) throws IllegalAccessException, IllegalArgumentException, SQLException {
+        if (sqlDBQuery == null) throw new IllegalAccessException("Calling an SQL method without an SQL scope!");
+
+        KeyUpsert upsert = keyUpsert(ModelDescriptor.of(model.getClass()), model);
+
+        return sqlDBQuery.setDataSQL(upsert.statement(), upsert.params());
+    }
+
+    private <T> int upsertMongo(T model) throws IllegalAccessException, IllegalArgumentException {
+        if (mongoDBQuery == null) throw new IllegalAccessException("Calling a MongoDB method without a MongoDB scope!");
+
+        ModelDescriptor descriptor = ModelDescriptor.of(model.getClass());
+        Document filter = UpdateParser.idFilter(descriptor, model);
+
+        return mongoDBQuery.setMongoData(descriptor.getCollectionName()).upsert(filter, upsertDocument(descriptor, model, filter)).count();
+    }
+
+    /**
+     * Statement and parameters of an upsert by key.
+     * @param statement the generated or cached statement.
+     * @param params insert values followed by update values.
+     */
+    private record KeyUpsert(String statement, Object[] params) {}
+
+    /**
+     * Build the upsert of a model, its statement is cached by the attributes that have a value to update.
+     * @param descriptor descriptor of the model.
+     * @param model an instance of the model.
+     * @return the statement and its parameters.
+     * @throws IllegalAccessException when the primary key or its value is missing.
+     */
+    private static KeyUpsert keyUpsert(ModelDescriptor descriptor, Object model) throws IllegalAccessException, IllegalArgumentException {
+        FieldDescriptor primaryField = descriptor.getPrimaryField();
+        Object primaryKeyValue = primaryField != null ? primaryField.get(model) : null;
+
+        if (primaryField == null || primaryKeyValue == null) {
+            throw new IllegalAccessException("Missing value for primary key or the key field itself!");
+        }
+
+        // An auto generated key is not an insert attribute, but the upsert must match on it
+        List<FieldDescriptor> insertFields = descriptor.getSqlInsertFields();
+        boolean withKey = !insertFields.contains(primaryField);
+
+        List<Object> val = new ArrayList<>();
+        if (withKey) val.add(primaryKeyValue);
+
+        for (FieldDescriptor field : insertFields) {
+            val.add(field.getValue(model));
+        }
+
+        List<FieldDescriptor> updateFields = descriptor.getSqlUpdateFields();
+        Object[] values = new Object[updateFields.size()];
+        boolean updating = false;
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = updateFields.get(i).getValue(model);
+
+            if (values[i] != null) {
+                val.add(values[i]);
+                updating = true;
+            }
+        }
+
+        SqlTextCache cache = descriptor.getSqlTextCache();
+        long mask = SqlTextCache.nonNullMask(values);
+        String query = cache.get(SqlTextCache.Operation.UPSERT, mask);
+
+        if (query == null) {
+            StringBuilder columns = new StringBuilder();
+            StringBuilder placeholders = new StringBuilder();
+
+            if (withKey) {
+                columns.append(primaryField.getName()).append(", ");
+                placeholders.append("?, ");
+            }
+
+            for (FieldDescriptor field : insertFields) {
+                columns.append(field.getName()).append(", ");
+                placeholders.append("?, ");
+            }
+
+            // Trim comma and space at the end
+            columns.setLength(columns.length() - 2);
+            placeholders.setLength(placeholders.length() - 2);
+
+            // Without a value to update, the existing entry is kept as it is
+            String setTerm = updating ? UpdateParser.setTerm(updateFields, values) : primaryField.getName() + " = " + primaryField.getName();
+
+            query = cache.put(SqlTextCache.Operation.UPSERT, mask, "insert into " + descriptor.getTableName()
+                    + " (" + columns + ") values (" + placeholders + ") on duplicate key update " + setTerm);
+        }
+
+        return new KeyUpsert(query, val.toArray());
+    }
+
+    /**
+     * Build the update of a MongoDB upsert.
+     * Attributes with a value are set, the other insert attributes are only written when the entry is inserted.
+     * @param descriptor descriptor of the model.
+     * @param model an instance of the model.
+     * @param filter the filter on the model's {@code _id}.
+     * @return the update document.
+     */
+    private static Document upsertDocument(ModelDescriptor descriptor, Object model, Document filter) throws IllegalAccessException, IllegalArgumentException {
+        Document setFields = new Document();
+
+        for (FieldDescriptor field : descriptor.getMongoUpdateFields()) {
+            Object fieldValue = field.getValue(model);
+            if (fieldValue != null) {
+                setFields.append(field.getName(), fieldValue);
+            }
+        }
+
+        // A field can not be both set and set on insert, and _id comes from the filter
+        Document insertFields = InsertParser.insertDocument(descriptor, model);
+        insertFields.keySet().removeAll(setFields.keySet());
+        insertFields.keySet().removeAll(filter.keySet());
+
+        Document update = new Document();
+        if (!setFields.isEmpty()) update.append("$set", setFields);
+        update.append("$setOnInsert", insertFields.isEmpty() ? filter : insertFields);
+
+        return update;
+    }
+
+    /**
+     * A method to upsert many models by their key in batches, grouped by their class.
+     * MySQL uses JDBC batching of the statements shared by models with the same attributes
+     * and MongoDB sends {@code bulkWrite} requests of {@code UpdateOneModel} with {@code upsert}.
+     * @param models instances of Data Models, of one or several classes.
+     * @param batchSize number of entries sent per batch.
+     * @return number of entries affected by each batch.
+     * @param <T> a data model class extending {@link dbConnect.DataModel}
+     * @throws IllegalAccessException when a key attribute or its value is missing.
+     * @throws IllegalArgumentException when the batch size is not positive, a model is {@code null},
+     * or a constraint of an attribute is violated.
+     * @throws SQLException occurred when SQL error happened.
+     */
+    public <T> BatchResult upsertAll(Collection<T> models, int batchSize) throws IllegalAccessException, IllegalArgumentException, SQLException {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive!");
+        }
+
+        List<Integer> counts = new ArrayList<>();
+
+        for (Map.Entry<Class<?>, List<T>> group : ModelDescriptor.groupByClass(models).entrySet()) {
+            ModelDescriptor descriptor = ModelDescriptor.of(group.getKey());
+
+            if (mongoDBQuery == null && sqlDBQuery != null) {
+                // Models setting the same attributes share a statement
+                Map<String, List<Object[]>> statements = new LinkedHashMap<>();
+
+                for (T model : group.getValue()) {
+                    KeyUpsert upsert = keyUpsert(descriptor, model);
+                    statements.computeIfAbsent(upsert.statement(), statement -> new ArrayList<>()).add(upsert.params());
+                }
+
+                for (Map.Entry<String, List<Object[]>> statement : statements.entrySet()) {
+                    for (int count : sqlDBQuery.setBatchSQL(statement.getKey(), statement.getValue(), batchSize)) {
+                        counts.add(count);
+                    }
+                }
+            } else if (sqlDBQuery == null && mongoDBQuery != null) {
+                List<WriteModel<Document>> requests = new ArrayList<>();
+                UpdateOptions options = new UpdateOptions().upsert(true);
+
+                for (T model : group.getValue()) {
+                    Document filter = UpdateParser.idFilter(descriptor, model);
+                    requests.add(new UpdateOneModel<>(filter, upsertDocument(descriptor, model, filter), options));
+                }
+
+                for (int start = 0; start < requests.size(); start += batchSize) {
+                    List<WriteModel<Document>> batch = requests.subList(start, Math.min(requests.size(), start + batchSize));
+                    counts.add(mongoDBQuery.setMongoData(descriptor.getCollectionName()).bulkWrite(batch, true).count());
+                }
+            }
+        }
+
+        return new BatchResult(counts.stream().mapToInt(Integer::intValue).toArray());
+    }
+}
@@ -0,0 +1,228 @@
+package dbConnect.mapper;
+
+import dbConnect.execution.FieldDescriptor;
+import dbConnect.execution.ModelDescriptor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Constructor;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <div>
+ * A {@link ResultSetInterface} mapping columns to the model's attributes of the same name.<br>
+ * Column labels are resolved to attributes once per {@link ResultSet}, reusing the columns built for earlier
+ * result sets with the same labels, then every row is read by column index with the getter matching
+ * the attribute's type, so primitive attributes are set without boxing.
+ * </div>
+ * <div>
+ * This class contains:
+ * <ul>
+ *      <li>{@link #AutoResultSetMapper(Class)} build the mapper of a data model class.</li>
+ *      <li>{@link #map(ResultSet)} map the current row to a new instance of the model.</li>
+ * </ul>
+ * </div>
+ * The model needs an empty constructor. Columns without a matching attribute are ignored,
+ * and {@link dbConnect.models.constrain.MongoOnly} attributes are never mapped.<br>
+ * It is used by default when {@code getTableMap()} returns {@code null} and no generated binder provides a mapper.
+ * An instance is thread safe and can be shared.
+ * @param <T> a {@code DataModel} Object that required parsing.
+ * @since 2.2
+ */
+public class AutoResultSetMapper<T> implements ResultSetInterface<T> {
+    private final Class<T> modelClass;
+    private final MethodHandle constructor;
+    private final Map<String, FieldDescriptor> fields = new HashMap<>();
+
+    /**
+     * Columns built per signature of column labels, bounded by {@link #MAX_PLANS}.
+     */
+    private final Map<String, Column[]> plans = new ConcurrentHashMap<>();
+
+    /**
+     * The column plan of the result set each thread mapped last, so concurrent queries do not replace each other's.
+     */
+    private final ThreadLocal<Plan> plan = new ThreadLocal<>();
+
+    private static final int MAX_PLANS = 32;
+
+    /**
+     * Constructor of {@link AutoResultSetMapper}.
+     * @param modelClass a data model class with an empty constructor.
+     * @throws IllegalArgumentException when the model is missing an empty constructor.
+     */
+    public AutoResultSetMapper(Class<T> modelClass) {
+        this.modelClass = modelClass;
+
+        try {
+            Constructor<T> emptyConstructor = modelClass.getDeclaredConstructor();
+            emptyConstructor.setAccessible(true);
+            this.constructor = MethodHandles.lookup().unreflectConstructor(emptyConstructor).asType(MethodType.methodType(Object.class));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalArgumentException("Model '" + modelClass.getName() + "' is missing an empty Constructor.");
+        }
+
+        for (FieldDescriptor field : ModelDescriptor.of(modelClass).getFields()) {
+            if (field.isMongoOnly()) continue;
+            fields.putIfAbsent(field.getName().toLowerCase(Locale.ROOT), field);
+        }
+    }
+
+    @Override
+    public T map(ResultSet resultSet) throws SQLException {
+        Plan current = plan.get();
+
+        if (current == null || current.resultSet.get() != resultSet) {
+            current = createPlan(resultSet);
+            plan.set(current);
+        }
+
+        try {
+            Object model = (Object) constructor.invokeExact();
+
+            for (Column column : current.columns) {
+                column.read(model, resultSet);
+            }
+
+            return modelClass.cast(model);
+        } catch (SQLException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new SQLException("Failed to map a row to '" + modelClass.getName() + "'.", e);
+        }
+    }
+
+    /**
+     * Resolve the result set's column labels to the model's attributes.
+     * @param resultSet the result set being mapped.
+     * @return the columns to read for every row.
+     * @throws SQLException when the metadata can not be read.
+     */
+    private Plan createPlan(ResultSet resultSet) throws SQLException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        String[] labels = new String[metaData.getColumnCount()];
+
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1).toLowerCase(Locale.ROOT);
+        }
+
+        String signature = String.join("\0", labels);
+        Column[] columns = plans.get(signature);
+
+        if (columns == null) {
+            columns = createColumns(labels);
+
+            // Queries build their column list from a few attribute sets, anything beyond is not kept
+            if (plans.size() < MAX_PLANS) {
+                plans.putIfAbsent(signature, columns);
+            }
+        }
+
+        return new Plan(new WeakReference<>(resultSet), columns);
+    }
+
+    private Column[] createColumns(String[] labels) {
+        List<Column> columns = new ArrayList<>();
+
+        for (int i = 0; i < labels.length; i++) {
+            FieldDescriptor field = fields.get(labels[i]);
+
+            if (field != null) {
+                Column column = column(field, i + 1);
+                if (column != null) columns.add(column);
+            }
+        }
+
+        return columns.toArray(new Column[0]);
+    }
+
+    /**
+     * Build the reader of one column, picking the getter by the attribute's type.
+     * @param field the attribute receiving the value.
+     * @param index index of the column, starting from 1.
+     * @return the column's reader, {@code null} when the attribute can not be set.
+     */
+    private static Column column(FieldDescriptor field, int index) {
+        Class<?> type = field.getType();
+        MethodHandle setter;
+
+        try {
+            setter = MethodHandles.lookup().unreflectSetter(field.getField());
+        } catch (IllegalAccessException e) {
+            System.out.println("Warning: Field: " + field.getName() + " can not be set, it is skipped by automatic mapping.");
+            return null;
+        }
+
+        if (type == int.class) {
+            MethodHandle set = setter.asType(MethodType.methodType(void.class, Object.class, int.class));
+            return (model, resultSet) -> set.invokeExact(model, resultSet.getInt(index));
+        } else if (type == long.class) {
+            MethodHandle set = setter.asType(MethodType.methodType(void.class, Object.class, long.class));
+            return (model, resultSet) -> set.invokeExact(model, resultSet.getLong(index));
+        } else if (type == double.class) {
+            MethodHandle set = setter.asType(MethodType.methodType(void.class, Object.class, double.class));
+            return (model, resultSet) -> set.invokeExact(model, resultSet.getDouble(index));
+        } else if (type == float.class) {
+            MethodHandle set = setter.asType(MethodType.methodType(void.class, Object.class, float.class));
+            return (model, resultSet) -> set.invokeExact(model, resultSet.getFloat(index));
+        } else if (type == boolean.class) {
+            MethodHandle set = setter.asType(MethodType.methodType(void.class, Object.class, boolean.class));
+            return (model, resultSet) -> set.invokeExact(model, resultSet.getBoolean(index));
+        } else if (type == short.class) {
+            MethodHandle set = setter.asType(MethodType.methodType(void.class, Object.class, short.class));
+            return (model, resultSet) -> set.invokeExact(model, resultSet.getShort(index));
+        } else if (type == byte.class) {
+            MethodHandle set = setter.asType(MethodType.methodType(void.class, Object.class, byte.class));
+            return (model, resultSet) -> set.invokeExact(model, resultSet.getByte(index));
+        } else if (type == char.class) {
+            MethodHandle set = setter.asType(MethodType.methodType(void.class, Object.class, char.class));
+            return (model, resultSet) -> {
+                String value = resultSet.getString(index);
+                set.invokeExact(model, value == null || value.isEmpty() ? '\0' : value.charAt(0));
+            };
+        }
+
+        MethodHandle set = setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+
+        if (type == String.class) {
+            return (model, resultSet) -> set.invokeExact(model, (Object) resultSet.getString(index));
+        } else if (type == BigDecimal.class) {
+            return (model, resultSet) -> set.invokeExact(model, (Object) resultSet.getBigDecimal(index));
+        } else if (type == java.util.Date.class || type == java.sql.Timestamp.class) {
+            return (model, resultSet) -> set.invokeExact(model, (Object) resultSet.getTimestamp(index));
+        } else if (type == java.sql.Date.class) {
+            return (model, resultSet) -> set.invokeExact(model, (Object) resultSet.getDate(index));
+        } else if (type == java.sql.Time.class) {
+            return (model, resultSet) -> set.invokeExact(model, (Object) resultSet.getTime(index));
+        } else if (type == byte[].class) {
+            return (model, resultSet) -> set.invokeExact(model, (Object) resultSet.getBytes(index));
+        }
+
+        // Wrapper and java.time types, converted by the driver
+        return (model, resultSet) -> set.invokeExact(model, (Object) resultSet.getObject(index, type));
+    }
+
+    /**
+     * Reader of one column into one attribute.
+     */
+    @FunctionalInterface
+    private interface Column {
+        void read(Object model, ResultSet resultSet) throws Throwable;
+    }
+
+    /**
+     * Columns of one result set, which is only weakly held so a closed result set can be collected.
+     */
+    private record Plan(WeakReference<ResultSet> resultSet, Column[] columns) {}
+}
@@ -0,0 +1,510 @@
+package dbConnect.query;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Iterator;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <div>
+ * A bounded JDBC connection pool used by {@link SqlDBQuery}.<br>
+ * Connections handed out by {@link #getConnection()} return to the pool when closed,
+ * so a {@code try-with-resources} block is enough to release them.
+ * </div>
+ * <div>
+ * This class contains:
+ * <ul>
+ *      <li>{@link #getConnection()} borrow a connection, waiting up to the acquire timeout.</li>
+ *      <li>{@link #close()} close every connection and stop the pool.</li>
+ *      <li>Gauges such as {@link #getActiveConnections()} and {@link #getIdleConnections()} for monitoring.</li>
+ * </ul>
+ * </div>
+ * Idle connections above the minimum size are evicted after the idle timeout
+ * and borrowed connections held longer than the leak detection threshold are reported.
+ * Each connection also keeps a cache of prepared statements keyed by SQL text.
+ * @see PoolConfig
+ * @since 2.2
+ */
+public class ConnectionPool implements AutoCloseable {
+    private final String dbUrl;
+    private final Properties connectionProperties = new Properties();
+    private final PoolConfig config;
+
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledConnection> idleConnections = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> borrowedConnections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed = false;
+
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong destroyedCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong leakCount = new AtomicLong();
+    private final AtomicLong statementHitCount = new AtomicLong();
+    private final AtomicLong statementMissCount = new AtomicLong();
+    private final AtomicLong statementEvictionCount = new AtomicLong();
+
+    /**
+     * Constructor of {@link ConnectionPool}.
+     * The pool is filled up to its minimum size in the background.
+     * @param dbUrl link to the database server.
+     * @param user username of the account.
+     * @param password account's password.
+     * @param config settings of the pool.
+     * @throws IllegalArgumentException when the minimum size is larger than the maximum size.
+     */
+    public ConnectionPool(String dbUrl, String user, String password, PoolConfig config) {
+        if (config.getMinSize() > config.getMaxSize()) {
+            throw new IllegalArgumentException("Minimum pool size is larger than maximum pool size!");
+        }
+
+        this.dbUrl = dbUrl;
+        this.config = config;
+
+        if (user != null) connectionProperties.setProperty("user", user);
+        if (password != null) connectionProperties.setProperty("password", password);
+        if (config.isUseServerPrepStmts()) connectionProperties.setProperty("useServerPrepStmts", "true");
+        if (config.isUseCursorFetch()) connectionProperties.setProperty("useCursorFetch", "true");
+        if (config.isRewriteBatchedStatements()) connectionProperties.setProperty("rewriteBatchedStatements", "true");
+
+        this.permits = new Semaphore(config.getMaxSize(), true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "DBConnect-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long interval = housekeepingInterval(config);
+        housekeeper.execute(this::fillToMinimum);
+        housekeeper.scheduleWithFixedDelay(this::housekeep, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrow a connection from the pool.
+     * An idle connection is reused when available, otherwise a new one is opened as long as the pool is not full.
+     * @return a pooled connection, closing it returns it to the pool.
+     * @throws SQLTimeoutException when no connection became available within the acquire timeout.
+     * @throws SQLException when the pool is closed or a new connection could not be opened.
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) throw new SQLException("Connection pool is closed!");
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getAcquireTimeoutMillis());
+
+        try {
+            if (!permits.tryAcquire(config.getAcquireTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                timeoutCount.incrementAndGet();
+                throw new SQLTimeoutException("Timed out after " + config.getAcquireTimeoutMillis() + "ms waiting for a pooled connection.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a pooled connection.", e);
+        }
+
+        try {
+            PooledConnection pooled = takeConnection(deadline);
+            pooled.lend(config.getLeakDetectionThresholdMillis() > 0);
+            borrowedConnections.add(pooled);
+            borrowCount.incrementAndGet();
+
+            return pooled.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private PooledConnection takeConnection(long deadline) throws SQLException {
+        while (true) {
+            PooledConnection pooled = idleConnections.pollFirst();
+
+            if (pooled == null) {
+                if (reserveSlot()) {
+                    return openConnection();
+                }
+
+                // Pool is full but another connection is on its way back or being opened by the housekeeper.
+                long remaining = deadline - System.nanoTime();
+
+                try {
+                    pooled = remaining > 0 ? idleConnections.pollFirst(remaining, TimeUnit.NANOSECONDS) : null;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted while waiting for a pooled connection.", e);
+                }
+
+                if (pooled == null) {
+                    timeoutCount.incrementAndGet();
+                    throw new SQLTimeoutException("Timed out after " + config.getAcquireTimeoutMillis() + "ms waiting for a pooled connection.");
+                }
+            }
+
+            if (!config.isValidateOnBorrow() || isValid(pooled)) {
+                return pooled;
+            }
+
+            destroy(pooled);
+        }
+    }
+
+    private boolean isValid(PooledConnection pooled) {
+        try {
+            return pooled.connection.isValid(config.getValidationTimeoutSeconds());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private boolean reserveSlot() {
+        while (true) {
+            int current = totalConnections.get();
+            if (current >= config.getMaxSize()) return false;
+            if (totalConnections.compareAndSet(current, current + 1)) return true;
+        }
+    }
+
+    private PooledConnection openConnection() throws SQLException {
+        try {
+            Connection connection = DriverManager.getConnection(dbUrl, connectionProperties);
+            createdCount.incrementAndGet();
+            return new PooledConnection(connection);
+        } catch (SQLException | RuntimeException e) {
+            totalConnections.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void release(PooledConnection pooled) {
+        borrowedConnections.remove(pooled);
+
+        try {
+            if (closed || pooled.connection.isClosed()) {
+                destroy(pooled);
+                return;
+            }
+
+            if (!pooled.connection.getAutoCommit()) {
+                pooled.connection.rollback();
+                pooled.connection.setAutoCommit(true);
+            }
+
+            if (pooled.statementCache != null) {
+                pooled.statementCache.releaseAll();
+            }
+
+            pooled.lastAccess = System.nanoTime();
+            idleConnections.offerFirst(pooled);
+        } catch (SQLException e) {
+            destroy(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void destroy(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        destroyedCount.incrementAndGet();
+
+        try {
+            pooled.connection.close();
+        } catch (SQLException ignored) {
+            // Connection is being discarded anyway.
+        }
+    }
+
+    private void housekeep() {
+        try {
+            evictIdleConnections();
+            detectLeaks();
+            fillToMinimum();
+        } catch (Exception e) {
+            System.out.println("Connection pool housekeeping failed: " + e.getMessage());
+        }
+    }
+
+    private void evictIdleConnections() {
+        if (config.getIdleTimeoutMillis() <= 0) return;
+
+        long idleTimeout = TimeUnit.MILLISECONDS.toNanos(config.getIdleTimeoutMillis());
+        long now = System.nanoTime();
+
+        // The least recently used connections sit at the tail of the deque.
+        Iterator<PooledConnection> iterator = idleConnections.descendingIterator();
+        while (iterator.hasNext() && totalConnections.get() > config.getMinSize()) {
+            PooledConnection pooled = iterator.next();
+
+            if (now - pooled.lastAccess > idleTimeout && idleConnections.remove(pooled)) {
+                destroy(pooled);
+            }
+        }
+    }
+
+    private void detectLeaks() {
+        if (config.getLeakDetectionThresholdMillis() <= 0) return;
+
+        long threshold = TimeUnit.MILLISECONDS.toNanos(config.getLeakDetectionThresholdMillis());
+        long now = System.nanoTime();
+
+        for (PooledConnection pooled : borrowedConnections) {
+            Throwable trace = pooled.borrowTrace;
+
+            if (!pooled.leakReported && trace != null && now - pooled.borrowedAt > threshold) {
+                pooled.leakReported = true;
+                leakCount.incrementAndGet();
+                System.out.println("Warning: a connection has been borrowed for more than "
+                        + config.getLeakDetectionThresholdMillis() + "ms, possible connection leak.");
+                trace.printStackTrace(System.out);
+            }
+        }
+    }
+
+    private void fillToMinimum() {
+        while (!closed && totalConnections.get() < config.getMinSize() && reserveSlot()) {
+            try {
+                idleConnections.offerLast(openConnection());
+            } catch (SQLException e) {
+                System.out.println("Connection pool could not open a connection: " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private static long housekeepingInterval(PoolConfig config) {
+        long interval = 30_000;
+
+        if (config.getIdleTimeoutMillis() > 0) {
+            interval = Math.min(interval, config.getIdleTimeoutMillis() / 2);
+        }
+
+        if (config.getLeakDetectionThresholdMillis() > 0) {
+            interval = Math.min(interval, config.getLeakDetectionThresholdMillis() / 2);
+        }
+
+        return Math.max(interval, 100);
+    }
+
+    /**
+     * Close every idle connection and stop the pool.
+     * Borrowed connections are closed once they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+
+        PooledConnection pooled;
+        while ((pooled = idleConnections.pollFirst()) != null) {
+            destroy(pooled);
+        }
+    }
+
+    /**
+     * Check if the pool has been closed.
+     * @return {@code true} if {@link #close()} was called.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Get the settings of this pool.
+     * @return the {@link PoolConfig} given to this pool.
+     */
+    public PoolConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Get the number of open connections, both idle and borrowed.
+     * @return number of open connections.
+     */
+    public int getTotalConnections() {
+        return totalConnections.get();
+    }
+
+    /**
+     * Get the number of connections waiting in the pool.
+     * @return number of idle connections.
+     */
+    public int getIdleConnections() {
+        return idleConnections.size();
+    }
+
+    /**
+     * Get the number of connections currently borrowed.
+     * @return number of borrowed connections.
+     */
+    public int getActiveConnections() {
+        return borrowedConnections.size();
+    }
+
+    /**
+     * Get the estimated number of threads waiting for a connection.
+     * @return number of waiting threads.
+     */
+    public int getPendingThreads() {
+        return permits.getQueueLength();
+    }
+
+    /**
+     * Get the number of times a connection has been borrowed.
+     * @return total borrow count.
+     */
+    public long getBorrowCount() {
+        return borrowCount.get();
+    }
+
+    /**
+     * Get the number of physical connections opened by the pool.
+     * @return total created connection count.
+     */
+    public long getCreatedCount() {
+        return createdCount.get();
+    }
+
+    /**
+     * Get the number of physical connections closed by the pool, including evicted and invalid ones.
+     * @return total destroyed connection count.
+     */
+    public long getDestroyedCount() {
+        return destroyedCount.get();
+    }
+
+    /**
+     * Get the number of borrow attempts that timed out.
+     * @return total timeout count.
+     */
+    public long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    /**
+     * Get the number of connections reported as possible leaks.
+     * @return total leak count.
+     */
+    public long getLeakCount() {
+        return leakCount.get();
+    }
+
+    /**
+     * Get the number of prepared statements reused from a connection's statement cache.
+     * @return total statement cache hit count.
+     */
+    public long getStatementCacheHits() {
+        return statementHitCount.get();
+    }
+
+    /**
+     * Get the number of prepared statements that had to be prepared because they were not cached.
+     * @return total statement cache miss count.
+     */
+    public long getStatementCacheMisses() {
+        return statementMissCount.get();
+    }
+
+    /**
+     * Get the number of prepared statements closed to make room in a connection's statement cache.
+     * @return total statement cache eviction count.
+     */
+    public long getStatementCacheEvictions() {
+        return statementEvictionCount.get();
+    }
+
+    /**
+     * A physical connection owned by the pool.
+     */
+    private final class PooledConnection {
+        private final Connection connection;
+        private final StatementCache statementCache;
+        private volatile long lastAccess = System.nanoTime();
+        private volatile long borrowedAt;
+        private volatile Throwable borrowTrace;
+        private volatile boolean leakReported;
+
+        private PooledConnection(Connection connection) {
+            this.connection = connection;
+            this.statementCache = config.getStatementCacheSize() > 0
+                    ? new StatementCache(connection, config.getStatementCacheSize(), statementHitCount, statementMissCount, statementEvictionCount)
+                    : null;
+        }
+
+        private void lend(boolean recordTrace) {
+            borrowedAt = System.nanoTime();
+            borrowTrace = recordTrace ? new Throwable("Connection borrowed here") : null;
+            leakReported = false;
+        }
+
+        private Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class },
+                    new ConnectionHandle(this));
+        }
+    }
+
+    /**
+     * Hands out a {@link PooledConnection} once; closing the handle returns the connection to the pool.
+     */
+    private final class ConnectionHandle implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean released = false;
+
+        private ConnectionHandle(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!released) {
+                        released = true;
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return released || pooled.connection.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled" + pooled.connection;
+                default:
+                    break;
+            }
+
+            if (released) throw new SQLException("Connection has already been returned to the pool.");
+
+            if (pooled.statementCache != null && method.getName().equals("prepareStatement")
+                    && method.getParameterCount() == 1 && method.getReturnType() == PreparedStatement.class) {
+                return pooled.statementCache.prepare((String) args[0]);
+            }
+
+            try {
+                return method.invoke(pooled.connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -10,6 +10,7 @@ public class ConnectorString {
     private final String user;
     private final String password;
     private final String replicaSet;
+    private final PoolConfig poolConfig;
 
     /**
      * Constructor for MySQL database connection.
@@ -20,12 +21,27 @@ public class ConnectorString {
      * @param password password of the account.
      */
     public ConnectorString(String host, int port, String databaseName, String user, String password) {
+        this(host, port, databaseName, user, password, new PoolConfig());
+    }
+
+    /**
+     * Constructor for MySQL database connection with custom connection pool settings.
+     * @param host address of the host.
+     * @param port port number of the database.
+     * @param databaseName name of the database.
+     * @param user the account that will be connected to the database.
+     * @param password password of the account.
+     * @param poolConfig settings of the connection pool.
+     * @since 2.2
+     */
+    public ConnectorString(String host, int port, String databaseName, String user, String password, PoolConfig poolConfig) {
         this.host = host;
         this.port = port;
         this.databaseName = databaseName;
         this.user = user;
         this.password = password;
         this.replicaSet = null;
+        this.poolConfig = poolConfig;
     }
 
     /**
@@ -44,6 +60,7 @@ public class ConnectorString {
         this.user = user;
         this.password = password;
         this.replicaSet = replicaSet;
+        this.poolConfig = null;
     }
 
     /**
@@ -92,6 +109,15 @@ public class ConnectorString {
         return password;
     }
 
+    /**
+     * Get the connection pool settings stored in connector string.
+     * @return pool settings for MySQL, {@code null} for MongoDB.
+     * @since 2.2
+     */
+    public PoolConfig getPoolConfig() {
+        return poolConfig;
+    }
+
     /**
      * Get currently stored database's name.
      * @return name of the database
@@ -117,7 +143,7 @@ public class ConnectorString {
      * @return a ConnectorString with default values for MongoDB.
      */
     public static ConnectorString setDefaultLocalMongoConnection(String databaseName) {
-        return new ConnectorString("localhost", 27017, databaseName, null, null, null);
+        return new ConnectorString("localhost", 27017, databaseName, null, null, (String) null);
     }
 
     /**
@@ -141,7 +167,7 @@ public class ConnectorString {
      * @return a ConnectorString with given values for MongoDB.
      */
     public static ConnectorString setCustomLocalMongoConnection(String databaseName, int port, String user, String password) {
-        return new ConnectorString("localhost", port, databaseName, user, password, null);
+        return new ConnectorString("localhost", port, databaseName, user, password, (String) null);
     }
 
     /**
@@ -170,6 +196,21 @@ public class ConnectorString {
         return new ConnectorString(host, port, databaseName, user, password);
     }
 
+    /**
+     * Connect to a MySQL server with custom connection pool settings.
+     * @param host the address of the database server.
+     * @param databaseName the name of the database to connect to.
+     * @param port the port where this connection is located.
+     * @param user the username of the account used to connect with the database.
+     * @param password the password of the account.
+     * @param poolConfig the settings of the connection pool.
+     * @return a ConnectorString with given values for MySQL.
+     * @since 2.2
+     */
+    public static ConnectorString setSQLConnection(String host, String databaseName, int port, String user, String password, PoolConfig poolConfig) {
+        return new ConnectorString(host, port, databaseName, user, password, poolConfig);
+    }
+
     /**
      * Connect to a MongoDB server.
      * @param host the address of the database server.
@@ -180,7 +221,7 @@ public class ConnectorString {
      * @return a ConnectorString with given values for MongoDB.
      */
     public static ConnectorString setMongoConnection(String host, String databaseName, int port, String user, String password) {
-        return new ConnectorString(host, port, databaseName, user, password, null);
+        return new ConnectorString(host, port, databaseName, user, password, (String) null);
     }
 
     /**
@@ -5,6 +5,7 @@ import dbConnect.map.SQLMap;
 import org.bson.Document;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Low level database interface.
@@ -32,6 +33,34 @@ public interface DBInterface {
      */
     <T> List<T> loadMongoData(String collectionName, Document filter, Document projection, MongoMap<T> model);
 
+    /**
+     * A low level method to lazily fetch data from an SQL database server.
+     * The returned stream holds a connection until it is exhausted or closed.
+     * @param query SQL script, often with placeholders.
+     * @param model A Mapping method of a Data Model Class.
+     * @param fetchSize number of rows fetched per round trip, if supported by the connection.
+     * @param params Values for placeholders in corresponding order.
+     * @return a lazy {@link Stream} of instances of a specified data model.
+     * @param <T> Object
+     * @throws SQLException when there is an error occurred during execution.
+     * @since 2.2
+     */
+    <T> Stream<T> streamSQLData(String query, SQLMap<T> model, int fetchSize, Object... params) throws SQLException;
+
+    /**
+     * A low level method to lazily fetch data from a Mongo database server.
+     * The returned stream holds a cursor until it is exhausted or closed.
+     * @param collectionName the collection to query.
+     * @param filter filtering document for the query.
+     * @param projection projection document for the query.
+     * @param model a Mapping method of a Data Model Class.
+     * @param batchSize number of documents fetched per round trip, {@code 0} for the driver's default.
+     * @return a lazy {@link Stream} of instances of a specified data model.
+     * @param <T> Object
+     * @since 2.2
+     */
+    <T> Stream<T> streamMongoData(String collectionName, Document filter, Document projection, MongoMap<T> model, int batchSize);
+
     /**
      * A low level method to update data with an SQL database server.
      * @param query SQL script, often with placeholders.
@@ -41,6 +70,48 @@ public interface DBInterface {
      */
     int setDataSQL(String query, Object... params) throws SQLException;
 
+    /**
+     * A low level method to run one SQL statement for many sets of parameters with JDBC batching.
+     * @param query SQL script, often with placeholders.
+     * @param rows values for placeholders of every execution, in corresponding order.
+     * @param batchSize number of executions sent per round trip.
+     * @return number of rows affected by each batch.
+     * @throws SQLException when there is an error occurred during execution.
+     * @since 2.2
+     */
+    int[] setBatchSQL(String query, List<Object[]> rows, int batchSize) throws SQLException;
+
+    /**
+     * Start a transaction on the current thread, every following operation of the thread joins it.
+     * @throws IllegalStateException when the current thread already has a transaction.
+     * @throws SQLException when the transaction could not be started.
+     * @since 2.2
+     */
+    void beginTransaction() throws SQLException;
+
+    /**
+     * Commit the transaction of the current thread.
+     * @throws IllegalStateException when the current thread has no transaction.
+     * @throws SQLException when the commit failed.
+     * @since 2.2
+     */
+    void commitTransaction() throws SQLException;
+
+    /**
+     * Roll back the transaction of the current thread.
+     * @throws IllegalStateException when the current thread has no transaction.
+     * @throws SQLException when the rollback failed.
+     * @since 2.2
+     */
+    void rollbackTransaction() throws SQLException;
+
+    /**
+     * Check if the current thread has a transaction.
+     * @return {@code true} when operations of the current thread run in a transaction.
+     * @since 2.2
+     */
+    boolean inTransaction();
+
     /**
      * Builder opening method for MongoDB query.
      * @param collectionName the canonical name of the collection.
@@ -0,0 +1,122 @@
+package dbConnect.query;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports MongoDB queries that an existing index could cover,
+ * meaning the filter and every projected field are part of the index so no document has to be read.<br>
+ * Disabled by default, see {@link MongoDBQuery#setIndexAdvice(boolean)}.
+ * Indexes of a collection are listed again after {@link #INDEX_TTL_NANOS}, and every query shape is inspected
+ * once per listing. A listing that failed is retried after {@link #RETRY_NANOS}.
+ * @since 2.2
+ */
+final class IndexAdvisor {
+    static final long INDEX_TTL_NANOS = TimeUnit.MINUTES.toNanos(10);
+    static final long RETRY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Map<String, CollectionIndexes> indexes = new ConcurrentHashMap<>();
+    private volatile boolean enabled = false;
+
+    IndexAdvisor() {}
+
+    /**
+     * Indexes of a collection and the query shapes inspected against them.
+     * @param indexes the listed indexes, {@code null} when the listing failed.
+     * @param expiresAt {@link System#nanoTime()} after which the indexes are listed again.
+     * @param inspected query shapes already inspected.
+     */
+    private record CollectionIndexes(List<Document> indexes, long expiresAt, Set<String> inspected) {}
+
+    /**
+     * Enable or disable the inspection of queries.
+     * @param enabled {@code true} to report queries an index could cover.
+     */
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) indexes.clear();
+    }
+
+    /**
+     * Inspect a query and print a notice when an index of the collection could cover it.
+     * @param collectionName name of the collection.
+     * @param collection the collection being queried.
+     * @param filter the query's filter.
+     * @param projection the query's projection.
+     */
+    void inspect(String collectionName, MongoCollection<Document> collection, Document filter, Document projection) {
+        if (!enabled || filter.isEmpty() || projection.isEmpty()) return;
+
+        Set<String> filterKeys = new TreeSet<>(filter.keySet());
+        Set<String> projected = new TreeSet<>();
+        boolean includesId = true;
+
+        // Logical operators hide which fields are used
+        for (String key : filterKeys) {
+            if (key.startsWith("$")) return;
+        }
+
+        for (Map.Entry<String, Object> entry : projection.entrySet()) {
+            boolean included = !(Boolean.FALSE.equals(entry.getValue())
+                    || (entry.getValue() instanceof Number number && number.intValue() == 0));
+
+            if (entry.getKey().equals("_id")) {
+                includesId = included;
+            } else if (included) {
+                projected.add(entry.getKey());
+            }
+        }
+
+        long now = System.nanoTime();
+        CollectionIndexes listed = indexes.get(collectionName);
+
+        // Listing blocks on the server, so it is not done while holding a lock of the map
+        if (listed == null || now - listed.expiresAt() > 0) {
+            List<Document> found = listIndexes(collection);
+            listed = new CollectionIndexes(found, now + (found != null ? INDEX_TTL_NANOS : RETRY_NANOS), ConcurrentHashMap.newKeySet());
+            indexes.put(collectionName, listed);
+        }
+
+        if (listed.indexes() == null || !listed.inspected().add(filterKeys + "" + projected + includesId)) return;
+
+        for (Document index : listed.indexes()) {
+            Object key = index.get("key");
+
+            if (!(key instanceof Document indexKey) || indexKey.isEmpty()) continue;
+
+            Set<String> indexFields = indexKey.keySet();
+
+            // The index has to be usable for the filter and hold every returned field
+            if (!filterKeys.contains(indexFields.iterator().next())) continue;
+            if (!indexFields.containsAll(filterKeys) || !indexFields.containsAll(projected)) continue;
+
+            if (!includesId || indexFields.contains("_id")) {
+                System.out.println("Info: query on collection '" + collectionName + "' filtering " + filterKeys
+                        + " is covered by index '" + index.get("name") + "'.");
+            } else {
+                System.out.println("Info: query on collection '" + collectionName + "' filtering " + filterKeys
+                        + " could be covered by index '" + index.get("name") + "' if _id was excluded from the projection.");
+            }
+
+            return;
+        }
+    }
+
+    private static List<Document> listIndexes(MongoCollection<Document> collection) {
+        try {
+            return collection.listIndexes().into(new ArrayList<>());
+        } catch (MongoException e) {
+            System.out.println("Warning: failed to list indexes: " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -1,34 +1,176 @@
 package dbConnect.query;
 
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
 import com.mongodb.client.*;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.client.result.InsertManyResult;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.InsertOneResult;
 import com.mongodb.client.result.UpdateResult;
 import dbConnect.map.MongoMap;
 import dbConnect.map.SQLMap;
 import org.bson.Document;
+import org.bson.UuidRepresentation;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
- * Low level MongoDB operation.
+ * Low level MongoDB operation.<br>
+ * With {@link #setIndexAdvice(boolean)}, queries that an existing index could cover are reported once per query shape.
+ * Between {@link #beginTransaction()} and its commit or rollback, every operation of the thread runs in one {@link ClientSession}.
  */
-public class MongoDBQuery implements DBInterface {
+public class MongoDBQuery implements DBInterface, AutoCloseable {
+    private final MongoClient mongoClient;
     private final MongoDatabase mongoDatabase;
-    private MongoCollection<Document> collection;
+    private final IndexAdvisor indexAdvisor;
+    private final ThreadLocal<ClientSession> session;
+    private final MongoCollection<Document> collection;
+    private final boolean initState;
     private int rowCount = 0;
-    private boolean initState = false;
 
     /**
      * Default constructor for MongoDBQuery, use to initiate MongoClient instance and mongoDatabase.
+     * {@link java.util.UUID} values are stored as standard binary UUIDs,
+     * unless the connection string sets its own {@code uuidRepresentation}.
      * @param connectionString the connection string for the MongoDB service.
      * @param dbName name of the database to connect to.
      */
     public MongoDBQuery(String connectionString, String dbName) {
-        MongoClient mongoClient = MongoClients.create(connectionString);
+        ConnectionString connection = new ConnectionString(connectionString);
+        UuidRepresentation uuidRepresentation = connection.getUuidRepresentation();
+
+        this.mongoClient = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(connection)
+                .uuidRepresentation(uuidRepresentation != null ? uuidRepresentation : UuidRepresentation.STANDARD)
+                .build());
         this.mongoDatabase = mongoClient.getDatabase(dbName);
+        this.indexAdvisor = new IndexAdvisor();
+        this.session = new ThreadLocal<>();
+        this.collection = null;
+        this.initState = false;
+    }
+
+    /**
+     * Constructor of one data operation on a collection, sharing the client of its parent.
+     * @param parent the MongoDBQuery owning the client.
+     * @param collectionName the collection to perform operation on.
+     */
+    private MongoDBQuery(MongoDBQuery parent, String collectionName) {
+        this.mongoClient = parent.mongoClient;
+        this.mongoDatabase = parent.mongoDatabase;
+        this.indexAdvisor = parent.indexAdvisor;
+        this.session = parent.session;
+        this.collection = mongoDatabase.getCollection(collectionName);
+        this.initState = true;
+    }
+
+    /**
+     * Enable or disable reports of queries that an existing index could cover, disabled by default.
+     * Indexes of a collection are listed on its first inspected query, and again every ten minutes.
+     * @param enabled {@code true} to print a notice once per query shape an index could cover.
+     * @since 2.2
+     */
+    public void setIndexAdvice(boolean enabled) {
+        indexAdvisor.setEnabled(enabled);
+    }
+
+    /**
+     * Close the underlying MongoClient and its connections.
+     * Closing an instance returned by {@link #setMongoData(String)} does nothing, the client belongs to its parent.
+     * @since 2.2
+     */
+    @Override
+    public void close() {
+        if (!initState) {
+            mongoClient.close();
+        }
+    }
+
+    /**
+     * Start a multi-document transaction on the current thread.<br>
+     * A {@link ClientSession} is started, and every operation of the thread runs in it
+     * until {@link #commitTransaction()} or {@link #rollbackTransaction()}.
+     * MongoDB only supports transactions on a replica set or a sharded cluster.
+     * @throws IllegalStateException when the current thread already has a transaction.
+     * @since 2.2
+     */
+    @Override
+    public void beginTransaction() {
+        if (session.get() != null) {
+            throw new IllegalStateException("A transaction is already active on this thread!");
+        }
+
+        ClientSession clientSession = mongoClient.startSession();
+
+        try {
+            clientSession.startTransaction();
+        } catch (RuntimeException e) {
+            clientSession.close();
+            throw e;
+        }
+
+        session.set(clientSession);
+    }
+
+    /**
+     * Commit the transaction of the current thread and end its session.
+     * @throws IllegalStateException when the current thread has no transaction.
+     * @since 2.2
+     */
+    @Override
+    public void commitTransaction() {
+        endTransaction(true);
+    }
+
+    /**
+     * Abort the transaction of the current thread and end its session.
+     * @throws IllegalStateException when the current thread has no transaction.
+     * @since 2.2
+     */
+    @Override
+    public void rollbackTransaction() {
+        endTransaction(false);
+    }
+
+    /**
+     * Check if the current thread has a transaction.
+     * @return {@code true} when operations of the current thread run in a transaction.
+     * @since 2.2
+     */
+    @Override
+    public boolean inTransaction() {
+        return session.get() != null;
+    }
+
+    private void endTransaction(boolean commit) {
+        ClientSession clientSession = session.get();
+
+        if (clientSession == null) {
+            throw new IllegalStateException("No transaction is active on this thread!");
+        }
+
+        session.remove();
+
+        // Ending the session aborts anything left uncommitted
+        try (clientSession) {
+            if (commit) {
+                clientSession.commitTransaction();
+            } else {
+                clientSession.abortTransaction();
+            }
+        }
     }
 
     /**
@@ -45,14 +187,96 @@ public class MongoDBQuery implements DBInterface {
         List<T> rows = new ArrayList<>();
 
         MongoCollection<Document> collection = mongoDatabase.getCollection(collectionName);
+        indexAdvisor.inspect(collectionName, collection, filter, projection);
+
+        for (Document doc : find(collection, filter).projection(projection)) {
+            rows.add(model.map(doc));
+        }
+
+        return rows;
+    }
+
+    /**
+     * A low level method to fetch a sorted and limited range of data from a Mongo database server.
+     * @param collectionName the collection to query.
+     * @param filter data filtering conditions.
+     * @param projection limit on which field to return.
+     * @param sort order of the returned entries.
+     * @param limit maximum number of entries to return.
+     * @param model a Mapping method of a Data Model Class.
+     * @return {@link List} of instances of a specified data model.
+     * @param <T> Type of the data model
+     * @since 2.2
+     */
+    public <T> List<T> loadMongoData(String collectionName, Document filter, Document projection, Document sort, int limit, MongoMap<T> model) {
+        List<T> rows = new ArrayList<>();
+
+        MongoCollection<Document> collection = mongoDatabase.getCollection(collectionName);
+        indexAdvisor.inspect(collectionName, collection, filter, projection);
 
-        for (Document doc : collection.find(filter).projection(projection)) {
+        for (Document doc : find(collection, filter).projection(projection).sort(sort).limit(limit)) {
             rows.add(model.map(doc));
         }
 
         return rows;
     }
 
+    /**
+     * A low level method to count data on a Mongo database server without fetching it.
+     * @param collectionName the collection to query.
+     * @param filter data filtering conditions.
+     * @return number of matching entries.
+     * @since 2.2
+     */
+    public long countMongoData(String collectionName, Document filter) {
+        MongoCollection<Document> collection = mongoDatabase.getCollection(collectionName);
+        ClientSession clientSession = session.get();
+
+        return clientSession != null ? collection.countDocuments(clientSession, filter) : collection.countDocuments(filter);
+    }
+
+    /**
+     * A low level method to lazily fetch data from a Mongo database server.
+     * Documents are read through a {@link MongoCursor} and mapped one at a time while the stream is consumed.
+     * The cursor stays open until the stream is exhausted or closed, so it should be used in a try-with-resources block.
+     * @param collectionName the collection to query.
+     * @param filter data filtering conditions.
+     * @param projection limit on which field to return.
+     * @param model a Mapping method of a Data Model Class.
+     * @param batchSize number of documents fetched per round trip, {@code 0} for the driver's default.
+     * @return a lazy {@link Stream} of instances of a specified data model.
+     * @param <T> Type of the data model
+     * @since 2.2
+     */
+    @Override
+    public <T> Stream<T> streamMongoData(String collectionName, Document filter, Document projection, MongoMap<T> model, int batchSize) {
+        MongoCollection<Document> collection = mongoDatabase.getCollection(collectionName);
+        indexAdvisor.inspect(collectionName, collection, filter, projection);
+
+        FindIterable<Document> find = find(collection, filter).projection(projection);
+
+        if (batchSize > 0) {
+            find = find.batchSize(batchSize);
+        }
+
+        MongoCursor<Document> cursor = find.cursor();
+
+        Iterator<T> rows = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return cursor.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return model.map(cursor.next());
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(cursor::close);
+    }
+
     /**
      * <div>
      *     Method uses to initiate MongoDB CRUD operation.
@@ -61,20 +285,23 @@ public class MongoDBQuery implements DBInterface {
      *     Supported chain method:
      *     <ul>
      *     <li>{@link #insert(Document)}</li>
+     *     <li>{@link #insertMany(List, boolean)}</li>
+     *     <li>{@link #bulkWrite(List, boolean)}</li>
      *     <li>{@link #delete(Document)}</li>
      *     <li>{@link #update(Document, Document)}</li>
+     *     <li>{@link #upsert(Document, Document)}</li>
      *     </ul>
      * </div>
      * <div>
      *     To return number of affected entries, call {@link #count()} at the end of chain.
      * </div>
+     * Since 2.2, a new instance is returned for every call, so concurrent operations never share their collection or count.
      * @param collectionName the collection to perform operation on.
+     * @return a new MongoDBQuery bound to the collection.
      */
     @Override
     public MongoDBQuery setMongoData(String collectionName) {
-        this.collection = mongoDatabase.getCollection(collectionName);
-        this.initState = true;
-        return this;
+        return new MongoDBQuery(this, collectionName);
     }
 
     /**
@@ -85,13 +312,52 @@ public class MongoDBQuery implements DBInterface {
     public MongoDBQuery insert(Document document) {
         checkInit();
 
-        InsertOneResult result = collection.insertOne(document);
+        ClientSession clientSession = session.get();
+        InsertOneResult result = clientSession != null ? collection.insertOne(clientSession, document) : collection.insertOne(document);
 
         rowCount = result.wasAcknowledged() ? 1 : 0;
 
         return this;
     }
 
+    /**
+     * MongoDB insert operation of many entries in one round trip.
+     * @param documents the entries to be inserted.
+     * @param ordered {@code true} to stop at the first failed entry, {@code false} to insert every other entry.
+     * @return the current MongoDBQuery instance.
+     * @since 2.2
+     */
+    public MongoDBQuery insertMany(List<Document> documents, boolean ordered) {
+        checkInit();
+
+        InsertManyOptions options = new InsertManyOptions().ordered(ordered);
+        ClientSession clientSession = session.get();
+        InsertManyResult result = clientSession != null ? collection.insertMany(clientSession, documents, options) : collection.insertMany(documents, options);
+
+        rowCount = result.wasAcknowledged() ? result.getInsertedIds().size() : 0;
+
+        return this;
+    }
+
+    /**
+     * MongoDB bulk operation, sending many writes in one round trip.
+     * @param requests the writes to perform, such as {@code UpdateOneModel} or {@code DeleteOneModel}.
+     * @param ordered {@code true} to stop at the first failed write, {@code false} to perform every other write.
+     * @return the current MongoDBQuery instance.
+     * @since 2.2
+     */
+    public MongoDBQuery bulkWrite(List<? extends WriteModel<Document>> requests, boolean ordered) {
+        checkInit();
+
+        BulkWriteOptions options = new BulkWriteOptions().ordered(ordered);
+        ClientSession clientSession = session.get();
+        BulkWriteResult result = clientSession != null ? collection.bulkWrite(clientSession, requests, options) : collection.bulkWrite(requests, options);
+
+        rowCount = result.getInsertedCount() + result.getModifiedCount() + result.getDeletedCount() + result.getUpserts().size();
+
+        return this;
+    }
+
     /**
      * MongoDB delete operation
      * @param filter condition(s) to match for deletion.
@@ -100,7 +366,8 @@ public class MongoDBQuery implements DBInterface {
     public MongoDBQuery delete(Document filter) {
         checkInit();
 
-        DeleteResult result = collection.deleteMany(filter);
+        ClientSession clientSession = session.get();
+        DeleteResult result = clientSession != null ? collection.deleteMany(clientSession, filter) : collection.deleteMany(filter);
 
         rowCount = (int) result.getDeletedCount();
 
@@ -116,12 +383,31 @@ public class MongoDBQuery implements DBInterface {
     public MongoDBQuery update(Document filter, Document update) {
         checkInit();
 
-        UpdateResult result = collection.updateMany(filter, update);
+        ClientSession clientSession = session.get();
+        UpdateResult result = clientSession != null ? collection.updateMany(clientSession, filter, update) : collection.updateMany(filter, update);
         rowCount = (int) result.getModifiedCount();
 
         return this;
     }
 
+    /**
+     * MongoDB upsert operation, updating the entry matching the filter or inserting it when there is none.
+     * @param filter condition(s) to match one entry, its equality fields are part of an inserted entry.
+     * @param update values to update the entry with, {@code $setOnInsert} values only apply to an inserted entry.
+     * @return the current MongoDBQuery instance.
+     * @since 2.2
+     */
+    public MongoDBQuery upsert(Document filter, Document update) {
+        checkInit();
+
+        UpdateOptions options = new UpdateOptions().upsert(true);
+        ClientSession clientSession = session.get();
+        UpdateResult result = clientSession != null ? collection.updateOne(clientSession, filter, update, options) : collection.updateOne(filter, update, options);
+        rowCount = (int) result.getModifiedCount() + (result.getUpsertedId() != null ? 1 : 0);
+
+        return this;
+    }
+
     /**
      * Get the number of entries affected by data operation.
      * @return number of affected entries.
@@ -130,6 +416,14 @@ public class MongoDBQuery implements DBInterface {
         return rowCount;
     }
 
+    /**
+     * Start a find on a collection, in the session of the current thread's transaction if any.
+     */
+    private FindIterable<Document> find(MongoCollection<Document> collection, Document filter) {
+        ClientSession clientSession = session.get();
+        return clientSession != null ? collection.find(clientSession, filter) : collection.find(filter);
+    }
+
     private void checkInit() {
         if (!initState) {
             throw new IllegalStateException("missing setMongoData() in the call chain!");
@@ -145,4 +439,14 @@ public class MongoDBQuery implements DBInterface {
     public int setDataSQL(String query, Object... params) throws SQLException {
         throw new UnsupportedOperationException("SQL operation not allowed in Mongo queries.");
     }
+
+    @Override
+    public int[] setBatchSQL(String query, List<Object[]> rows, int batchSize) throws SQLException {
+        throw new UnsupportedOperationException("SQL operation not allowed in Mongo queries.");
+    }
+
+    @Override
+    public <T> Stream<T> streamSQLData(String query, SQLMap<T> model, int fetchSize, Object... params) throws SQLException {
+        throw new UnsupportedOperationException("SQL operation not allowed in Mongo queries.");
+    }
 }
@@ -0,0 +1,258 @@
+package dbConnect.query;
+
+/**
+ * Settings of the {@link ConnectionPool} used by {@link SqlDBQuery}.
+ * <p>
+ * Every setter returns the current instance, so a configuration can be written in one chain:
+ * <pre>
+ * {@code
+ * PoolConfig poolConfig = new PoolConfig()
+ *         .setMinSize(2)
+ *         .setMaxSize(20)
+ *         .setAcquireTimeoutMillis(5_000);
+ * }
+ * </pre>
+ * @since 2.2
+ */
+public class PoolConfig {
+    private int minSize = 1;
+    private int maxSize = 10;
+    private long acquireTimeoutMillis = 30_000;
+    private long idleTimeoutMillis = 600_000;
+    private long leakDetectionThresholdMillis = 0;
+    private int validationTimeoutSeconds = 5;
+    private boolean validateOnBorrow = true;
+    private int statementCacheSize = 64;
+    private boolean useServerPrepStmts = false;
+    private boolean useCursorFetch = false;
+    private boolean rewriteBatchedStatements = true;
+
+    /**
+     * Default constructor of PoolConfig.
+     * <div>
+     * Default values:
+     * <ul>
+     *      <li>minimum size: {@code 1}</li>
+     *      <li>maximum size: {@code 10}</li>
+     *      <li>acquire timeout: {@code 30} seconds</li>
+     *      <li>idle timeout: {@code 10} minutes</li>
+     *      <li>leak detection: disabled</li>
+     *      <li>validation on borrow: enabled, {@code 5} seconds timeout</li>
+     *      <li>statement cache: {@code 64} statements per connection</li>
+     *      <li>server-side prepared statements: disabled</li>
+     *      <li>cursor based fetch: disabled</li>
+     *      <li>rewriting batched statements: enabled</li>
+     * </ul>
+     * </div>
+     */
+    public PoolConfig() {}
+
+    /**
+     * Get the number of connections the pool keeps open even when they are idle.
+     * @return minimum size of the pool.
+     */
+    public int getMinSize() {
+        return minSize;
+    }
+
+    /**
+     * Set the number of connections the pool keeps open even when they are idle.
+     * @param minSize minimum size of the pool, must not be negative.
+     * @return the current instance of PoolConfig.
+     */
+    public PoolConfig setMinSize(int minSize) {
+        if (minSize < 0) throw new IllegalArgumentException("Minimum pool size must not be negative!");
+        this.minSize = minSize;
+        return this;
+    }
+
+    /**
+     * Get the maximum number of connections the pool can open at the same time.
+     * @return maximum size of the pool.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Set the maximum number of connections the pool can open at the same time.
+     * @param maxSize maximum size of the pool, must be at least 1.
+     * @return the current instance of PoolConfig.
+     */
+    public PoolConfig setMaxSize(int maxSize) {
+        if (maxSize < 1) throw new IllegalArgumentException("Maximum pool size must be at least 1!");
+        this.maxSize = maxSize;
+        return this;
+    }
+
+    /**
+     * Get how long a caller waits for a free connection before giving up.
+     * @return acquire timeout in milliseconds.
+     */
+    public long getAcquireTimeoutMillis() {
+        return acquireTimeoutMillis;
+    }
+
+    /**
+     * Set how long a caller waits for a free connection before giving up.
+     * @param acquireTimeoutMillis acquire timeout in milliseconds.
+     * @return the current instance of PoolConfig.
+     */
+    public PoolConfig setAcquireTimeoutMillis(long acquireTimeoutMillis) {
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        return this;
+    }
+
+    /**
+     * Get how long a connection may stay unused before it is closed.
+     * @return idle timeout in milliseconds, {@code 0} means idle connections are never evicted.
+     */
+    public long getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    /**
+     * Set how long a connection may stay unused before it is closed.
+     * Connections below the minimum size are never evicted.
+     * @param idleTimeoutMillis idle timeout in milliseconds, {@code 0} to disable eviction.
+     * @return the current instance of PoolConfig.
+     */
+    public PoolConfig setIdleTimeoutMillis(long idleTimeoutMillis) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        return this;
+    }
+
+    /**
+     * Get how long a connection may be borrowed before it is reported as a possible leak.
+     * @return leak detection threshold in milliseconds, {@code 0} means disabled.
+     */
+    public long getLeakDetectionThresholdMillis() {
+        return leakDetectionThresholdMillis;
+    }
+
+    /**
+     * Set how long a connection may be borrowed before it is reported as a possible leak.
+     * When enabled, the pool records where each connection was borrowed from.
+     * @param leakDetectionThresholdMillis leak detection threshold in milliseconds, {@code 0} to disable.
+     * @return the current instance of PoolConfig.
+     */
+    public PoolConfig setLeakDetectionThresholdMillis(long leakDetectionThresholdMillis) {
+        this.leakDetectionThresholdMillis = leakDetectionThresholdMillis;
+        return this;
+    }
+
+    /**
+     * Get the timeout used for checking a connection before lending it.
+     * @return validation timeout in seconds.
+     */
+    public int getValidationTimeoutSeconds() {
+        return validationTimeoutSeconds;
+    }
+
+    /**
+     * Set the timeout used for checking a connection before lending it.
+     * @param validationTimeoutSeconds validation timeout in seconds.
+     * @return the current instance of PoolConfig.
+     */
+    public PoolConfig setValidationTimeoutSeconds(int validationTimeoutSeconds) {
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        return this;
+    }
+
+    /**
+     * Check if idle connections are validated before being lent.
+     * @return {@code true} if validation on borrow is enabled.
+     */
+    public boolean isValidateOnBorrow() {
+        return validateOnBorrow;
+    }
+
+    /**
+     * Set if idle connections are validated with {@link java.sql.Connection#isValid(int)} before being lent.
+     * @param validateOnBorrow {@code true} to enable validation on borrow.
+     * @return the current instance of PoolConfig.
+     */
+    public PoolConfig setValidateOnBorrow(boolean validateOnBorrow) {
+        this.validateOnBorrow = validateOnBorrow;
+        return this;
+    }
+
+    /**
+     * Get the number of prepared statements each connection keeps for reuse.
+     * @return statement cache size per connection, {@code 0} means disabled.
+     */
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    /**
+     * Set the number of prepared statements each connection keeps for reuse.
+     * Statements are keyed by their SQL text and the least recently used one is closed when the cache is full.
+     * @param statementCacheSize statement cache size per connection, {@code 0} to disable.
+     * @return the current instance of PoolConfig.
+     */
+    public PoolConfig setStatementCacheSize(int statementCacheSize) {
+        if (statementCacheSize < 0) throw new IllegalArgumentException("Statement cache size must not be negative!");
+        this.statementCacheSize = statementCacheSize;
+        return this;
+    }
+
+    /**
+     * Check if statements are prepared on the MySQL server instead of being emulated by the driver.
+     * @return {@code true} if server-side prepared statements are used.
+     */
+    public boolean isUseServerPrepStmts() {
+        return useServerPrepStmts;
+    }
+
+    /**
+     * Set if statements are prepared on the MySQL server instead of being emulated by the driver.
+     * Combined with the statement cache, the server parses each statement only once per connection.
+     * @param useServerPrepStmts {@code true} to use server-side prepared statements.
+     * @return the current instance of PoolConfig.
+     */
+    public PoolConfig setUseServerPrepStmts(boolean useServerPrepStmts) {
+        this.useServerPrepStmts = useServerPrepStmts;
+        return this;
+    }
+
+    /**
+     * Check if streamed queries read rows from a server-side cursor in batches of their fetch size.
+     * @return {@code true} if cursor based fetch is used.
+     */
+    public boolean isUseCursorFetch() {
+        return useCursorFetch;
+    }
+
+    /**
+     * Set if streamed queries read rows from a server-side cursor in batches of their fetch size.
+     * When disabled, a streamed query reads its rows one at a time from the server.
+     * @param useCursorFetch {@code true} to use cursor based fetch.
+     * @return the current instance of PoolConfig.
+     */
+    public PoolConfig setUseCursorFetch(boolean useCursorFetch) {
+        this.useCursorFetch = useCursorFetch;
+        return this;
+    }
+
+    /**
+     * Check if batched inserts are sent as multi-row statements instead of one statement per row.
+     * @return {@code true} if batched statements are rewritten.
+     * @since 2.2
+     */
+    public boolean isRewriteBatchedStatements() {
+        return rewriteBatchedStatements;
+    }
+
+    /**
+     * Set if batched inserts are sent as multi-row statements instead of one statement per row.
+     * When enabled, a batch of inserts takes a single round trip to the server.
+     * @param rewriteBatchedStatements {@code true} to rewrite batched statements.
+     * @return the current instance of PoolConfig.
+     * @since 2.2
+     */
+    public PoolConfig setRewriteBatchedStatements(boolean rewriteBatchedStatements) {
+        this.rewriteBatchedStatements = rewriteBatchedStatements;
+        return this;
+    }
+}
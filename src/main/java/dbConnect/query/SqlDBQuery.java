@@ -4,9 +4,17 @@ import dbConnect.map.MongoMap;
 import dbConnect.map.SQLMap;
 import org.bson.Document;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * <div>
@@ -14,32 +22,176 @@ import java.util.List;
  * Constructor:
  * <ul>
  *      <li>{@link #SqlDBQuery(String, String, String)} initialize DBQuery</li>
+ *      <li>{@link #SqlDBQuery(String, String, String, PoolConfig)} initialize DBQuery with custom pool settings</li>
  * </ul>
  * </div>
  * <div>
  * This class contains:
  * <ul>
  *      <li>{@link #loadSQLData(String, SQLMap, Object...)} fetching data from database server.</li>
+ *      <li>{@link #streamSQLData(String, SQLMap, int, Object...)} lazily fetching data from database server.</li>
  *      <li>{@link #setDataSQL(String, Object...)} insert or modify data from database server.</li>
+ *      <li>{@link #setBatchSQL(String, List, int)} insert or modify many rows with JDBC batching.</li>
+ *      <li>{@link #beginTransaction()}, {@link #commitTransaction()} and {@link #rollbackTransaction()}
+ *      run every query of the current thread on one connection and commit them once.</li>
+ *      <li>{@link #getConnectionPool()} get the connection pool for monitoring.</li>
+ *      <li>{@link #close()} close all pooled connections.</li>
  * </ul>
  * </div>
+ * Connections are borrowed from a {@link ConnectionPool} instead of opening a new one for every query,
+ * or pinned to the current thread for the whole of a transaction.
  */
 
-public class SqlDBQuery implements DBInterface {
-    private final String dbUrl;
-    private final String user;
-    private final String password;
+public class SqlDBQuery implements DBInterface, AutoCloseable {
+    private final ConnectionPool connectionPool;
+    private final ThreadLocal<PinnedConnection> transaction = new ThreadLocal<>();
+
+    /**
+     * The connection of a transaction, and the view of it used by queries which can not close it.
+     */
+    private record PinnedConnection(Connection connection, Connection view) {}
 
     /**
      * Constructor of {@link SqlDBQuery}.
+     * This overload uses the default {@link PoolConfig}.
      * @param dbUrl link to the database server.
      * @param user username of the account.
      * @param password account's password.
      */
     public SqlDBQuery(String dbUrl, String user, String password) {
-        this.dbUrl = dbUrl;
-        this.user = user;
-        this.password = password;
+        this(dbUrl, user, password, new PoolConfig());
+    }
+
+    /**
+     * Constructor of {@link SqlDBQuery}.
+     * @param dbUrl link to the database server.
+     * @param user username of the account.
+     * @param password account's password.
+     * @param poolConfig settings of the connection pool.
+     * @since 2.2
+     */
+    public SqlDBQuery(String dbUrl, String user, String password, PoolConfig poolConfig) {
+        this.connectionPool = new ConnectionPool(dbUrl, user, password, poolConfig);
+    }
+
+    /**
+     * Get the connection pool used by this instance.
+     * @return the {@link ConnectionPool} of this instance.
+     * @since 2.2
+     */
+    public ConnectionPool getConnectionPool() {
+        return connectionPool;
+    }
+
+    /**
+     * Close all pooled connections of this instance.
+     * @since 2.2
+     */
+    @Override
+    public void close() {
+        connectionPool.close();
+    }
+
+    /**
+     * Start a transaction on the current thread.<br>
+     * One connection is borrowed with auto commit disabled, and every query of the thread runs on it
+     * until {@link #commitTransaction()} or {@link #rollbackTransaction()}.
+     * @throws IllegalStateException when the current thread already has a transaction.
+     * @throws SQLException when no connection could be borrowed.
+     * @since 2.2
+     */
+    @Override
+    public void beginTransaction() throws SQLException {
+        if (transaction.get() != null) {
+            throw new IllegalStateException("A transaction is already active on this thread!");
+        }
+
+        Connection conn = connectionPool.getConnection();
+
+        try {
+            conn.setAutoCommit(false);
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+
+        transaction.set(new PinnedConnection(conn, unclosable(conn)));
+    }
+
+    /**
+     * Commit the transaction of the current thread and return its connection to the pool.
+     * @throws IllegalStateException when the current thread has no transaction.
+     * @throws SQLException when the commit failed, the transaction is then rolled back.
+     * @since 2.2
+     */
+    @Override
+    public void commitTransaction() throws SQLException {
+        endTransaction(true);
+    }
+
+    /**
+     * Roll back the transaction of the current thread and return its connection to the pool.
+     * @throws IllegalStateException when the current thread has no transaction.
+     * @throws SQLException when the rollback failed.
+     * @since 2.2
+     */
+    @Override
+    public void rollbackTransaction() throws SQLException {
+        endTransaction(false);
+    }
+
+    /**
+     * Check if the current thread has a transaction.
+     * @return {@code true} when queries of the current thread run in a transaction.
+     * @since 2.2
+     */
+    @Override
+    public boolean inTransaction() {
+        return transaction.get() != null;
+    }
+
+    private void endTransaction(boolean commit) throws SQLException {
+        PinnedConnection pinned = transaction.get();
+
+        if (pinned == null) {
+            throw new IllegalStateException("No transaction is active on this thread!");
+        }
+
+        transaction.remove();
+
+        // Closing returns the connection, the pool rolls back anything left uncommitted
+        try (Connection conn = pinned.connection()) {
+            if (commit) {
+                conn.commit();
+            } else {
+                conn.rollback();
+            }
+        }
+    }
+
+    /**
+     * Borrow the connection of a query, the one of the current thread's transaction if any.
+     * @return a connection, closing it returns it to the pool unless it belongs to a transaction.
+     * @throws SQLException when no connection could be borrowed.
+     */
+    private Connection borrow() throws SQLException {
+        PinnedConnection pinned = transaction.get();
+        return pinned != null ? pinned.view() : connectionPool.getConnection();
+    }
+
+    /**
+     * Wrap a transaction's connection, so queries closing their connection leave it open.
+     */
+    private static Connection unclosable(Connection conn) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+            if (method.getName().equals("close")) return null;
+
+            try {
+                return method.invoke(conn, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
     }
 
     /**
@@ -55,7 +207,7 @@ public class SqlDBQuery implements DBInterface {
     public <T> List<T> loadSQLData(String query, SQLMap<T> model, Object... params) throws SQLException {
         List<T> rows = new ArrayList<>();
 
-        try (Connection conn = DriverManager.getConnection(dbUrl, user, password);
+        try (Connection conn = borrow();
              PreparedStatement statement = conn.prepareStatement(query)) {
 
             for (int i = 0; i < params.length; i++) {
@@ -67,12 +219,94 @@ public class SqlDBQuery implements DBInterface {
                     rows.add(model.map(resultSet));
                 }
             }
-        } catch (Exception e) {
+        } catch (SQLException | RuntimeException e) {
             System.out.println(e);
+            throw e;
         }
         return rows;
     }
 
+    /**
+     * A low level method to lazily fetch data from a database server.
+     * <p>
+     * Rows are read through a forward-only cursor and mapped one at a time while the stream is consumed,
+     * so memory use does not grow with the size of the result.
+     * The statement bypasses the statement cache and the connection stays borrowed until the stream
+     * is exhausted or closed, so it should be used in a try-with-resources block.
+     * </p>
+     * @param query SQL script, often with placeholders.
+     * @param model A Mapping method of a Data Model Class.
+     * @param fetchSize number of rows fetched per round trip when {@link PoolConfig#isUseCursorFetch()} is enabled,
+     *                  otherwise rows are streamed one at a time.
+     * @param params Values for placeholders in corresponding order.
+     * @return a lazy {@link Stream} of instances of a specified data model.
+     * @param <T> Object
+     * @throws SQLException when there is an error occurred during execution.
+     * @since 2.2
+     */
+    @Override
+    public <T> Stream<T> streamSQLData(String query, SQLMap<T> model, int fetchSize, Object... params) throws SQLException {
+        Connection conn = borrow();
+        PreparedStatement statement = null;
+
+        try {
+            statement = conn.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+
+            // MySQL only streams with this marker value, unless cursor fetch is enabled
+            boolean cursorFetch = connectionPool.getConfig().isUseCursorFetch() && fetchSize > 0;
+            statement.setFetchSize(cursorFetch ? fetchSize : Integer.MIN_VALUE);
+
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+
+            ResultSet resultSet = statement.executeQuery();
+            Runnable release = release(resultSet, statement, conn);
+
+            Spliterator<T> rows = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super T> action) {
+                    try {
+                        if (!resultSet.next()) {
+                            release.run();
+                            return false;
+                        }
+
+                        action.accept(model.map(resultSet));
+                        return true;
+                    } catch (SQLException e) {
+                        release.run();
+                        throw new IllegalStateException("Failure during data streaming: " + e.getMessage(), e);
+                    }
+                }
+            };
+
+            return StreamSupport.stream(rows, false).onClose(release);
+        } catch (SQLException | RuntimeException e) {
+            if (statement != null) statement.close();
+            conn.close();
+            System.out.println(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Build the task closing a streamed query's resources, which only runs once.
+     */
+    private static Runnable release(ResultSet resultSet, PreparedStatement statement, Connection conn) {
+        AtomicBoolean released = new AtomicBoolean(false);
+
+        return () -> {
+            if (!released.compareAndSet(false, true)) return;
+
+            try (conn; statement; resultSet) {
+                // Closed in reverse order
+            } catch (SQLException e) {
+                System.out.println(e);
+            }
+        };
+    }
+
     /**
      * A low level method to update data with a database server.
      * @param query SQL script, often with placeholders.
@@ -82,7 +316,7 @@ public class SqlDBQuery implements DBInterface {
      */
     @Override
     public int setDataSQL(String query, Object... params) throws SQLException{
-        try (Connection conn = DriverManager.getConnection(dbUrl, user, password);
+        try (Connection conn = borrow();
              PreparedStatement preparedStatement = conn.prepareStatement(query);) {
 
             for (int i = 0; i < params.length; i++) {
@@ -97,6 +331,60 @@ public class SqlDBQuery implements DBInterface {
         }
     }
 
+    /**
+     * A low level method to run one statement for many sets of parameters with JDBC batching.<br>
+     * Every batch is committed on its own, so batches executed before a failure are kept.
+     * Within a transaction, batches are only committed with the transaction.
+     * With {@link PoolConfig#isRewriteBatchedStatements()}, a batch of inserts is sent as one multi-row statement.
+     * @param query SQL script, often with placeholders.
+     * @param rows values for placeholders of every execution, in corresponding order.
+     * @param batchSize number of executions sent per round trip.
+     * @return number of rows affected by each batch.
+     * @throws SQLException when there is an error occurred during execution.
+     * @since 2.2
+     */
+    @Override
+    public int[] setBatchSQL(String query, List<Object[]> rows, int batchSize) throws SQLException {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive!");
+        }
+
+        int[] counts = new int[(rows.size() + batchSize - 1) / batchSize];
+
+        try (Connection conn = borrow();
+             PreparedStatement preparedStatement = conn.prepareStatement(query)) {
+
+            boolean pinned = inTransaction();
+            if (!pinned) conn.setAutoCommit(false);
+
+            for (int batch = 0; batch < counts.length; batch++) {
+                int end = Math.min(rows.size(), (batch + 1) * batchSize);
+
+                for (int row = batch * batchSize; row < end; row++) {
+                    Object[] params = rows.get(row);
+
+                    for (int i = 0; i < params.length; i++) {
+                        preparedStatement.setObject(i + 1, params[i]);
+                    }
+
+                    preparedStatement.addBatch();
+                }
+
+                for (int count : preparedStatement.executeBatch()) {
+                    // Rewritten statements only report that they succeeded
+                    counts[batch] += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+                }
+
+                if (!pinned) conn.commit();
+            }
+
+            return counts;
+        } catch (Exception e) {
+            System.out.println(e);
+            throw e;
+        }
+    }
+
     @Override
     public MongoDBQuery setMongoData(String collectionName) {
         throw new UnsupportedOperationException("MongoDB operation not allowed in SQL queries.");
@@ -107,4 +395,9 @@ public class SqlDBQuery implements DBInterface {
         throw new UnsupportedOperationException("MongoDB operation not allowed in SQL queries.");
     }
 
+    @Override
+    public <T> Stream<T> streamMongoData(String collectionName, Document filter, Document projection, MongoMap<T> model, int batchSize) {
+        throw new UnsupportedOperationException("MongoDB operation not allowed in SQL queries.");
+    }
+
 }
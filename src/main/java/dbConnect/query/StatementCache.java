@@ -0,0 +1,260 @@
+package dbConnect.query;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A least recently used cache of {@link PreparedStatement} for one physical connection, keyed by SQL text.
+ * <p>
+ * Statements handed out by {@link #prepare(String)} are only cleared when closed,
+ * so the next call with the same SQL text skips parsing and only binds and executes.
+ * Closing clears the parameters and any queued batch, and restores the fetch size, maximum rows
+ * and query timeout the statement was prepared with.
+ * A statement that is still in use is never handed out twice, a new uncached statement is prepared instead.
+ * <p>
+ * A connection is only used by one thread at a time, so this class is not thread-safe.
+ * @since 2.2
+ */
+class StatementCache {
+    private final Connection connection;
+    private final int maxSize;
+    private final AtomicLong hitCount;
+    private final AtomicLong missCount;
+    private final AtomicLong evictionCount;
+    private final LinkedHashMap<String, CachedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Constructor of {@link StatementCache}.
+     * @param connection the physical connection to prepare statements on.
+     * @param maxSize maximum number of statements to keep.
+     * @param hitCount shared counter of cache hits.
+     * @param missCount shared counter of cache misses.
+     * @param evictionCount shared counter of evicted statements.
+     */
+    StatementCache(Connection connection, int maxSize, AtomicLong hitCount, AtomicLong missCount, AtomicLong evictionCount) {
+        this.connection = connection;
+        this.maxSize = maxSize;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+    }
+
+    /**
+     * Get a prepared statement for the SQL text, reusing a cached one when possible.
+     * @param sql SQL script, often with placeholders.
+     * @return a statement that returns to the cache when closed.
+     * @throws SQLException when the statement could not be prepared.
+     */
+    PreparedStatement prepare(String sql) throws SQLException {
+        CachedStatement cached = statements.get(sql);
+
+        // A statement that could not be reset was closed, prepare it again
+        if (cached != null && cached.discarded) {
+            statements.remove(sql);
+            cached = null;
+        }
+
+        if (cached != null) {
+            if (cached.inUse) {
+                // Same SQL is already open on this connection, e.g. a nested query.
+                return connection.prepareStatement(sql);
+            }
+
+            hitCount.incrementAndGet();
+            cached.inUse = true;
+            return cached.newHandle();
+        }
+
+        missCount.incrementAndGet();
+        PreparedStatement statement = connection.prepareStatement(sql);
+
+        try {
+            cached = new CachedStatement(statement);
+        } catch (SQLException e) {
+            statement.close();
+            throw e;
+        }
+
+        cached.inUse = true;
+        statements.put(sql, cached);
+        evictOverflow();
+
+        return cached.newHandle();
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, CachedStatement>> iterator = statements.entrySet().iterator();
+
+        while (statements.size() > maxSize && iterator.hasNext()) {
+            CachedStatement eldest = iterator.next().getValue();
+            iterator.remove();
+            evictionCount.incrementAndGet();
+
+            if (eldest.inUse) {
+                eldest.evicted = true;
+            } else {
+                eldest.closeQuietly();
+            }
+        }
+    }
+
+    /**
+     * Close the handles still open and reset their statements, used when the connection returns to the pool.
+     * A handle kept by its borrower then fails like a closed statement instead of sharing the next borrower's one.
+     */
+    void releaseAll() {
+        for (CachedStatement cached : statements.values()) {
+            if (cached.handle != null) {
+                cached.handle.close();
+            }
+        }
+    }
+
+    /**
+     * Get the number of statements currently cached.
+     * @return size of the cache.
+     */
+    int size() {
+        return statements.size();
+    }
+
+    /**
+     * A physical statement owned by the cache.
+     */
+    private static final class CachedStatement {
+        private final PreparedStatement statement;
+        private final int fetchSize;
+        private final int maxRows;
+        private final int queryTimeout;
+        private StatementHandle handle;
+        private boolean inUse = false;
+        private boolean evicted = false;
+        private boolean discarded = false;
+        private boolean batched = false;
+        private boolean tuned = false;
+
+        private CachedStatement(PreparedStatement statement) throws SQLException {
+            this.statement = statement;
+            this.fetchSize = statement.getFetchSize();
+            this.maxRows = statement.getMaxRows();
+            this.queryTimeout = statement.getQueryTimeout();
+        }
+
+        private PreparedStatement newHandle() {
+            handle = new StatementHandle(this);
+
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class },
+                    handle);
+        }
+
+        private void giveBack() {
+            inUse = false;
+            handle = null;
+
+            if (evicted) {
+                closeQuietly();
+                return;
+            }
+
+            try {
+                statement.clearParameters();
+
+                // Rows queued by a batch that failed would otherwise be sent with the next one
+                if (batched) {
+                    statement.clearBatch();
+                    batched = false;
+                }
+
+                if (tuned) {
+                    statement.setFetchSize(fetchSize);
+                    statement.setMaxRows(maxRows);
+                    statement.setQueryTimeout(queryTimeout);
+                    tuned = false;
+                }
+            } catch (SQLException e) {
+                closeQuietly();
+            }
+        }
+
+        private void closeQuietly() {
+            discarded = true;
+
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+                // Statement is being discarded anyway.
+            }
+        }
+    }
+
+    /**
+     * Hands out a {@link CachedStatement} once; closing the handle returns the statement to the cache.
+     */
+    private static final class StatementHandle implements InvocationHandler {
+        private final CachedStatement cached;
+        private boolean closed = false;
+
+        private StatementHandle(CachedStatement cached) {
+            this.cached = cached;
+        }
+
+        private void close() {
+            if (!closed) {
+                closed = true;
+                cached.giveBack();
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    close();
+                    return null;
+                case "isClosed":
+                    return closed || cached.statement.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Cached" + cached.statement;
+                default:
+                    break;
+            }
+
+            if (closed) throw new SQLException("Statement has already been closed.");
+
+            switch (method.getName()) {
+                case "addBatch":
+                    cached.batched = true;
+                    break;
+                case "setFetchSize":
+                case "setMaxRows":
+                case "setLargeMaxRows":
+                case "setQueryTimeout":
+                    cached.tuned = true;
+                    break;
+                default:
+                    break;
+            }
+
+            try {
+                return method.invoke(cached.statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
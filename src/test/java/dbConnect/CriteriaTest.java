@@ -0,0 +1,119 @@
+package dbConnect;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CriteriaTest {
+    private static String sql(Criteria criteria, List<Object> params) {
+        StringBuilder sql = new StringBuilder();
+        criteria.appendSql(sql, params);
+        return sql.toString();
+    }
+
+    private static String sql(Criteria criteria) {
+        return sql(criteria, new ArrayList<>());
+    }
+
+    @Test
+    void rendersComparisons() {
+        List<Object> params = new ArrayList<>();
+
+        assertEquals("a = ?", sql(Criteria.eq("a", 1), params));
+        assertEquals("a <> ?", sql(Criteria.ne("a", 2), params));
+        assertEquals("a > ?", sql(Criteria.gt("a", 3), params));
+        assertEquals("a >= ?", sql(Criteria.gte("a", 4), params));
+        assertEquals("a < ?", sql(Criteria.lt("a", 5), params));
+        assertEquals("a <= ?", sql(Criteria.lte("a", 6), params));
+        assertEquals(List.of(1, 2, 3, 4, 5, 6), params);
+    }
+
+    @Test
+    void rendersNullComparisonsAsMissingValues() {
+        assertEquals("a is null", sql(Criteria.eq("a", null)));
+        assertEquals("a is not null", sql(Criteria.ne("a", null)));
+        assertEquals("a is null", sql(Criteria.isNull("a")));
+        assertEquals("a is not null", sql(Criteria.isNotNull("a")));
+    }
+
+    @Test
+    void rendersInAndBetween() {
+        List<Object> params = new ArrayList<>();
+
+        assertEquals("a in (?, ?, ?)", sql(Criteria.in("a", 1, 2, 3), params));
+        assertEquals("b between ? and ?", sql(Criteria.between("b", 10, 20), params));
+        assertEquals(List.of(1, 2, 3, 10, 20), params);
+    }
+
+    @Test
+    void rendersEmptyInAsNoMatch() {
+        List<Object> params = new ArrayList<>();
+
+        assertEquals("1 = 0", sql(Criteria.in("a", List.of()), params));
+        assertTrue(params.isEmpty());
+    }
+
+    @Test
+    void parenthesisesNestedCombinations() {
+        Criteria criteria = Criteria.eq("a", 1).and(Criteria.eq("b", 2).or(Criteria.eq("c", 3)));
+        List<Object> params = new ArrayList<>();
+
+        assertEquals("a = ? and (b = ? or c = ?)", sql(criteria, params));
+        assertEquals(List.of(1, 2, 3), params);
+
+        assertEquals("(a = ? and b = ?) or c = ?",
+                sql(Criteria.or(Criteria.and(Criteria.eq("a", 1), Criteria.eq("b", 2)), Criteria.eq("c", 3))));
+    }
+
+    @Test
+    void flattensCombinationsOfSameType() {
+        Criteria criteria = Criteria.eq("a", 1).and(Criteria.eq("b", 2)).and(Criteria.eq("c", 3));
+
+        assertEquals("a = ? and b = ? and c = ?", sql(criteria));
+        assertEquals(new Document("$and", List.of(new Document("a", 1), new Document("b", 2), new Document("c", 3))),
+                criteria.toFilter());
+    }
+
+    @Test
+    void unwrapsSingleCombination() {
+        assertEquals("a = ?", sql(Criteria.and(new Criteria[]{Criteria.eq("a", 1)})));
+    }
+
+    @Test
+    void buildsFilterOfEveryOperator() {
+        assertEquals(new Document("a", 1), Criteria.eq("a", 1).toFilter());
+        assertEquals(new Document("a", new Document("$ne", 1)), Criteria.ne("a", 1).toFilter());
+        assertEquals(new Document("a", new Document("$gt", 1)), Criteria.gt("a", 1).toFilter());
+        assertEquals(new Document("a", new Document("$gte", 1)), Criteria.gte("a", 1).toFilter());
+        assertEquals(new Document("a", new Document("$lt", 1)), Criteria.lt("a", 1).toFilter());
+        assertEquals(new Document("a", new Document("$lte", 1)), Criteria.lte("a", 1).toFilter());
+        assertEquals(new Document("a", new Document("$in", List.of(1, 2))), Criteria.in("a", 1, 2).toFilter());
+        assertEquals(new Document("a", new Document("$gte", 1).append("$lte", 2)), Criteria.between("a", 1, 2).toFilter());
+        assertEquals(new Document("a", null), Criteria.isNull("a").toFilter());
+        assertEquals(new Document("a", new Document("$ne", null)), Criteria.isNotNull("a").toFilter());
+        assertEquals(new Document("$or", List.of(new Document("a", 1), new Document("b", 2))),
+                Criteria.eq("a", 1).or(Criteria.eq("b", 2)).toFilter());
+    }
+
+    @Test
+    void collectsFieldsOfChildren() {
+        Set<String> fields = new LinkedHashSet<>();
+        Criteria.eq("a", 1).and(Criteria.isNull("b").or(Criteria.in("a", 2))).collectFields(fields);
+
+        assertEquals(List.of("a", "b"), List.copyOf(fields));
+    }
+
+    @Test
+    void rejectsInvalidCriteria() {
+        assertThrows(IllegalArgumentException.class, () -> Criteria.gt("a", null));
+        assertThrows(IllegalArgumentException.class, () -> Criteria.eq(" ", 1));
+        assertThrows(IllegalArgumentException.class, () -> Criteria.between("a", 1, null));
+        assertThrows(IllegalArgumentException.class, () -> Criteria.and());
+    }
+}
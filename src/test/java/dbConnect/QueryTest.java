@@ -0,0 +1,73 @@
+package dbConnect;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryTest {
+    @Test
+    void rendersConditionAndParams() {
+        Query query = Query.where(Criteria.eq("user_name", "Ben").and(Criteria.gt("balance", 1000)));
+
+        assertEquals("user_name = ? and balance > ?", query.getWhere());
+        assertArrayEquals(new Object[]{"Ben", 1000}, query.getParams());
+    }
+
+    @Test
+    void sharesKeyOfSameShape() {
+        Query first = Query.where(Criteria.eq("a", 1).and(Criteria.in("b", 1, 2))).orderBy("a", false).limit(10);
+        Query second = Query.where(Criteria.eq("a", 5).and(Criteria.in("b", 3, 4))).orderBy("a", false).limit(10);
+
+        assertEquals("where a = ? and b in (?, ?) order by a desc limit 10", first.getKey());
+        assertEquals(first.getKey(), second.getKey());
+        assertNotEquals(first.getKey(), Query.where(Criteria.eq("a", 1).and(Criteria.in("b", 1, 2, 3))).getKey());
+    }
+
+    @Test
+    void buildsKeyWithoutCondition() {
+        assertEquals("", Query.all().getKey());
+        assertEquals("order by a asc limit 5", Query.all().orderBy("a").limit(5).getKey());
+        assertNull(Query.all().getWhere());
+        assertEquals(0, Query.all().getParams().length);
+    }
+
+    @Test
+    void buildsSort() {
+        Query query = Query.all().orderBy("a").orderBy("b", false);
+
+        assertEquals("a asc, b desc", query.getOrderBy());
+        assertEquals(new Document("a", 1).append("b", -1), query.toSort());
+        assertEquals(new Document(), Query.all().toSort());
+    }
+
+    @Test
+    void buildsFilter() {
+        assertEquals(new Document("a", 1), Query.where(Criteria.eq("a", 1)).toFilter());
+        assertEquals(new Document(), Query.all().toFilter());
+    }
+
+    @Test
+    void collectsFieldsOfCriteriaThenOrder() {
+        Query query = Query.where(Criteria.eq("b", 1).or(Criteria.isNull("a"))).orderBy("c").orderBy("b", false);
+
+        assertEquals(List.of("b", "a", "c"), List.copyOf(query.getFields()));
+    }
+
+    @Test
+    void copiesParams() {
+        Query query = Query.where(Criteria.eq("a", 1));
+        query.getParams()[0] = 2;
+
+        assertArrayEquals(new Object[]{1}, query.getParams());
+    }
+
+    @Test
+    void rejectsInvalidQuery() {
+        assertThrows(IllegalArgumentException.class, () -> Query.where(null));
+        assertThrows(IllegalArgumentException.class, () -> Query.all().limit(-1));
+        assertThrows(IllegalArgumentException.class, () -> Query.all().orderBy(""));
+    }
+}
@@ -0,0 +1,124 @@
+package dbConnect.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LruCacheTest {
+    private static LruCache<String, String> cache(int maxEntries, long maxWeight, long ttlMillis) {
+        CacheConfig config = new CacheConfig().setMaxEntries(maxEntries).setTtlMillis(ttlMillis);
+        return new LruCache<>(config, maxWeight, String::length);
+    }
+
+    @Test
+    void storesAndCountsLookups() {
+        LruCache<String, String> cache = cache(10, 100, 0);
+        cache.put(cache.getGeneration(), "a", "x");
+
+        assertEquals("x", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0.5, cache.getHitRate());
+    }
+
+    @Test
+    void skipsPutAfterInvalidation() {
+        LruCache<String, String> cache = cache(10, 100, 0);
+        long generation = cache.getGeneration();
+
+        // A write invalidates while the value is being fetched
+        cache.invalidate("a");
+        cache.put(generation, "a", "stale");
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+
+        cache.put(cache.getGeneration(), "a", "fresh");
+        assertEquals("fresh", cache.get("a"));
+    }
+
+    @Test
+    void skipsPutAfterClear() {
+        LruCache<String, String> cache = cache(10, 100, 0);
+        long generation = cache.getGeneration();
+
+        cache.clear();
+        cache.put(generation, "a", "stale");
+
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void expiresAfterTimeToLive() throws InterruptedException {
+        LruCache<String, String> cache = cache(10, 100, 50);
+        cache.put(cache.getGeneration(), "a", "x");
+
+        assertEquals("x", cache.get("a"));
+
+        Thread.sleep(100);
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getEvictions());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntry() {
+        LruCache<String, String> cache = cache(2, 100, 0);
+        long generation = cache.getGeneration();
+
+        cache.put(generation, "a", "x");
+        cache.put(generation, "b", "y");
+        cache.get("a");
+        cache.put(generation, "c", "z");
+
+        assertEquals(2, cache.size());
+        assertEquals("x", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("z", cache.get("c"));
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    void evictsByWeight() {
+        LruCache<String, String> cache = cache(10, 5, 0);
+        long generation = cache.getGeneration();
+
+        cache.put(generation, "a", "xx");
+        cache.put(generation, "b", "yy");
+        cache.put(generation, "c", "zz");
+
+        assertNull(cache.get("a"));
+        assertEquals("yy", cache.get("b"));
+        assertEquals("zz", cache.get("c"));
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    void replacesEntryWeight() {
+        LruCache<String, String> cache = cache(10, 5, 0);
+        long generation = cache.getGeneration();
+
+        cache.put(generation, "a", "xxxx");
+        cache.put(generation, "a", "x");
+        cache.put(generation, "b", "yyyy");
+
+        assertEquals("x", cache.get("a"));
+        assertEquals("yyyy", cache.get("b"));
+        assertEquals(0, cache.getEvictions());
+    }
+
+    @Test
+    void skipsValueAboveWeightLimit() {
+        LruCache<String, String> cache = cache(10, 3, 0);
+        long generation = cache.getGeneration();
+
+        cache.put(generation, "a", "x");
+        cache.put(generation, "b", "yyyy");
+
+        assertEquals("x", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(0, cache.getEvictions());
+    }
+}
@@ -0,0 +1,52 @@
+package dbConnect.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultCacheTest {
+    @Test
+    void comparesArrayParamsByContent() {
+        ResultCache<String> cache = new ResultCache<>(new CacheConfig());
+        cache.put(cache.getGeneration(), List.of("a"), "id = ? and tags = ?", new byte[]{1, 2}, new Object[]{"x", new int[]{3}});
+
+        assertEquals(List.of("a"), cache.get("id = ? and tags = ?", new byte[]{1, 2}, new Object[]{"x", new int[]{3}}));
+        assertNull(cache.get("id = ? and tags = ?", new byte[]{1, 3}, new Object[]{"x", new int[]{3}}));
+        assertNull(cache.get("id = ? and tags = ?", new byte[]{1, 2}, new Object[]{"x", new int[]{4}}));
+    }
+
+    @Test
+    void keysByConditionAndParams() {
+        ResultCache<String> cache = new ResultCache<>(new CacheConfig());
+        cache.put(cache.getGeneration(), List.of("a"), "id = ?", 1);
+        cache.put(cache.getGeneration(), List.of("all"), null);
+
+        assertEquals(List.of("a"), cache.get("id = ?", 1));
+        assertNull(cache.get("id = ?", 2));
+        assertNull(cache.get("name = ?", 1));
+        assertEquals(List.of("all"), cache.get(null));
+    }
+
+    @Test
+    void copiesParams() {
+        ResultCache<String> cache = new ResultCache<>(new CacheConfig());
+        Object[] params = {1};
+        cache.put(cache.getGeneration(), List.of("a"), "id = ?", params);
+        params[0] = 2;
+
+        assertEquals(List.of("a"), cache.get("id = ?", 1));
+    }
+
+    @Test
+    void skipsResultFetchedBeforeInvalidation() {
+        ResultCache<String> cache = new ResultCache<>(new CacheConfig());
+        long generation = cache.getGeneration();
+
+        cache.invalidate();
+        cache.put(generation, List.of("stale"), "id = ?", 1);
+
+        assertNull(cache.get("id = ?", 1));
+    }
+}
@@ -0,0 +1,114 @@
+package dbConnect.execution;
+
+import org.bson.BsonRegularExpression;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilterTemplateTest {
+    @Test
+    void bindsWrappedCondition() {
+        FilterTemplate template = FilterTemplate.of("{a: ?}");
+
+        assertEquals(1, template.getParamCount());
+        assertEquals(new Document("a", "Ben"), template.bind(new Object[]{"Ben"}));
+    }
+
+    @Test
+    void wrapsConditionWithoutBraces() {
+        FilterTemplate template = FilterTemplate.of("a: ?, b: ?");
+
+        assertEquals(2, template.getParamCount());
+        assertEquals(new Document("a", "Ben").append("b", 5), template.bind(new Object[]{"Ben", 5}));
+    }
+
+    @Test
+    void bindsEveryCallIntoNewDocument() {
+        FilterTemplate template = FilterTemplate.of("{a: ?}");
+        Document first = template.bind(new Object[]{1});
+        Document second = template.bind(new Object[]{2});
+
+        assertEquals(1, first.get("a"));
+        assertEquals(2, second.get("a"));
+    }
+
+    @Test
+    void ignoresPlaceholderInString() {
+        FilterTemplate template = FilterTemplate.of("{a: \"why?\", b: ?}");
+
+        assertEquals(1, template.getParamCount());
+        assertEquals(new Document("a", "why?").append("b", 3), template.bind(new Object[]{3}));
+    }
+
+    @Test
+    void ignoresPlaceholderInRegex() {
+        FilterTemplate template = FilterTemplate.of("{a: /colou?r/, b: ?}");
+
+        assertEquals(1, template.getParamCount());
+        assertEquals(new Document("a", new BsonRegularExpression("colou?r")).append("b", 3), template.bind(new Object[]{3}));
+    }
+
+    @Test
+    void ignoresPlaceholderAfterEscapedQuote() {
+        FilterTemplate template = FilterTemplate.of("{a: \"say \\\"hi?\\\"\", b: ?}");
+
+        assertEquals(1, template.getParamCount());
+        assertEquals(new Document("a", "say \"hi?\"").append("b", 3), template.bind(new Object[]{3}));
+    }
+
+    @Test
+    void bindsPlaceholdersInArray() {
+        FilterTemplate template = FilterTemplate.of("{a: {$in: [?, ?]}}");
+
+        assertEquals(2, template.getParamCount());
+        assertEquals(new Document("a", new Document("$in", List.of("x", "y"))), template.bind(new Object[]{"x", "y"}));
+    }
+
+    @Test
+    void fallsBackForObjectIdPlaceholder() {
+        FilterTemplate template = FilterTemplate.of("{_id: ObjectId(?)}");
+        ObjectId id = new ObjectId();
+
+        assertEquals(1, template.getParamCount());
+        assertEquals(new Document("_id", id), template.bind(new Object[]{id.toHexString()}));
+    }
+
+    @Test
+    void bindsTypedValues() {
+        FilterTemplate template = FilterTemplate.of("{s: ?, r: ?, u: ?, d: ?, p: ?}");
+        UUID uuid = UUID.randomUUID();
+        Date date = new Date();
+
+        Document filter = template.bind(new Object[]{"/x/", "/^Be/", uuid, date, new Balance("Ben", 2)});
+
+        assertEquals(5, template.getParamCount());
+        assertEquals(new BsonRegularExpression("x"), filter.get("s"));
+        assertEquals(new BsonRegularExpression("^Be"), filter.get("r"));
+        assertSame(uuid, filter.get("u"));
+        assertSame(date, filter.get("d"));
+        assertEquals(new Document("name", "Ben").append("count", 2), filter.get("p"));
+    }
+
+    @Test
+    void keepsPlainString() {
+        Document filter = FilterTemplate.of("{s: ?}").bind(new Object[]{"/not a regex"});
+
+        assertEquals("/not a regex", filter.get("s"));
+    }
+
+    private static class Balance {
+        private final String name;
+        private final int count;
+
+        private Balance(String name, int count) {
+            this.name = name;
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package dbConnect.execution;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageTokenTest {
+    private static void assertRoundTrip(Object value) {
+        Object decoded = PageToken.decode("id", PageToken.encode("id", value));
+
+        assertEquals(value.getClass(), decoded.getClass());
+        assertEquals(value, decoded);
+    }
+
+    private static String token(String content) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void roundTripsNumbers() {
+        assertRoundTrip(42);
+        assertRoundTrip(Long.MAX_VALUE);
+        assertRoundTrip((short) -7);
+        assertRoundTrip(0.1d);
+        assertRoundTrip(1.5f);
+        assertRoundTrip(new BigDecimal("12345678901234567890.0012"));
+    }
+
+    @Test
+    void roundTripsStrings() {
+        assertRoundTrip("Ben");
+        assertRoundTrip("a:b:c");
+        assertRoundTrip("");
+    }
+
+    @Test
+    void roundTripsIdentifiers() {
+        assertRoundTrip(new ObjectId());
+        assertRoundTrip(UUID.randomUUID());
+    }
+
+    @Test
+    void roundTripsDates() {
+        Timestamp timestamp = new Timestamp(1_700_000_000_123L);
+        timestamp.setNanos(123_456_789);
+
+        assertRoundTrip(timestamp);
+        assertRoundTrip(new Date(1_700_000_000_123L));
+    }
+
+    @Test
+    void rejectsMalformedBase64() {
+        assertThrows(IllegalArgumentException.class, () -> PageToken.decode("id", "not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> PageToken.decode("id", token("id")));
+    }
+
+    @Test
+    void rejectsOtherKey() {
+        String token = PageToken.encode("id", 1);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> PageToken.decode("name", token));
+        assertTrue(e.getMessage().contains("id"));
+    }
+
+    @Test
+    void rejectsUnknownType() {
+        assertThrows(IllegalArgumentException.class, () -> PageToken.decode("id", token("id:x:1")));
+        assertThrows(IllegalArgumentException.class, () -> PageToken.decode("id", token("id:i:one")));
+    }
+
+    @Test
+    void rejectsUnsupportedValue() {
+        assertThrows(IllegalArgumentException.class, () -> PageToken.encode("id", null));
+        assertThrows(IllegalArgumentException.class, () -> PageToken.encode("id", new Object()));
+    }
+}
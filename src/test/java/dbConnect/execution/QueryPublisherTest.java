@@ -0,0 +1,189 @@
+package dbConnect.execution;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryPublisherTest {
+    private static final Executor DIRECT = Runnable::run;
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicInteger opened = new AtomicInteger();
+
+    private QueryPublisher<Integer> publisher(Integer... values) {
+        return new QueryPublisher<>(() -> {
+            opened.incrementAndGet();
+            return Stream.of(values).onClose(() -> closed.set(true));
+        }, DIRECT);
+    }
+
+    /**
+     * Records every signal, requesting {@code initial} entries on subscribe.
+     */
+    private static class Recorder implements Flow.Subscriber<Integer> {
+        final List<Integer> items = new ArrayList<>();
+        final long initial;
+        Flow.Subscription subscription;
+        Throwable error;
+        int completions = 0;
+
+        Recorder(long initial) {
+            this.initial = initial;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initial > 0) subscription.request(initial);
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completions++;
+        }
+    }
+
+    @Test
+    void opensQueryOnFirstRequest() {
+        Recorder recorder = new Recorder(0);
+        publisher(1, 2).subscribe(recorder);
+
+        assertEquals(0, opened.get());
+
+        recorder.subscription.request(1);
+        assertEquals(1, opened.get());
+    }
+
+    @Test
+    void deliversExactlyRequestedEntries() {
+        Recorder recorder = new Recorder(2);
+        publisher(1, 2, 3, 4, 5).subscribe(recorder);
+
+        assertEquals(List.of(1, 2), recorder.items);
+        assertEquals(0, recorder.completions);
+        assertFalse(closed.get());
+
+        recorder.subscription.request(2);
+        assertEquals(List.of(1, 2, 3, 4), recorder.items);
+        assertEquals(0, recorder.completions);
+        assertEquals(1, opened.get());
+    }
+
+    @Test
+    void deliversEverythingOnUnboundedDemand() {
+        Recorder recorder = new Recorder(Long.MAX_VALUE);
+        publisher(1, 2, 3).subscribe(recorder);
+
+        assertEquals(List.of(1, 2, 3), recorder.items);
+        assertEquals(1, recorder.completions);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void capsDemandAtUnbounded() {
+        Recorder recorder = new Recorder(0) {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                super.onSubscribe(subscription);
+                // The second request must not overflow into a negative demand
+                subscription.request(Long.MAX_VALUE - 1);
+                subscription.request(Long.MAX_VALUE - 1);
+            }
+        };
+
+        publisher(1, 2, 3).subscribe(recorder);
+
+        assertEquals(List.of(1, 2, 3), recorder.items);
+        assertEquals(1, recorder.completions);
+    }
+
+    @Test
+    void completesWhenExhaustedWithoutFurtherDemand() {
+        Recorder recorder = new Recorder(3);
+        publisher(1, 2, 3).subscribe(recorder);
+
+        assertEquals(List.of(1, 2, 3), recorder.items);
+        assertEquals(1, recorder.completions);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void closesStreamOnCancel() {
+        Recorder recorder = new Recorder(1);
+        publisher(1, 2, 3).subscribe(recorder);
+
+        recorder.subscription.cancel();
+        recorder.subscription.request(5);
+
+        assertEquals(List.of(1), recorder.items);
+        assertTrue(closed.get());
+        assertEquals(0, recorder.completions);
+        assertNull(recorder.error);
+    }
+
+    @Test
+    void signalsErrorOnNonPositiveRequest() {
+        Recorder recorder = new Recorder(1);
+        publisher(1, 2, 3).subscribe(recorder);
+
+        recorder.subscription.request(0);
+
+        assertInstanceOf(IllegalArgumentException.class, recorder.error);
+        assertTrue(closed.get());
+
+        recorder.subscription.request(1);
+        assertEquals(List.of(1), recorder.items);
+        assertEquals(0, recorder.completions);
+    }
+
+    @Test
+    void signalsErrorOfQuery() {
+        Recorder recorder = new Recorder(1);
+        new QueryPublisher<Integer>(() -> {
+            throw new IllegalStateException("Connection lost");
+        }, DIRECT).subscribe(recorder);
+
+        assertInstanceOf(IllegalStateException.class, recorder.error);
+    }
+
+    @Test
+    void handlesRequestFromOnNextWithoutRecursion() {
+        AtomicInteger depth = new AtomicInteger();
+        AtomicInteger maxDepth = new AtomicInteger();
+
+        Recorder recorder = new Recorder(1) {
+            @Override
+            public void onNext(Integer item) {
+                maxDepth.accumulateAndGet(depth.incrementAndGet(), Math::max);
+                super.onNext(item);
+                subscription.request(1);
+                depth.decrementAndGet();
+            }
+        };
+
+        publisher(1, 2, 3, 4, 5).subscribe(recorder);
+
+        assertEquals(List.of(1, 2, 3, 4, 5), recorder.items);
+        assertEquals(1, recorder.completions);
+        assertEquals(1, maxDepth.get());
+        assertTrue(closed.get());
+    }
+}